@@ -4,13 +4,24 @@ import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
+import com.udacity.game_dev.outbreak.Game.HighScoreLog;
+import com.udacity.game_dev.outbreak.Game.TelemetryWriter;
 import com.udacity.game_dev.outbreak.OutbreakGame;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.io.File;
 
 public class AndroidLauncher extends AndroidApplication {
 	@Override
 	protected void onCreate (Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
-		initialize(new OutbreakGame(), config);
+		//Local files on Android are in the app's internal files directory.
+		HighScoreLog highScores = new HighScoreLog(new File(getFilesDir(), Constants.HIGH_SCORE_LOG_FILE),
+				new File(getFilesDir(), Constants.HIGH_SCORE_INDEX_FILE));
+		TelemetryWriter telemetry = new TelemetryWriter(new File(getFilesDir(),
+				Constants.TELEMETRY_DIRECTORY + "session-" + System.currentTimeMillis() + ".obt"),
+				Constants.TELEMETRY_QUEUE_CAPACITY, TelemetryWriter.Overflow.DROP);
+		initialize(new OutbreakGame(false, highScores, telemetry), config);
 	}
 }
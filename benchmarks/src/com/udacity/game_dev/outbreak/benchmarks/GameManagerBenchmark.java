@@ -0,0 +1,130 @@
+package com.udacity.game_dev.outbreak.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.udacity.game_dev.outbreak.Game.BlockGrid;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.headless.TrackingInputProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the simulation tick, block spawning, win check, and restarting a game at several
+ * board fill levels.  The quick operations share one seeded game per trial, so that setup does not
+ * swamp what they measure; generateRandomBlock() destroys each block it spawns again, so the board
+ * stays at its fill, and restart() resets the board in place, which costs the same at any fill.
+ * update() gets a fresh game before each invocation, so that every run of ticks starts from the
+ * same board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameManagerBenchmark {
+
+    private static final int TICKS = 600;
+    private static final long SEED = 1;
+
+    /** Fraction of blocks left standing on the board. */
+    @Param({"1.0", "0.5", "0.05"})
+    public float fill;
+
+    @Param({"EASY", "HARD"})
+    public GameManager.Difficulty difficulty;
+
+    private GameManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = createGame();
+    }
+
+    /**
+     * Creates a seeded game with blocks knocked out until the board is at the desired fill.
+     */
+    private GameManager createGame() {
+        GameManager game = new GameManager(difficulty, Constants.WORLD_WIDTH,
+                Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT, InputProvider.NONE, SEED);
+        game.init();
+        game.setInputProvider(new TrackingInputProvider(game, SEED));
+        RandomXS128 random = new RandomXS128(SEED);
+        BlockGrid blocks = game.getBlocks();
+        for (int row = 0; row < game.getNumRows(); row++) {
+            for (int column = 0; column < game.getNumColumns(); column++) {
+                if (blocks.getHealth(row, column) > 0 && random.nextFloat() >= fill) {
+                    blocks.setHealth(row, column, 0);
+                }
+            }
+        }
+        return game;
+    }
+
+    /**
+     * A fresh game for every invocation of update().
+     */
+    @State(Scope.Thread)
+    public static class Ticks {
+
+        private final float delta = 1f / Constants.SIMULATION_TICK_RATE;
+        private GameManager manager;
+
+        @Setup(Level.Invocation)
+        public void setUp(GameManagerBenchmark benchmark) {
+            manager = benchmark.createGame();
+        }
+    }
+
+    /**
+     * Runs exactly TICKS ticks.  A game that ends partway is restarted in place and carries on,
+     * though with these seeds and fills none ends within TICKS.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int update(Ticks ticks) {
+        GameManager game = ticks.manager;
+        for (int i = 0; i < TICKS; i++) {
+            if (game.state == GameManager.GameState.GAME_OVER || game.state == GameManager.GameState.WIN) {
+                game.init(SEED);
+            }
+            game.update(ticks.delta);
+        }
+        return game.score;
+    }
+
+    @Benchmark
+    public int generateRandomBlock() {
+        int cell = manager.generateRandomBlock();
+        //Destroy the block again so that the board stays at the same fill.
+        if (cell >= 0) {
+            manager.getBlocks().setHealth(cell / manager.getNumColumns(), cell % manager.getNumColumns(), 0);
+        }
+        return cell;
+    }
+
+    @Benchmark
+    public int restart() {
+        manager.init(SEED);
+        return manager.lives;
+    }
+
+    @Benchmark
+    public boolean isGameWon() {
+        return manager.isGameWon();
+    }
+}
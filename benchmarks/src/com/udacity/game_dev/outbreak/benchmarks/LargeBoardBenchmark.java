@@ -0,0 +1,86 @@
+package com.udacity.game_dev.outbreak.benchmarks;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.headless.HeadlessGdx;
+import com.udacity.game_dev.outbreak.headless.TrackingInputProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a frame on square boards of increasing size: one simulation tick, then drawing the
+ * screen-sized view that follows the ball.  With chunked block storage and view culling, the cost
+ * should not depend on the size of the board.  OpenGL is replaced by StubGL20.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeBoardBenchmark {
+
+    private static final long SEED = 1;
+
+    /** Number of rows and columns of blocks. */
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private GameManager manager;
+    private ShapeRenderer renderer;
+    private final float delta = 1f / Constants.SIMULATION_TICK_RATE;
+
+    @Setup
+    public void setUp() {
+        HeadlessGdx.start();
+        renderer = new ShapeRenderer();
+        newGame();
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.dispose();
+        renderer.dispose();
+    }
+
+    @Benchmark
+    public int frame() {
+        if (manager.state == GameManager.GameState.GAME_OVER || manager.state == GameManager.GameState.WIN) {
+            manager.dispose();
+            newGame();
+        }
+        manager.update(delta);
+        float viewWidth = Constants.WORLD_WIDTH;
+        float viewHeight = Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT;
+        float viewLeft = Math.max(Math.min(manager.getBall().getX() - viewWidth / 2,
+                size * Constants.BLOCK_WIDTH - viewWidth), 0);
+        float viewBottom = Math.max(manager.getBall().getY() - viewHeight / 2, 0);
+        manager.setViewArea(viewLeft, viewBottom, viewWidth, viewHeight);
+        renderer.begin(ShapeRenderer.ShapeType.Filled);
+        manager.render(renderer);
+        renderer.end();
+        return manager.score;
+    }
+
+    private void newGame() {
+        manager = new GameManager(GameManager.Difficulty.MEDIUM, size * Constants.BLOCK_WIDTH,
+                size * Constants.BLOCK_HEIGHT + Constants.LARGE_BOARD_OPEN_HEIGHT, InputProvider.NONE, SEED,
+                size, size);
+        manager.init();
+        manager.setInputProvider(new TrackingInputProvider(manager, SEED));
+    }
+}
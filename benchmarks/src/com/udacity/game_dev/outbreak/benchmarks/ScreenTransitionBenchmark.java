@@ -0,0 +1,58 @@
+package com.udacity.game_dev.outbreak.benchmarks;
+
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.OutbreakGame;
+import com.udacity.game_dev.outbreak.headless.HeadlessGdx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks time-to-interactive: choosing a difficulty on the start screen and rendering the first
+ * frame of the game, then returning to the start screen.  Game screens are prepared during setup,
+ * as they would be while the start screen is showing.  OpenGL is replaced by StubGL20.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreenTransitionBenchmark {
+
+    private OutbreakGame game;
+
+    @Setup
+    public void setUp() {
+        HeadlessGdx.start();
+        game = new OutbreakGame();
+        game.create();
+        for (int i = 0; i < GameManager.Difficulty.values().length; i++) {
+            game.render();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        game.dispose();
+    }
+
+    @Benchmark
+    public float startToGame() {
+        game.setGameScreen(GameManager.Difficulty.MEDIUM);
+        game.render();
+        game.setStartScreen();
+        game.render();
+        return game.getScreens().getLastTimeToInteractive();
+    }
+}
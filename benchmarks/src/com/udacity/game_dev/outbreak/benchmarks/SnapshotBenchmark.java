@@ -0,0 +1,73 @@
+package com.udacity.game_dev.outbreak.benchmarks;
+
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.GameSnapshot;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+import com.udacity.game_dev.outbreak.Game.SnapshotRing;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.headless.TrackingInputProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks saving a game into a GameSnapshot, restoring it, and recording a tick into a
+ * SnapshotRing, on a standard board after a few seconds of play.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    private static final long SEED = 1;
+    private static final int WARM_UP_TICKS = 600;
+
+    private GameManager manager;
+    private GameSnapshot snapshot;
+    private SnapshotRing ring;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        manager = new GameManager(GameManager.Difficulty.MEDIUM, Constants.WORLD_WIDTH,
+                Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT, InputProvider.NONE, SEED);
+        manager.init();
+        manager.setInputProvider(new TrackingInputProvider(manager, SEED));
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            manager.update(1 / Constants.SIMULATION_TICK_RATE);
+        }
+        snapshot = new GameSnapshot();
+        manager.save(snapshot);
+        ring = new SnapshotRing(Constants.REWIND_TICKS);
+    }
+
+    @Benchmark
+    public GameSnapshot save() {
+        manager.save(snapshot);
+        return snapshot;
+    }
+
+    @Benchmark
+    public GameManager restore() {
+        manager.restore(snapshot);
+        return manager;
+    }
+
+    @Benchmark
+    public SnapshotRing record() {
+        ring.record(manager, tick++);
+        return ring;
+    }
+}
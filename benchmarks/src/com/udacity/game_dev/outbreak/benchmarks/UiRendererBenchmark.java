@@ -0,0 +1,75 @@
+package com.udacity.game_dev.outbreak.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.udacity.game_dev.outbreak.Ui.Label;
+import com.udacity.game_dev.outbreak.Ui.UiRenderer;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.headless.HeadlessGdx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks drawing the in-game HUD.  OpenGL is replaced by StubGL20, so this measures the CPU
+ * side of UI rendering (text layout and vertex batching) rather than GPU time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UiRendererBenchmark {
+
+    private UiRenderer uiRenderer;
+    private SpriteBatch batch;
+    private int score;
+
+    @Setup
+    public void setUp() {
+        HeadlessGdx.start();
+        batch = new SpriteBatch();
+        uiRenderer = new UiRenderer();
+        BitmapFont font = new BitmapFont();
+        font.getData().setScale(Constants.NORMAL_TEXT_FONT_SCALE);
+        Label.LabelStyle labelStyle = new Label.LabelStyle(font);
+        labelStyle.setBorder(1, Constants.LABEL_BORDER_COLOR);
+        uiRenderer.putLabelStyle(Constants.SIMPLE_UI_STYLE, labelStyle);
+        //Same layout as the GameScreen HUD: a caption and a number for score, lives, and time.
+        String[] captions = {Constants.SCORE_LABEL_TEXT, Constants.LIVES_LABEL_TEXT, Constants.TIME_LABEL_TEXT};
+        for (int i = 0; i < captions.length; i++) {
+            float x = Constants.WORLD_WIDTH - Constants.NORMAL_LABEL_WIDTH * (i + 1);
+            uiRenderer.addLabel(new Label(x, Constants.WORLD_HEIGHT - Constants.NORMAL_LABEL_HEIGHT,
+                    Constants.NORMAL_LABEL_WIDTH, Constants.NORMAL_LABEL_HEIGHT, captions[i], labelStyle));
+            uiRenderer.addLabel(new Label(x, Constants.WORLD_HEIGHT - Constants.NORMAL_LABEL_HEIGHT * 2,
+                    Constants.NORMAL_LABEL_WIDTH, Constants.NORMAL_LABEL_HEIGHT, "0", labelStyle));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        batch.dispose();
+    }
+
+    @Benchmark
+    public void renderStatic() {
+        uiRenderer.render(batch);
+    }
+
+    @Benchmark
+    public void renderChangingScore() {
+        uiRenderer.setLabelText(1, score++);
+        uiRenderer.render(batch);
+    }
+}
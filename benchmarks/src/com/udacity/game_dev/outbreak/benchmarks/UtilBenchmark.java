@@ -0,0 +1,69 @@
+package com.udacity.game_dev.outbreak.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.Utilities.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the circle-vs-rectangle tests used for every collision check.  Circles are placed
+ * at random around a block-sized rectangle so that hits, misses, and corner cases are all
+ * exercised.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final float RECT_X = 100;
+    private static final float RECT_Y = 100;
+
+    private final float[] x = new float[SAMPLES];
+    private final float[] y = new float[SAMPLES];
+    private final float[] dx = new float[SAMPLES];
+    private final float[] dy = new float[SAMPLES];
+    private final Vector2 normal = new Vector2();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        RandomXS128 random = new RandomXS128(1);
+        float reach = Constants.BALL_RADIUS * 3;
+        for (int i = 0; i < SAMPLES; i++) {
+            x[i] = RECT_X - reach + random.nextFloat() * (Constants.BLOCK_WIDTH + reach * 2);
+            y[i] = RECT_Y - reach + random.nextFloat() * (Constants.BLOCK_HEIGHT + reach * 2);
+            dx[i] = (random.nextFloat() * 2 - 1) * reach;
+            dy[i] = (random.nextFloat() * 2 - 1) * reach;
+        }
+    }
+
+    @Benchmark
+    public boolean rectIntersectsCircle() {
+        int i = next++ & (SAMPLES - 1);
+        return Util.rectIntersectsCircle(x[i], y[i], Constants.BALL_RADIUS,
+                RECT_X, RECT_Y, Constants.BLOCK_WIDTH, Constants.BLOCK_HEIGHT);
+    }
+
+    @Benchmark
+    public float sweepCircleRect() {
+        int i = next++ & (SAMPLES - 1);
+        return Util.sweepCircleRect(x[i], y[i], dx[i], dy[i], Constants.BALL_RADIUS,
+                RECT_X, RECT_Y, Constants.BLOCK_WIDTH, Constants.BLOCK_HEIGHT, normal);
+    }
+}
@@ -0,0 +1,167 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.udacity.game_dev.outbreak.Game.GameEntities.Ball;
+import com.udacity.game_dev.outbreak.Game.GameEntities.Paddle;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * InputProvider that plays the game by itself, for unattended soak runs.  It predicts where the
+ * ball will come down to the paddle by tracing a ghost ball along the ball's heading, reflecting
+ * it off the walls, the ceiling, and the blocks currently in the grid, and moves the paddle to
+ * meet it.  The trace is incremental: each tick extends it by at most AUTOPILOT_TRACE_BUDGET
+ * segments, so its cost per tick is fixed however long the path is, and it is started again
+ * whenever the real ball changes heading.  Until a prediction is ready, the paddle follows the
+ * ball.  The ghost does not damage blocks, so a block that the ball will destroy on its way can
+ * send a prediction astray; the trace is corrected at the next bounce.
+ *
+ * To keep the ball from settling into a loop, the paddle meets it at a random point along its
+ * width, drawn from a seeded generator so that games are reproducible.  Multi-ball mode is
+ * switched off when the ball is on the paddle, since only the single ball is tracked.
+ */
+public class Autopilot implements InputProvider {
+
+    //Smallest change in the ball's heading that restarts the trace.
+    private static final float HEADING_TOLERANCE = 1e-4f;
+
+    private final GameManager manager;
+    private final RandomXS128 random;
+
+    private boolean tracing;
+    private boolean predicted;
+    private int segments;
+    private float ghostX;
+    private float ghostY;
+    private float ghostHeadingX;
+    private float ghostHeadingY;
+    //Heading of the real ball when the trace was started.
+    private float headingX;
+    private float headingY;
+    private float predictedX;
+    private float aimOffset;
+
+    /**
+     * @param manager  GameManager whose paddle to drive.
+     * @param seed  Seed for choosing aim points.
+     */
+    public Autopilot(GameManager manager, long seed) {
+        this.manager = manager;
+        random = new RandomXS128(seed);
+    }
+
+    /**
+     * Discards any prediction and reseeds the aim, for a new game.
+     * @param seed  Seed for choosing aim points.
+     */
+    public void reset(long seed) {
+        random.setSeed(seed);
+        tracing = false;
+        predicted = false;
+    }
+
+    @Override
+    public int poll() {
+        if (manager.state == GameManager.GameState.READY) {
+            tracing = false;
+            return manager.getMultiBallCount() > 0 ? MULTI_BALL : LAUNCH;
+        }
+        if (manager.state != GameManager.GameState.PLAYING) return 0;
+        Ball ball = manager.getBall();
+        float motionX = ball.getMotionX();
+        float motionY = ball.getMotionY();
+        float length = (float) Math.sqrt(motionX * motionX + motionY * motionY);
+        if (length == 0) return 0;
+        motionX /= length;
+        motionY /= length;
+        if (!tracing || Math.abs(motionX - headingX) + Math.abs(motionY - headingY) > HEADING_TOLERANCE) {
+            startTrace(ball, motionX, motionY);
+        }
+        for (int i = 0; i < Constants.AUTOPILOT_TRACE_BUDGET && tracing && !predicted; i++) {
+            traceSegment(ball.getHeight() / 2);
+        }
+
+        Paddle paddle = manager.getPaddle();
+        float target = predicted ? predictedX + aimOffset : ball.getX();
+        float center = paddle.getX() + paddle.getWidth() / 2;
+        float deadZone = Constants.PADDLE_SPEED / Constants.SIMULATION_TICK_RATE;
+        if (center < target - deadZone) return RIGHT;
+        if (center > target + deadZone) return LEFT;
+        return 0;
+    }
+
+    /**
+     * Starts a new trace from the ball's current position and picks a new aim point.
+     * @param ball  Ball to trace.
+     * @param headingX  x-component of the ball's unit heading.
+     * @param headingY  y-component of the ball's unit heading.
+     */
+    private void startTrace(Ball ball, float headingX, float headingY) {
+        this.headingX = headingX;
+        this.headingY = headingY;
+        ghostX = ball.getX();
+        ghostY = ball.getY();
+        ghostHeadingX = headingX;
+        ghostHeadingY = headingY;
+        segments = 0;
+        tracing = true;
+        predicted = false;
+        Paddle paddle = manager.getPaddle();
+        aimOffset = (random.nextFloat() * 2 - 1) * Constants.AUTOPILOT_AIM_RANGE * paddle.getWidth() / 2;
+    }
+
+    /**
+     * Moves the ghost ball one segment along its path, bouncing it off the first thing it hits.
+     * The trace ends when the ghost comes down to the top of the paddle.
+     * @param radius  Ball radius.
+     */
+    private void traceSegment(float radius) {
+        Paddle paddle = manager.getPaddle();
+        float paddleLine = paddle.getY() + paddle.getHeight() + radius;
+        if (segments++ >= Constants.AUTOPILOT_MAX_TRACE_SEGMENTS || (ghostHeadingY <= 0 && ghostY < paddleLine)) {
+            //No prediction is possible, so fall back to following the ball.
+            tracing = false;
+            return;
+        }
+        float dx = ghostHeadingX * Constants.AUTOPILOT_TRACE_STEP;
+        float dy = ghostHeadingY * Constants.AUTOPILOT_TRACE_STEP;
+        boolean reachesPaddle = dy < 0 && ghostY + dy <= paddleLine;
+        if (reachesPaddle) {
+            float scale = (paddleLine - ghostY) / dy;
+            dx *= scale;
+            dy *= scale;
+        }
+        float impactTime = manager.findImpact(ghostX, ghostY, dx, dy, radius, false);
+        if (impactTime >= 1) {
+            ghostX += dx;
+            ghostY += dy;
+            if (reachesPaddle) {
+                predictedX = ghostX;
+                predicted = true;
+            }
+            return;
+        }
+        ghostX += dx * impactTime;
+        ghostY += dy * impactTime;
+        float normalX = manager.getImpactNormal().x;
+        float normalY = manager.getImpactNormal().y;
+        float dot = ghostHeadingX * normalX + ghostHeadingY * normalY;
+        ghostHeadingX -= 2 * dot * normalX;
+        ghostHeadingY -= 2 * dot * normalY;
+    }
+
+    /**
+     * Gets whether the autopilot currently knows where the ball will come down.
+     * @return  True if a prediction is ready.
+     */
+    public boolean hasPrediction() {
+        return predicted;
+    }
+
+    /**
+     * Gets the predicted x-coordinate of the ball when it comes down to the paddle.
+     * @return  Predicted x-coordinate, valid only if hasPrediction() is true.
+     */
+    public float getPredictedX() {
+        return predictedX;
+    }
+}
@@ -0,0 +1,398 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.udacity.game_dev.outbreak.Game.GameEntities.Paddle;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.Utilities.Util;
+
+/**
+ * Simulates a large number of balls at once for multi-ball mode.  Rather than one Ball object per
+ * ball, all ball state is kept in parallel primitive arrays indexed by slot, and the slots in use
+ * are kept in a dense list so that stepping and collision walk contiguous memory and create no
+ * per-ball objects.  Velocities are stored in world units per second.
+ */
+public class BallField {
+
+    private final GameManager manager;
+    private final int capacity;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] dx;
+    private final float[] dy;
+    private final float[] radius;
+    private final float[] previousX;
+    private final float[] previousY;
+
+    //Slots of live balls, packed at the front of the array.
+    private final int[] live;
+    private int liveCount;
+    //Stack of unused slots.
+    private final int[] freeSlots;
+    private int freeCount;
+    //Position of the ball most recently removed for falling off the stage.
+    private float lastRemovedX;
+    private float lastRemovedY;
+
+    //Hashed uniform grid for ball-vs-ball broadphase.  Grid cells are hashed into a fixed number of
+    //buckets, so the broadphase does not grow with the stage.  Balls are counting-sorted by bucket
+    //each step, so the balls in bucket b are cellBalls[cellStart[b]] through
+    //cellBalls[cellStart[b + 1] - 1].
+    private final float cellSize;
+    private final int bucketMask;
+    private final int[] cellStart;
+    private final int[] cellCursor;
+    private final int[] cellBalls;
+    private final int[] ballCell;
+    private final int[] ballColumn;
+    private final int[] ballRow;
+
+    /**
+     * @param manager  GameManager providing the stage, blocks, and paddle to collide with.
+     * @param capacity  Maximum number of live balls.
+     * @param maxRadius  Largest radius of any ball that will be spawned.
+     */
+    public BallField(GameManager manager, int capacity, float maxRadius) {
+        this.manager = manager;
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        dx = new float[capacity];
+        dy = new float[capacity];
+        radius = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        live = new int[capacity];
+        freeSlots = new int[capacity];
+        cellSize = maxRadius * 2;
+        int buckets = MathUtils.nextPowerOfTwo(Math.max(capacity * 2, 16));
+        bucketMask = buckets - 1;
+        cellStart = new int[buckets + 1];
+        cellCursor = new int[buckets];
+        cellBalls = new int[capacity];
+        ballCell = new int[capacity];
+        ballColumn = new int[capacity];
+        ballRow = new int[capacity];
+        clear();
+    }
+
+    /**
+     * Adds a ball.
+     * @param x  Center x-coordinate.
+     * @param y  Center y-coordinate.
+     * @param dx  Horizontal velocity.
+     * @param dy  Vertical velocity.
+     * @param radius  Radius, no larger than the maximum radius given at construction.
+     * @return  Slot of the new ball, or -1 if the field is full.
+     */
+    public int spawn(float x, float y, float dx, float dy, float radius) {
+        if (freeCount == 0) return -1;
+        int slot = freeSlots[--freeCount];
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.dx[slot] = dx;
+        this.dy[slot] = dy;
+        this.radius[slot] = radius;
+        previousX[slot] = x;
+        previousY[slot] = y;
+        live[liveCount++] = slot;
+        return slot;
+    }
+
+    /**
+     * Removes all balls.
+     */
+    public void clear() {
+        liveCount = 0;
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+    }
+
+    /**
+     * Copies every slot into a snapshot, so that the field can be restored exactly, with balls in
+     * the same slots and order.
+     * @param snapshot  Snapshot to save into.
+     */
+    void save(GameSnapshot snapshot) {
+        snapshot.ensureFieldCapacity(capacity);
+        snapshot.fieldCapacity = capacity;
+        snapshot.liveCount = liveCount;
+        snapshot.freeCount = freeCount;
+        System.arraycopy(live, 0, snapshot.live, 0, capacity);
+        System.arraycopy(freeSlots, 0, snapshot.freeSlots, 0, capacity);
+        float[] balls = snapshot.fieldBalls;
+        for (int slot = 0; slot < capacity; slot++) {
+            int i = slot * GameSnapshot.FIELD_VALUES;
+            balls[i] = x[slot];
+            balls[i + 1] = y[slot];
+            balls[i + 2] = dx[slot];
+            balls[i + 3] = dy[slot];
+            balls[i + 4] = radius[slot];
+            balls[i + 5] = previousX[slot];
+            balls[i + 6] = previousY[slot];
+        }
+    }
+
+    /**
+     * Restores every slot from a snapshot of a field with the same capacity.
+     * @param snapshot  Snapshot to restore from.
+     */
+    void restore(GameSnapshot snapshot) {
+        liveCount = snapshot.liveCount;
+        freeCount = snapshot.freeCount;
+        System.arraycopy(snapshot.live, 0, live, 0, capacity);
+        System.arraycopy(snapshot.freeSlots, 0, freeSlots, 0, capacity);
+        float[] balls = snapshot.fieldBalls;
+        for (int slot = 0; slot < capacity; slot++) {
+            int i = slot * GameSnapshot.FIELD_VALUES;
+            x[slot] = balls[i];
+            y[slot] = balls[i + 1];
+            dx[slot] = balls[i + 2];
+            dy[slot] = balls[i + 3];
+            radius[slot] = balls[i + 4];
+            previousX[slot] = balls[i + 5];
+            previousY[slot] = balls[i + 6];
+        }
+    }
+
+    /**
+     * Removes the ball at a given position in the live list by moving the last live ball into its
+     * place.
+     * @param liveIndex  Index into the live list.
+     */
+    private void remove(int liveIndex) {
+        int slot = live[liveIndex];
+        lastRemovedX = x[slot];
+        lastRemovedY = y[slot];
+        freeSlots[freeCount++] = slot;
+        live[liveIndex] = live[--liveCount];
+    }
+
+    /**
+     * Gets the x-coordinate of the ball most recently removed for falling off the stage.
+     * @return  x-coordinate.
+     */
+    public float getLastRemovedX() {
+        return lastRemovedX;
+    }
+
+    /**
+     * Gets the y-coordinate of the ball most recently removed for falling off the stage.
+     * @return  y-coordinate.
+     */
+    public float getLastRemovedY() {
+        return lastRemovedY;
+    }
+
+    /**
+     * Advances all balls by one simulation tick: resolves ball-vs-ball contacts, then moves each
+     * ball with the same swept collision used for the single ball, and removes balls that have
+     * fallen off the bottom of the stage.
+     * @param delta  Length of simulation tick.
+     * @return  True if the last block was destroyed and the game has been won.
+     */
+    public boolean step(float delta) {
+        for (int i = 0; i < liveCount; i++) {
+            int slot = live[i];
+            previousX[slot] = x[slot];
+            previousY[slot] = y[slot];
+        }
+        collideBalls();
+        int i = 0;
+        while (i < liveCount) {
+            int slot = live[i];
+            if (moveBall(slot, delta)) return true;
+            if (y[slot] + radius[slot] < 0) {
+                remove(i);
+            } else {
+                i++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves one ball through a tick, bouncing off walls, blocks, and the paddle.
+     * @param slot  Ball slot.
+     * @param delta  Length of simulation tick.
+     * @return  True if the last block was destroyed and the game has been won.
+     */
+    private boolean moveBall(int slot, float delta) {
+        Paddle paddle = manager.getPaddle();
+        float r = radius[slot];
+        if (dy[slot] < 0 && Util.rectIntersectsCircle(x[slot], y[slot], r,
+                paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight())) {
+            kickOffPaddle(slot, paddle);
+        }
+        float remaining = delta;
+        for (int i = 0; i < Constants.MAX_BALL_BOUNCES_PER_TICK && remaining > 0; i++) {
+            float motionX = dx[slot] * remaining;
+            float motionY = dy[slot] * remaining;
+            float impactTime = manager.findImpact(x[slot], y[slot], motionX, motionY, r);
+            x[slot] += motionX * impactTime;
+            y[slot] += motionY * impactTime;
+            if (impactTime >= 1) break;
+            remaining *= 1 - impactTime;
+            if (manager.isPaddleImpact()) {
+                kickOffPaddle(slot, paddle);
+            } else {
+                float normalX = manager.getImpactNormal().x;
+                float normalY = manager.getImpactNormal().y;
+                float dot = dx[slot] * normalX + dy[slot] * normalY;
+                dx[slot] -= 2 * dot * normalX;
+                dy[slot] -= 2 * dot * normalY;
+                int row = manager.getImpactRow();
+                if (row >= 0 && manager.hitBlock(row, manager.getImpactColumn())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends a ball away from the paddle's trajectory origin at its current speed, as
+     * Ball.kickOffPaddle() does for the single ball.
+     * @param slot  Ball slot.
+     * @param paddle  Paddle being hit.
+     */
+    private void kickOffPaddle(int slot, Paddle paddle) {
+        float kickX = x[slot] - (paddle.getX() + paddle.getWidth() / 2);
+        float kickY = y[slot] - (paddle.getY() - Constants.PADDLE_TRAJECTORY_ORIGIN_DEPTH);
+        float scale = (float) Math.sqrt((dx[slot] * dx[slot] + dy[slot] * dy[slot]) /
+                (kickX * kickX + kickY * kickY));
+        dx[slot] = kickX * scale;
+        dy[slot] = kickY * scale;
+        manager.kickedOffPaddle(slot, x[slot], y[slot]);
+    }
+
+    /**
+     * Bounces touching balls off one another.  Balls are bucketed into a uniform grid with cells
+     * one ball diameter across, so each ball need only be tested against balls in its own cell and
+     * half of the neighboring cells.  Distant cells may share a bucket; their balls are tested but
+     * rejected by the distance check.  Collisions are elastic between equal masses, which exchanges
+     * the components of the two velocities along the line between the centers.
+     */
+    private void collideBalls() {
+        //Counting sort of live balls by cell.
+        for (int c = 0; c < cellStart.length; c++) {
+            cellStart[c] = 0;
+        }
+        for (int i = 0; i < liveCount; i++) {
+            int slot = live[i];
+            int column = MathUtils.floor(x[slot] / cellSize);
+            int row = MathUtils.floor(y[slot] / cellSize);
+            int cell = getBucket(column, row);
+            ballColumn[slot] = column;
+            ballRow[slot] = row;
+            ballCell[slot] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cellCursor.length; c++) {
+            cellStart[c + 1] += cellStart[c];
+            cellCursor[c] = cellStart[c];
+        }
+        for (int i = 0; i < liveCount; i++) {
+            int slot = live[i];
+            cellBalls[cellCursor[ballCell[slot]]++] = slot;
+        }
+        //Test each ball against later balls in its own cell and against the E, NE, N, and NW cells,
+        //which covers every neighboring pair exactly once.
+        for (int i = 0; i < liveCount; i++) {
+            int slot = cellBalls[i];
+            int cell = ballCell[slot];
+            int column = ballColumn[slot];
+            int row = ballRow[slot];
+            for (int j = i + 1; j < cellStart[cell + 1]; j++) {
+                collidePair(slot, cellBalls[j]);
+            }
+            collideWithCell(slot, column + 1, row);
+            collideWithCell(slot, column + 1, row + 1);
+            collideWithCell(slot, column, row + 1);
+            collideWithCell(slot, column - 1, row + 1);
+        }
+    }
+
+    /**
+     * Tests a ball against every ball in a grid cell's bucket, unless it is the ball's own bucket,
+     * whose pairs have already been tested.
+     * @param slot  Ball slot.
+     * @param column  Cell column.
+     * @param row  Cell row.
+     */
+    private void collideWithCell(int slot, int column, int row) {
+        int cell = getBucket(column, row);
+        if (cell == ballCell[slot]) return;
+        for (int j = cellStart[cell]; j < cellStart[cell + 1]; j++) {
+            collidePair(slot, cellBalls[j]);
+        }
+    }
+
+    /**
+     * Bounces a pair of balls off each other if they are touching and approaching.
+     * @param a  Slot of first ball.
+     * @param b  Slot of second ball.
+     */
+    private void collidePair(int a, int b) {
+        float offsetX = x[b] - x[a];
+        float offsetY = y[b] - y[a];
+        float reach = radius[a] + radius[b];
+        float distanceSquared = offsetX * offsetX + offsetY * offsetY;
+        if (distanceSquared >= reach * reach || distanceSquared == 0) return;
+        float distance = (float) Math.sqrt(distanceSquared);
+        float normalX = offsetX / distance;
+        float normalY = offsetY / distance;
+        float approach = (dx[b] - dx[a]) * normalX + (dy[b] - dy[a]) * normalY;
+        if (approach >= 0) return;
+        dx[a] += approach * normalX;
+        dy[a] += approach * normalY;
+        dx[b] -= approach * normalX;
+        dy[b] -= approach * normalY;
+    }
+
+    /**
+     * Hashes a grid cell to a bucket.
+     * @param column  Cell column.
+     * @param row  Cell row.
+     * @return  Bucket index.
+     */
+    private int getBucket(int column, int row) {
+        return (column * 73856093 ^ row * 19349663) & bucketMask;
+    }
+
+    /**
+     * Draws all balls, interpolated between the previous and current simulation ticks.
+     * @param renderer  ShapeRenderer to draw with.
+     * @param alpha  Fraction of a tick elapsed since the current simulation tick.
+     */
+    public void render(ShapeRenderer renderer, float alpha) {
+        renderer.setColor(Constants.BALL_COLOR);
+        for (int i = 0; i < liveCount; i++) {
+            int slot = live[i];
+            renderer.circle(
+                    previousX[slot] + (x[slot] - previousX[slot]) * alpha,
+                    previousY[slot] + (y[slot] - previousY[slot]) * alpha,
+                    radius[slot]
+            );
+        }
+    }
+
+    /**
+     * Gets the number of live balls.
+     * @return  Live ball count.
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the maximum number of live balls.
+     * @return  Capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,340 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Health of every block on the board, stored in square chunks of cells.  A health of 0 means the
+ * block has been destroyed.  On small boards every chunk is created up front.  On large boards a
+ * chunk is only created when one of its blocks first changes; until then every block in it has
+ * its starting health, which depends only on its row.  Memory therefore grows with the part of the
+ * board that has been played, not with the size of the board.  Rows are counted from the top of
+ * the board.
+ */
+public class BlockGrid {
+
+    private static final int CHUNK_SIZE = Constants.BLOCK_CHUNK_SIZE;
+
+    private final int numRows;
+    private final int numColumns;
+    private final int chunkRows;
+    private final int chunkColumns;
+    private final boolean eager;
+    //Created chunks, keyed by chunkRow * chunkColumns + chunkColumn.
+    private final IntMap<Chunk> chunks;
+    //Chunks dropped by reset(), kept for reuse.
+    private final Array<Chunk> freeChunks;
+    //Starting health of each row, the template that chunks are filled from.
+    private final byte[] startingHealth;
+    private int remainingBlocks;
+
+    /**
+     * @param numRows  Number of rows, at most MAX_BOARD_SIZE.
+     * @param numColumns  Number of columns, at most MAX_BOARD_SIZE.
+     */
+    public BlockGrid(int numRows, int numColumns) {
+        if (numRows > Constants.MAX_BOARD_SIZE || numColumns > Constants.MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board too large: " + numRows + "x" + numColumns);
+        }
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        chunkRows = (numRows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkColumns = (numColumns + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        eager = numRows * numColumns <= Constants.MAX_EAGER_BLOCK_CELLS;
+        chunks = new IntMap<Chunk>(eager ? chunkRows * chunkColumns : 64);
+        freeChunks = new Array<Chunk>(false, 16);
+        startingHealth = new byte[numRows];
+        int rowsPerValue = Math.round(numRows * 1.0f / Constants.MAX_BLOCK_HEALTH);
+        for (int row = 0; row < numRows; row++) {
+            startingHealth[row] = (byte) Constants.MAX_BLOCK_HEALTH;
+            for (int i = 1; i <= Constants.MAX_BLOCK_HEALTH; i++) {
+                if (row < rowsPerValue * i) {
+                    startingHealth[row] = (byte) (Constants.MAX_BLOCK_HEALTH - i + 1);
+                    break;
+                }
+            }
+        }
+        if (eager) {
+            for (int key = 0; key < chunkRows * chunkColumns; key++) {
+                chunks.put(key, new Chunk());
+            }
+        }
+        reset();
+    }
+
+    /**
+     * Restores every block to its starting health without allocating.  Chunks of small boards are
+     * refilled from the template; those of large boards are dropped and kept for reuse.
+     */
+    public void reset() {
+        if (eager) {
+            for (int key = 0; key < chunkRows * chunkColumns; key++) {
+                fill(chunks.get(key), key);
+            }
+        } else {
+            for (Chunk chunk : chunks.values()) {
+                freeChunks.add(chunk);
+            }
+            chunks.clear();
+        }
+        remainingBlocks = numRows * numColumns;
+    }
+
+    /**
+     * Gets the health of a block.
+     * @param row  Row index.
+     * @param column  Column index.
+     * @return  Health, or 0 if destroyed.
+     */
+    public int getHealth(int row, int column) {
+        Chunk chunk = chunks.get(getChunkKey(row, column));
+        if (chunk == null) return getStartingHealth(row);
+        return chunk.health[getLocalCell(row, column)];
+    }
+
+    /**
+     * Damages a block by one point of health.
+     * @param row  Row index.
+     * @param column  Column index.
+     * @return  True if the block was destroyed.
+     */
+    public boolean hit(int row, int column) {
+        Chunk chunk = getOrCreateChunk(row, column);
+        int cell = getLocalCell(row, column);
+        if (chunk.health[cell] == 0) return false;
+        if (--chunk.health[cell] > 0) return false;
+        chunk.destroyed++;
+        remainingBlocks--;
+        return true;
+    }
+
+    /**
+     * Sets the health of a block, destroying or restoring it as needed.
+     * @param row  Row index.
+     * @param column  Column index.
+     * @param health  New health, or 0 to destroy the block.
+     */
+    public void setHealth(int row, int column, int health) {
+        Chunk chunk = getOrCreateChunk(row, column);
+        int cell = getLocalCell(row, column);
+        if (chunk.health[cell] == 0 && health > 0) {
+            chunk.destroyed--;
+            remainingBlocks++;
+        } else if (chunk.health[cell] > 0 && health == 0) {
+            chunk.destroyed++;
+            remainingBlocks--;
+        }
+        chunk.health[cell] = (byte) health;
+    }
+
+    /**
+     * Gets the number of blocks not yet destroyed.
+     * @return  Remaining block count.
+     */
+    public int getRemainingBlocks() {
+        return remainingBlocks;
+    }
+
+    /**
+     * Counts the destroyed blocks in a range of chunks.
+     * @param firstChunkRow  First chunk row.
+     * @param lastChunkRow  Last chunk row, inclusive.
+     * @param firstChunkColumn  First chunk column.
+     * @param lastChunkColumn  Last chunk column, inclusive.
+     * @return  Number of destroyed blocks.
+     */
+    public int countDestroyed(int firstChunkRow, int lastChunkRow, int firstChunkColumn, int lastChunkColumn) {
+        int count = 0;
+        for (int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+            for (int chunkColumn = firstChunkColumn; chunkColumn <= lastChunkColumn; chunkColumn++) {
+                Chunk chunk = chunks.get(chunkRow * chunkColumns + chunkColumn);
+                if (chunk != null) count += chunk.destroyed;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds a destroyed block in a range of chunks by its position in the order that chunks, and
+     * then the cells within each chunk, are stored.
+     * @param firstChunkRow  First chunk row.
+     * @param lastChunkRow  Last chunk row, inclusive.
+     * @param firstChunkColumn  First chunk column.
+     * @param lastChunkColumn  Last chunk column, inclusive.
+     * @param index  Index among the destroyed blocks in the range, less than countDestroyed().
+     * @return  Cell index of the block, row * numColumns + column, or -1 if there is no such block.
+     */
+    public int findDestroyed(int firstChunkRow, int lastChunkRow, int firstChunkColumn, int lastChunkColumn,
+                             int index) {
+        for (int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+            for (int chunkColumn = firstChunkColumn; chunkColumn <= lastChunkColumn; chunkColumn++) {
+                Chunk chunk = chunks.get(chunkRow * chunkColumns + chunkColumn);
+                if (chunk == null) continue;
+                if (index >= chunk.destroyed) {
+                    index -= chunk.destroyed;
+                    continue;
+                }
+                for (int cell = 0; cell < CHUNK_SIZE * CHUNK_SIZE; cell++) {
+                    int row = chunkRow * CHUNK_SIZE + cell / CHUNK_SIZE;
+                    int column = chunkColumn * CHUNK_SIZE + cell % CHUNK_SIZE;
+                    if (row < numRows && column < numColumns && chunk.health[cell] == 0 && index-- == 0) {
+                        return row * numColumns + column;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes a hash of the health of every block.  Chunks that have never been created hold only
+     * starting health and are left out, so this is fast even on large boards.
+     * @return  Hash of block health.
+     */
+    public int hash() {
+        int hash = remainingBlocks;
+        for (int key = 0; key < chunkRows * chunkColumns; key++) {
+            Chunk chunk = chunks.get(key);
+            if (chunk == null) continue;
+            hash = 31 * hash + key;
+            for (int cell = 0; cell < chunk.health.length; cell++) {
+                hash = 31 * hash + chunk.health[cell];
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Packs the health of every created chunk into a snapshot, two bits per cell.
+     * @param snapshot  Snapshot to save into.
+     */
+    void save(GameSnapshot snapshot) {
+        snapshot.ensureChunkCapacity(chunks.size);
+        snapshot.remainingBlocks = remainingBlocks;
+        snapshot.chunkCount = 0;
+        IntMap.Keys keys = chunks.keys();
+        while (keys.hasNext) {
+            int key = keys.next();
+            Chunk chunk = chunks.get(key);
+            int index = snapshot.chunkCount++;
+            snapshot.chunkKeys[index] = key;
+            snapshot.chunkDestroyed[index] = chunk.destroyed;
+            int offset = index * GameSnapshot.WORDS_PER_CHUNK;
+            for (int word = 0; word < GameSnapshot.WORDS_PER_CHUNK; word++) {
+                int first = word * GameSnapshot.CELLS_PER_WORD;
+                int bits = 0;
+                for (int i = 0; i < GameSnapshot.CELLS_PER_WORD; i++) {
+                    bits |= chunk.health[first + i] << (i * GameSnapshot.BITS_PER_CELL);
+                }
+                snapshot.packedHealth[offset + word] = bits;
+            }
+        }
+    }
+
+    /**
+     * Unpacks the health of every block from a snapshot of a board of the same size.  On large
+     * boards, chunks not in the snapshot are dropped and kept for reuse, so that their blocks go
+     * back to starting health.
+     * @param snapshot  Snapshot to restore from.
+     */
+    void restore(GameSnapshot snapshot) {
+        if (!eager) {
+            for (Chunk chunk : chunks.values()) {
+                freeChunks.add(chunk);
+            }
+            chunks.clear();
+        }
+        for (int index = 0; index < snapshot.chunkCount; index++) {
+            int key = snapshot.chunkKeys[index];
+            Chunk chunk = chunks.get(key);
+            if (chunk == null) {
+                chunk = freeChunks.size > 0 ? freeChunks.pop() : new Chunk();
+                chunks.put(key, chunk);
+            }
+            chunk.destroyed = snapshot.chunkDestroyed[index];
+            int offset = index * GameSnapshot.WORDS_PER_CHUNK;
+            for (int word = 0; word < GameSnapshot.WORDS_PER_CHUNK; word++) {
+                int first = word * GameSnapshot.CELLS_PER_WORD;
+                int bits = snapshot.packedHealth[offset + word];
+                for (int i = 0; i < GameSnapshot.CELLS_PER_WORD; i++) {
+                    chunk.health[first + i] = (byte) (bits >>> (i * GameSnapshot.BITS_PER_CELL) & GameSnapshot.CELL_MASK);
+                }
+            }
+        }
+        remainingBlocks = snapshot.remainingBlocks;
+    }
+
+    /**
+     * Gets the starting health of blocks in a row.  The board is divided into MAX_BLOCK_HEALTH bands
+     * of rows, with the toughest blocks at the top.
+     * @param row  Row index.
+     * @return  Starting health.
+     */
+    public int getStartingHealth(int row) {
+        return startingHealth[row];
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public int getChunkColumns() {
+        return chunkColumns;
+    }
+
+    private Chunk getOrCreateChunk(int row, int column) {
+        int key = getChunkKey(row, column);
+        Chunk chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = freeChunks.size > 0 ? freeChunks.pop() : new Chunk();
+            fill(chunk, key);
+            chunks.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Fills a chunk with starting health, one row of cells at a time.  Cells past the edge of the
+     * board are set to 0 but are not counted as destroyed.
+     */
+    private void fill(Chunk chunk, int key) {
+        int firstRow = key / chunkColumns * CHUNK_SIZE;
+        int columns = Math.min(numColumns - key % chunkColumns * CHUNK_SIZE, CHUNK_SIZE);
+        for (int localRow = 0; localRow < CHUNK_SIZE; localRow++) {
+            int row = firstRow + localRow;
+            int start = localRow * CHUNK_SIZE;
+            byte health = row < numRows ? startingHealth[row] : 0;
+            Arrays.fill(chunk.health, start, start + columns, health);
+            Arrays.fill(chunk.health, start + columns, start + CHUNK_SIZE, (byte) 0);
+        }
+        chunk.destroyed = 0;
+    }
+
+    private int getChunkKey(int row, int column) {
+        return row / CHUNK_SIZE * chunkColumns + column / CHUNK_SIZE;
+    }
+
+    private static int getLocalCell(int row, int column) {
+        return row % CHUNK_SIZE * CHUNK_SIZE + column % CHUNK_SIZE;
+    }
+
+    /**
+     * Health of the blocks in one chunk, in row-major order.
+     */
+    private static class Chunk {
+        final byte[] health = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        //Number of destroyed blocks on the board in this chunk.
+        int destroyed;
+    }
+}
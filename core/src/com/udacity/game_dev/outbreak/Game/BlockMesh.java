@@ -0,0 +1,180 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * Persistent vertex buffer holding the geometry for a grid of blocks.  Each cell has a fixed
+ * range of vertices for a block's black border and colored face, and a destroyed block is written
+ * as degenerate triangles.  Cells are only rewritten when they change, and only the changed range
+ * is copied into the mesh, which uploads its buffer once in a frame in which anything changed.  An
+ * unchanged board costs one draw call per frame and no vertex work.
+ *
+ * The buffers belong to a managed libGDX Mesh, so that they are rebuilt from the mesh's copy of
+ * the vertices when the GL context is lost, as it is on some Android devices on pause.
+ */
+public class BlockMesh implements Disposable {
+
+    //Two quads per cell, each four vertices of x, y, and packed color.
+    private static final int FLOATS_PER_VERTEX = 3;
+    private static final int VERTICES_PER_CELL = 8;
+    private static final int FLOATS_PER_CELL = VERTICES_PER_CELL * FLOATS_PER_VERTEX;
+    private static final int INDICES_PER_CELL = 12;
+    //Short indices can address this many cells.
+    public static final int MAX_CELLS = 65536 / VERTICES_PER_CELL;
+
+    private static final String VERTEX_SHADER =
+            "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+            "uniform mat4 u_projTrans;\n" +
+            "varying vec4 v_color;\n" +
+            "void main() {\n" +
+            "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+            "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "}\n";
+    private static final String FRAGMENT_SHADER =
+            "#ifdef GL_ES\n" +
+            "precision mediump float;\n" +
+            "#endif\n" +
+            "varying vec4 v_color;\n" +
+            "void main() {\n" +
+            "    gl_FragColor = v_color;\n" +
+            "}\n";
+
+    private final int cells;
+    private final float[] vertices;
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private final float borderColor;
+    private final float[] healthColors;
+    //Range of cells changed since the last upload, or an empty range if none.
+    private int firstDirtyCell;
+    private int lastDirtyCell;
+
+    /**
+     * @param cells  Number of cells in the grid, no more than MAX_CELLS.
+     * @param shader  Shader from createShader(), which may be shared between meshes.
+     */
+    public BlockMesh(int cells, ShaderProgram shader) {
+        if (cells > MAX_CELLS) throw new IllegalArgumentException("Too many cells for one mesh: " + cells);
+        this.cells = cells;
+        vertices = new float[cells * FLOATS_PER_CELL];
+        short[] indices = new short[cells * INDICES_PER_CELL];
+        int index = 0;
+        for (int vertex = 0; vertex < cells * VERTICES_PER_CELL; vertex += 4) {
+            indices[index++] = (short) vertex;
+            indices[index++] = (short) (vertex + 1);
+            indices[index++] = (short) (vertex + 2);
+            indices[index++] = (short) (vertex + 2);
+            indices[index++] = (short) (vertex + 3);
+            indices[index++] = (short) vertex;
+        }
+        mesh = new Mesh(false, cells * VERTICES_PER_CELL, indices.length,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+        mesh.setIndices(indices);
+        //Fill the vertex buffer once at full size.  All zeros is a degenerate, invisible board.
+        mesh.setVertices(vertices);
+        this.shader = shader;
+        borderColor = Color.BLACK.toFloatBits();
+        healthColors = new float[Constants.BLOCK_HEALTH_COLORS.length];
+        for (int i = 0; i < healthColors.length; i++) {
+            healthColors[i] = Constants.BLOCK_HEALTH_COLORS[i].toFloatBits();
+        }
+        firstDirtyCell = cells;
+        lastDirtyCell = -1;
+    }
+
+    /**
+     * Creates the shader used to draw block meshes.
+     * @return  Compiled shader.
+     */
+    public static ShaderProgram createShader() {
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Block shader failed: " + shader.getLog());
+        return shader;
+    }
+
+    /**
+     * Rewrites the geometry for one cell.
+     * @param cell  Cell index.
+     * @param x  x-coordinate of the block's lower left corner.
+     * @param y  y-coordinate of the block's lower left corner.
+     * @param health  Health of the block, or 0 if there is no block in the cell.
+     */
+    public void setCell(int cell, float x, float y, int health) {
+        int offset = cell * FLOATS_PER_CELL;
+        if (health > 0) {
+            float width = Constants.BLOCK_WIDTH;
+            float height = Constants.BLOCK_HEIGHT;
+            float border = Constants.BLOCK_BORDER_WIDTH;
+            offset = putQuad(offset, x, y, width, height, borderColor);
+            putQuad(offset, x + border, y + border, width - 2 * border, height - 2 * border,
+                    healthColors[health - 1]);
+        } else {
+            for (int i = 0; i < FLOATS_PER_CELL; i++) {
+                vertices[offset + i] = 0;
+            }
+        }
+        if (firstDirtyCell > lastDirtyCell) {
+            firstDirtyCell = cell;
+            lastDirtyCell = cell;
+        } else {
+            firstDirtyCell = Math.min(firstDirtyCell, cell);
+            lastDirtyCell = Math.max(lastDirtyCell, cell);
+        }
+    }
+
+    /**
+     * Writes the four vertices of an axis-aligned quad.
+     * @return  Offset just past the quad.
+     */
+    private int putQuad(int offset, float x, float y, float width, float height, float color) {
+        offset = putVertex(offset, x, y, color);
+        offset = putVertex(offset, x + width, y, color);
+        offset = putVertex(offset, x + width, y + height, color);
+        return putVertex(offset, x, y + height, color);
+    }
+
+    private int putVertex(int offset, float x, float y, float color) {
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = color;
+        return offset + FLOATS_PER_VERTEX;
+    }
+
+    /**
+     * Uploads any changed cells and draws every block.  Must not be called between begin() and
+     * end() of another renderer that has unflushed geometry.
+     * @param projection  Projection matrix to draw with.
+     */
+    public void render(Matrix4 projection) {
+        if (firstDirtyCell <= lastDirtyCell) {
+            int offset = firstDirtyCell * FLOATS_PER_CELL;
+            int count = (lastDirtyCell - firstDirtyCell + 1) * FLOATS_PER_CELL;
+            mesh.updateVertices(offset, vertices, offset, count);
+            firstDirtyCell = cells;
+            lastDirtyCell = -1;
+        }
+        shader.begin();
+        shader.setUniformMatrix("u_projTrans", projection);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, cells * INDICES_PER_CELL);
+        shader.end();
+    }
+
+    /**
+     * Frees the mesh.  The shader is not disposed, since it may be shared.
+     */
+    @Override
+    public void dispose() {
+        mesh.dispose();
+    }
+}
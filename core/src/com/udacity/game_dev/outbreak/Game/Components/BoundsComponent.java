@@ -0,0 +1,18 @@
+package com.udacity.game_dev.outbreak.Game.Components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Size of an entity.  Rectangles are positioned by their lower left corner and circles by their
+ * center, with a diameter of width.
+ */
+public class BoundsComponent implements Component {
+
+    public float width;
+    public float height;
+
+    public BoundsComponent(float width, float height) {
+        this.width = width;
+        this.height = height;
+    }
+}
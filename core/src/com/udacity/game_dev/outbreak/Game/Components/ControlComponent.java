@@ -0,0 +1,18 @@
+package com.udacity.game_dev.outbreak.Game.Components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Marks an entity as moved sideways by player input, and holds the direction chosen for the
+ * current simulation tick.
+ */
+public class ControlComponent implements Component {
+
+    //-1 to move left, 1 to move right, or 0 to stay still.
+    public int direction;
+    public float speed;
+
+    public ControlComponent(float speed) {
+        this.speed = speed;
+    }
+}
@@ -0,0 +1,22 @@
+package com.udacity.game_dev.outbreak.Game.Components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Position of an entity at the current and previous simulation ticks, so that rendering can
+ * interpolate between them.
+ */
+public class PositionComponent implements Component {
+
+    public float x;
+    public float y;
+    public float previousX;
+    public float previousY;
+
+    public PositionComponent(float x, float y) {
+        this.x = x;
+        this.y = y;
+        previousX = x;
+        previousY = y;
+    }
+}
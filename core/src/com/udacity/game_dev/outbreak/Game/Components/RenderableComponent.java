@@ -0,0 +1,24 @@
+package com.udacity.game_dev.outbreak.Game.Components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * How an entity is drawn.  The shape is a plain value rather than a subclass, so that one
+ * rendering loop draws every entity.
+ */
+public class RenderableComponent implements Component {
+
+    public static final int RECTANGLE = 0;
+    public static final int CIRCLE = 1;
+
+    public final int shape;
+    public Color color;
+    public boolean visible;
+
+    public RenderableComponent(int shape, Color color) {
+        this.shape = shape;
+        this.color = color;
+        visible = true;
+    }
+}
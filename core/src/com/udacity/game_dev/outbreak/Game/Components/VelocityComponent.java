@@ -0,0 +1,18 @@
+package com.udacity.game_dev.outbreak.Game.Components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Motion of an entity over one simulation tick, and the speed in world units per second that
+ * the motion is scaled to each tick.
+ */
+public class VelocityComponent implements Component {
+
+    public float x;
+    public float y;
+    public float speed;
+
+    public VelocityComponent(float speed) {
+        this.speed = speed;
+    }
+}
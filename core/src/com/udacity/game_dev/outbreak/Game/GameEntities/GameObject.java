@@ -1,37 +1,79 @@
 package com.udacity.game_dev.outbreak.Game.GameEntities;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
+import com.udacity.game_dev.outbreak.Game.Components.BoundsComponent;
+import com.udacity.game_dev.outbreak.Game.Components.PositionComponent;
+import com.udacity.game_dev.outbreak.Game.Components.RenderableComponent;
 
 /**
- * Abstract class used as parent of all game objects.
+ * Parent of the entities the game refers to by name.  All state lives in components, which the
+ * game's systems update and draw; this class only keeps references to its own components so that
+ * other code can read them without a lookup.
  */
-public abstract class GameObject {
+public class GameObject extends Entity {
 
-    protected Vector2 position;
-    protected float width;
-    protected float height;
-    protected Color color;
-    protected boolean visible;
+    protected final PositionComponent position;
+    protected final BoundsComponent bounds;
+    protected final RenderableComponent renderable;
 
-    public GameObject() {
-        position = new Vector2();
-        visible = true;
+    public GameObject(float x, float y, float width, float height, int shape, Color color) {
+        position = new PositionComponent(x, y);
+        bounds = new BoundsComponent(width, height);
+        renderable = new RenderableComponent(shape, color);
+        add(position);
+        add(bounds);
+        add(renderable);
     }
 
-    public GameObject(float x, float y, float width, float height) {
-        position = new Vector2(x, y);
-        this.width = width;
-        this.height = height;
-        visible = true;
+    /**
+     * Records the current position as the previous position, so that the object is not drawn
+     * moving from wherever it was before.
+     */
+    public void storePreviousPosition() {
+        position.previousX = position.x;
+        position.previousY = position.y;
+    }
+
+    /**
+     * Sets the position the object is drawn moving from, used when restoring a saved game.
+     * @param x  Previous x-coordinate.
+     * @param y  Previous y-coordinate.
+     */
+    public void setPreviousPosition(float x, float y) {
+        position.previousX = x;
+        position.previousY = y;
+    }
+
+    /**
+     * Gets the x-coordinate at the previous simulation tick.
+     * @return  Previous x-coordinate.
+     */
+    public float getPreviousX() { return position.previousX; }
+
+    /**
+     * Gets the y-coordinate at the previous simulation tick.
+     * @return  Previous y-coordinate.
+     */
+    public float getPreviousY() { return position.previousY; }
+
+    /**
+     * Gets the x-coordinate interpolated between the previous and current ticks.
+     * @param alpha  Interpolation factor between 0 and 1.
+     * @return  Interpolated x-coordinate.
+     */
+    public float getRenderX(float alpha) {
+        return position.previousX + (position.x - position.previousX) * alpha;
     }
 
     /**
-     * Draws object.
-     * @param renderer  ShapeRenderer to draw with.
+     * Gets the y-coordinate interpolated between the previous and current ticks.
+     * @param alpha  Interpolation factor between 0 and 1.
+     * @return  Interpolated y-coordinate.
      */
-    public abstract void render(ShapeRenderer renderer);
+    public float getRenderY(float alpha) {
+        return position.previousY + (position.y - position.previousY) * alpha;
+    }
 
     /**
      * Gets x-coordinate.
@@ -49,27 +91,31 @@ public abstract class GameObject {
      * Gets width.
      * @return  Width.
      */
-    public float getWidth() { return width; }
+    public float getWidth() { return bounds.width; }
 
     /**
      * Gets height.
      * @return  Height.
      */
-    public float getHeight() { return height; }
+    public float getHeight() { return bounds.height; }
+
+    /**
+     * Gets color.
+     * @return  Color.
+     */
+    public Color getColor() { return renderable.color; }
 
     /**
      * Returns whether object is visible.
      * @return  True if visible, false otherwise.
      */
-    public boolean getIsVisible() { return visible; }
+    public boolean getIsVisible() { return renderable.visible; }
 
     /**
-     * Tests whether the obejct is on screen given screen width and screen height.
-     * @param screenWidth  Width of screen.
-     * @param screenHeight Height of screen.
-     * @return  Whether objects is within given screen bounds.
+     * Sets whether object is visible.
+     * @param visible  True to show object, false to hide it.
      */
-    public abstract boolean onScreen(float screenWidth, float screenHeight);
+    public void setIsVisible(boolean visible) { renderable.visible = visible; }
 
     /**
      * Sets the objects position.
@@ -77,14 +123,7 @@ public abstract class GameObject {
      * @param y  Desired y-coordinate.
      */
     public void setPosition(float x, float y) {
-        position.set(x, y);
-    }
-
-    /**
-     * Moves the object by a vector.
-     * @param motion  Motion vector.
-     */
-    public void move(Vector2 motion) {
-        position.add(motion);
+        position.x = x;
+        position.y = y;
     }
 }
@@ -1,43 +1,28 @@
 package com.udacity.game_dev.outbreak.Game.GameEntities;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
+import com.udacity.game_dev.outbreak.Game.Components.ControlComponent;
+import com.udacity.game_dev.outbreak.Game.Components.RenderableComponent;
 import com.udacity.game_dev.outbreak.Utilities.Constants;
 
 /**
- * Class representing the player's movable paddle.
+ * The player's movable paddle, moved by the ControlSystem.
  */
 public class Paddle extends GameObject {
 
+    private final ControlComponent control;
+
     public Paddle(float x, float y) {
-        super(x, y, Constants.PADDLE_WIDTH, Constants.PADDLE_HEIGHT);
+        super(x, y, Constants.PADDLE_WIDTH, Constants.PADDLE_HEIGHT, RenderableComponent.RECTANGLE,
+                Constants.PADDLE_COLOR);
+        control = new ControlComponent(Constants.PADDLE_SPEED);
+        add(control);
     }
 
     /**
-     * Update the position fo the paddle based on user input and time since prior frame.
-     * @param delta  Time since prior frame.
-     * @param screenWidth  Width of screen, used to stop paddle from leaving screen.
+     * Sets the direction the paddle will move in the next simulation tick.
+     * @param direction  -1 to move left, 1 to move right, or 0 to stay still.
      */
-    public void update(float delta, float screenWidth) {
-        Vector2 motion = new Vector2(0, 0);
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) motion.x -= 1;
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) motion.x += 1;
-        motion.setLength(Constants.PADDLE_SPEED * delta);
-        move(motion);
-        if (!onScreen(screenWidth, 0)) move(motion.scl(-1));
-    }
-
-    @Override
-    public void render(ShapeRenderer renderer) {
-        renderer.setColor(Constants.PADDLE_COLOR);
-        renderer.rect(position.x, position.y, width, height);
+    public void setDirection(int direction) {
+        control.direction = direction;
     }
-
-    @Override
-    public boolean onScreen(float screenWidth, float screenHeight) {
-        return position.x > 0 && position.x + width < screenWidth;
-    }
-
 }
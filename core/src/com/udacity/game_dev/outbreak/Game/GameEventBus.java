@@ -0,0 +1,104 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Queue of game events between the code that detects them and the listeners that respond to
+ * them.  Events are published during the physics step into a preallocated ring buffer of
+ * parallel primitive arrays, and delivered to every listener when the bus is drained after the
+ * step, so that adding a listener adds no work to collision code.  If the buffer fills before it
+ * is drained, it is drained early rather than dropping events.
+ */
+public class GameEventBus {
+
+    private final int[] types;
+    private final int[] as;
+    private final int[] bs;
+    private final float[] xs;
+    private final float[] ys;
+    private final int mask;
+    //Index of the oldest queued event, and the number of queued events.
+    private int head;
+    private int size;
+    private final Array<GameEventListener> listeners;
+
+    /**
+     * @param capacity  Number of events that can be queued before the bus is drained early,
+     *                  rounded up to a power of two.
+     */
+    public GameEventBus(int capacity) {
+        capacity = MathUtils.nextPowerOfTwo(capacity);
+        types = new int[capacity];
+        as = new int[capacity];
+        bs = new int[capacity];
+        xs = new float[capacity];
+        ys = new float[capacity];
+        mask = capacity - 1;
+        listeners = new Array<GameEventListener>(false, 4);
+    }
+
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameEventListener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    /**
+     * Queues an event.
+     * @param type  Event type, such as GameEventListener.BLOCK_HIT.
+     * @param a  First integer argument.
+     * @param b  Second integer argument.
+     * @param x  x-coordinate of the event.
+     * @param y  y-coordinate of the event.
+     */
+    public void publish(int type, int a, int b, float x, float y) {
+        if (size == types.length) drain();
+        int index = (head + size) & mask;
+        types[index] = type;
+        as[index] = a;
+        bs[index] = b;
+        xs[index] = x;
+        ys[index] = y;
+        size++;
+    }
+
+    /**
+     * Delivers every queued event to every listener, oldest first, and empties the queue.
+     * Events published by a listener during the drain are delivered in the same drain.
+     */
+    public void drain() {
+        while (size > 0) {
+            //The event is removed before it is delivered, so copy it out in case a listener
+            //publishes into its slot.
+            int type = types[head];
+            int a = as[head];
+            int b = bs[head];
+            float x = xs[head];
+            float y = ys[head];
+            head = (head + 1) & mask;
+            size--;
+            for (int i = 0; i < listeners.size; i++) {
+                listeners.get(i).onGameEvent(type, a, b, x, y);
+            }
+        }
+    }
+
+    /**
+     * Discards every queued event without delivering it.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the number of queued events.
+     * @return  Event count.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,34 @@
+package com.udacity.game_dev.outbreak.Game;
+
+/**
+ * Receives game events from a GameEventBus.  Events are plain primitives, so that publishing one
+ * from collision code costs a few array writes and creates no objects.
+ */
+public interface GameEventListener {
+
+    //A ball damaged a block without destroying it.  a and b are the block's row and column, and
+    //x and y the center of the block.
+    int BLOCK_HIT = 0;
+    //A ball destroyed a block.  Arguments are as for BLOCK_HIT.
+    int BLOCK_DESTROYED = 1;
+    //A ball was kicked off the paddle.  a is the slot of the ball in multi-ball mode, or -1 for
+    //the single ball, and x and y are the position of the ball.
+    int PADDLE_KICK = 2;
+    //The last ball in play fell off the stage and a life was lost.  a is the number of lives
+    //left, and x and y are the last position of that ball: the single ball, or in multi-ball mode
+    //the last ball removed from the BallField.
+    int BALL_LOST = 3;
+    //A destroyed block was brought back by the block spawn timer, or as versus garbage.
+    //Arguments are as for BLOCK_HIT.
+    int BLOCK_SPAWNED = 4;
+
+    /**
+     * Called for each event when the bus is drained, in the order the events were published.
+     * @param type  Event type, such as BLOCK_HIT.
+     * @param a  First integer argument.
+     * @param b  Second integer argument.
+     * @param x  x-coordinate of the event.
+     * @param y  y-coordinate of the event.
+     */
+    void onGameEvent(int type, int a, int b, float x, float y);
+}
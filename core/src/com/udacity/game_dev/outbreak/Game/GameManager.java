@@ -1,27 +1,41 @@
 package com.udacity.game_dev.outbreak.Game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.NumberUtils;
 import com.udacity.game_dev.outbreak.Utilities.Constants;
 import com.udacity.game_dev.outbreak.Game.GameEntities.Ball;
-import com.udacity.game_dev.outbreak.Game.GameEntities.Block;
-import com.udacity.game_dev.outbreak.Game.GameEntities.GameObject;
 import com.udacity.game_dev.outbreak.Game.GameEntities.Paddle;
+import com.udacity.game_dev.outbreak.Game.Systems.BallPhysicsSystem;
+import com.udacity.game_dev.outbreak.Game.Systems.ControlSystem;
+import com.udacity.game_dev.outbreak.Game.Systems.InterpolationSystem;
+import com.udacity.game_dev.outbreak.Game.Systems.RenderSystem;
 import com.udacity.game_dev.outbreak.Utilities.Util;
 
 /**
  * Manages all entities in the game, such as blocks, ball, and paddle.  Handles score & lives.
+ *
+ * Only the ball and paddle are Ashley entities, moved and drawn by the systems in Systems.  The
+ * other two kinds of game object are already stored as dense primitive arrays walked by a single
+ * loop, which is what an entity family would give them, and both can grow far past what one
+ * entity each could hold: block health stays in the chunks of the BlockGrid, which may hold
+ * 10000x10000 blocks, and the balls of multi-ball mode in the BallField.  The score is kept by a
+ * listener on the event bus, since it changes only when events are delivered.
  */
-public class GameManager {
+public class GameManager implements Disposable {
 
     public int lives;
     public int score;
-    public long startTime;
+    public float gameTime;
     public GameState state;
     public final Difficulty difficulty;
 
@@ -29,72 +43,401 @@ public class GameManager {
     private float stageHeight;
     private int numRows;
     private int numColumns;
-    private int numBlocks;
-    private Array<GameObject> gameObjects;
-    private Array<Block[]> blocks;
-    private long lastBlockSpawnTime;
+    //The ball and paddle are entities, moved and drawn by the engine's systems.  See above.  The
+    //engine only keeps each system's family up to date; step() calls the systems itself.
+    private final Engine engine;
+    private final InterpolationSystem interpolation;
+    private final ControlSystem control;
+    private final BallPhysicsSystem ballPhysics;
+    private final RenderSystem renderSystem;
+    private final BlockGrid blocks;
+    //Each visible chunk of the block grid is drawn from its own persistent mesh, filled when the
+    //chunk comes into view and updated in place as its blocks change.  Meshes of chunks that leave
+    //the view are kept for reuse.
+    private ShaderProgram blockShader;
+    private final IntMap<BlockMesh> chunkMeshes;
+    private final IntArray meshChunks;
+    private final Array<BlockMesh> freeMeshes;
+    //Part of the stage being shown, which limits the blocks drawn.
+    private float viewLeft;
+    private float viewBottom;
+    private float viewRight;
+    private float viewTop;
+    private float timeSinceBlockSpawn;
     private float spawnRate;
+    private float ballSpeed;
+    private float tunedBallSpeed;
+    private float tunedSpawnRate;
+    private InputProvider input;
+    private final RandomXS128 random;
     private Ball ball;
     private Paddle paddle;
+    private BallField balls;
+    private int multiBallCount;
+    //Events published during a tick are delivered to listeners at the end of the tick.
+    private final GameEventBus events;
+    private final Vector2 candidateNormal = new Vector2();
+    private static final GameState[] STATES = GameState.values();
+    //Results of the most recent call to findImpact().
+    private final Vector2 impactNormal = new Vector2();
+    private int impactRow;
+    private int impactColumn;
+    private boolean paddleImpact;
 
     public GameManager(Difficulty difficulty, float width, float height) {
+        this(difficulty, width, height, InputProvider.NONE);
+    }
+
+    public GameManager(Difficulty difficulty, float width, float height, InputProvider input) {
+        this(difficulty, width, height, input, MathUtils.random.nextLong());
+    }
+
+    /**
+     * Creates a GameManager whose random events, such as block respawns, are drawn from its own
+     * generator, so that games with the same seed and the same input play out identically.
+     * @param difficulty  Difficulty level.
+     * @param width  Width of play area.
+     * @param height  Height of play area.
+     * @param input  Source of player input.
+     * @param seed  Seed for this game's random number generator.
+     */
+    public GameManager(Difficulty difficulty, float width, float height, InputProvider input, long seed) {
+        this(difficulty, width, height, input, seed, getStandardRows(height), getStandardColumns(width));
+    }
+
+    /**
+     * Creates a GameManager with a block grid of a given size at the top of the stage, used for
+     * boards larger than the screen.
+     * @param difficulty  Difficulty level.
+     * @param width  Width of play area.
+     * @param height  Height of play area.
+     * @param input  Source of player input.
+     * @param seed  Seed for this game's random number generator.
+     * @param numRows  Number of rows of blocks.
+     * @param numColumns  Number of columns of blocks.
+     */
+    public GameManager(Difficulty difficulty, float width, float height, InputProvider input, long seed,
+                       int numRows, int numColumns) {
         this.difficulty = difficulty;
+        this.input = input;
+        random = new RandomXS128(seed);
         stageWidth = width;
         stageHeight = height;
-        //The number of rows is the number of blocks we can fit on the screen side by side.
-        numColumns = (int) (stageWidth / Constants.BLOCK_WIDTH);
-        //The number of columns is the number of blocks we can fit on the screen top to bottom
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        events = new GameEventBus(Constants.GAME_EVENT_CAPACITY);
+        //The paddle and ball are entities; blocks are kept in the BlockGrid and drawn by BlockMesh.
+        //They are created once here and reset by init(), so that restarting does not allocate.
+        ball = new Ball(0);
+        paddle = new Paddle(stageWidth / 2 - Constants.PADDLE_WIDTH / 2, Constants.PADDLE_HEIGHT);
+        engine = new Engine();
+        engine.addEntity(ball);
+        engine.addEntity(paddle);
+        //Systems run in priority order: positions are stored, then the paddle moves, then the ball.
+        interpolation = new InterpolationSystem(0);
+        control = new ControlSystem(1, stageWidth);
+        ballPhysics = new BallPhysicsSystem(2, this);
+        renderSystem = new RenderSystem();
+        engine.addSystem(interpolation);
+        engine.addSystem(control);
+        engine.addSystem(ballPhysics);
+        engine.addSystem(renderSystem);
+        blocks = new BlockGrid(numRows, numColumns);
+        chunkMeshes = new IntMap<BlockMesh>();
+        meshChunks = new IntArray();
+        freeMeshes = new Array<BlockMesh>();
+        setViewArea(0, 0, width, height);
+        //Score and block meshes are kept up to date by this listener.
+        events.addListener(new GameEventListener() {
+            @Override
+            public void onGameEvent(int type, int a, int b, float x, float y) {
+                switch (type) {
+                    case BLOCK_HIT:
+                        score += Constants.BLOCK_HIT_SCORE_INCREASE;
+                        updateMesh(a, b);
+                        break;
+                    case BLOCK_DESTROYED:
+                        score += Constants.BLOCK_DESTROY_SCORE_INCREASE;
+                        updateMesh(a, b);
+                        break;
+                    case BALL_LOST:
+                        score -= Constants.BALL_DIE_SCORE_DECREASE;
+                        break;
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the number of rows of blocks on a standard board, which fills part of the stage.
+     * @param height  Height of play area.
+     * @return  Row count.
+     */
+    public static int getStandardRows(float height) {
+        //The number of rows is the number of blocks we can fit on the screen top to bottom
         //filling part of the screen.
-        numRows = (int) (Constants.BLOCK_AREA_SCREEN_RATIO * stageHeight / Constants.BLOCK_HEIGHT);
-        numBlocks = numRows * numColumns;
-        //The maximum number of GameObjects in the scene is the number of blocks plus 2 for the
-        //paddle and ball.
-        gameObjects = new Array<GameObject>(false, numRows * numColumns + 2);
-        blocks = new Array<Block[]>(true, numRows);
+        return (int) (Constants.BLOCK_AREA_SCREEN_RATIO * height / Constants.BLOCK_HEIGHT);
+    }
+
+    /**
+     * Gets the number of columns of blocks on a standard board, which spans the stage.
+     * @param width  Width of play area.
+     * @return  Column count.
+     */
+    public static int getStandardColumns(float width) {
+        //The number of columns is the number of blocks we can fit on the screen side by side.
+        return (int) (width / Constants.BLOCK_WIDTH);
+    }
+
+    /**
+     * Sets the part of the stage being shown.  Only blocks in chunks overlapping this area are
+     * drawn.  Defaults to the whole stage.
+     * @param x  Left edge of view.
+     * @param y  Bottom edge of view.
+     * @param width  Width of view.
+     * @param height  Height of view.
+     */
+    public void setViewArea(float x, float y, float width, float height) {
+        viewLeft = x;
+        viewBottom = y;
+        viewRight = x + width;
+        viewTop = y + height;
     }
 
     /**
-     * Draws all objects in scene.
+     * Draws all objects in scene at their current positions.
      * @param renderer  ShapeRenderer used to draw objects.
      */
     public void render(ShapeRenderer renderer) {
-        for (GameObject object : gameObjects) {
-            if (object.getIsVisible()) object.render(renderer);
+        render(renderer, 1);
+    }
+
+    /**
+     * Draws all objects in scene, interpolated between the previous and current simulation ticks.
+     * @param renderer  ShapeRenderer used to draw objects.
+     * @param alpha  Fraction of a tick elapsed since the current simulation tick.
+     */
+    public void render(ShapeRenderer renderer, float alpha) {
+        renderBlocks(renderer);
+        renderSystem.render(renderer, alpha);
+        if (multiBallCount > 0 && state == GameState.PLAYING) balls.render(renderer, alpha);
+    }
+
+    /**
+     * Draws the chunks of the block grid that overlap the view area.  Meshes of chunks that have
+     * left the view are released, and chunks that have come into view are given a mesh.  Any
+     * shapes already queued in the renderer are flushed first so that drawing order is kept.
+     * @param renderer  ShapeRenderer whose projection matrix is used.
+     */
+    private void renderBlocks(ShapeRenderer renderer) {
+        if (blockShader == null) blockShader = BlockMesh.createShader();
+        int firstChunkRow = getChunkRowAt(viewTop);
+        int lastChunkRow = getChunkRowAt(viewBottom);
+        int firstChunkColumn = getChunkColumnAt(viewLeft);
+        int lastChunkColumn = getChunkColumnAt(viewRight);
+        for (int i = meshChunks.size - 1; i >= 0; i--) {
+            int key = meshChunks.get(i);
+            int chunkRow = key / blocks.getChunkColumns();
+            int chunkColumn = key % blocks.getChunkColumns();
+            if (chunkRow < firstChunkRow || chunkRow > lastChunkRow ||
+                    chunkColumn < firstChunkColumn || chunkColumn > lastChunkColumn) {
+                freeMeshes.add(chunkMeshes.remove(key));
+                meshChunks.removeIndex(i);
+            }
+        }
+        renderer.flush();
+        for (int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+            for (int chunkColumn = firstChunkColumn; chunkColumn <= lastChunkColumn; chunkColumn++) {
+                int key = chunkRow * blocks.getChunkColumns() + chunkColumn;
+                BlockMesh mesh = chunkMeshes.get(key);
+                if (mesh == null) {
+                    mesh = freeMeshes.size > 0 ? freeMeshes.pop() :
+                            new BlockMesh(Constants.BLOCK_CHUNK_SIZE * Constants.BLOCK_CHUNK_SIZE, blockShader);
+                    fillMesh(mesh, chunkRow, chunkColumn);
+                    chunkMeshes.put(key, mesh);
+                    meshChunks.add(key);
+                }
+                mesh.render(renderer.getProjectionMatrix());
+            }
         }
     }
 
     /**
-     * Update state of all objects based on time since prior frame.
-     * @param delta  Time since prior frame.
+     * Writes every cell of a chunk into a mesh.  Cells past the edge of the board are left empty.
+     * @param mesh  Mesh to fill.
+     * @param chunkRow  Chunk row.
+     * @param chunkColumn  Chunk column.
+     */
+    private void fillMesh(BlockMesh mesh, int chunkRow, int chunkColumn) {
+        int size = Constants.BLOCK_CHUNK_SIZE;
+        for (int cell = 0; cell < size * size; cell++) {
+            int row = chunkRow * size + cell / size;
+            int column = chunkColumn * size + cell % size;
+            if (row < numRows && column < numColumns) {
+                mesh.setCell(cell, getBlockX(column), getBlockY(row), blocks.getHealth(row, column));
+            } else {
+                mesh.setCell(cell, 0, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Rewrites a changed block in its chunk's mesh, if the chunk is in view.
+     * @param row  Row index.
+     * @param column  Column index.
+     */
+    private void updateMesh(int row, int column) {
+        int size = Constants.BLOCK_CHUNK_SIZE;
+        BlockMesh mesh = chunkMeshes.get(row / size * blocks.getChunkColumns() + column / size);
+        if (mesh != null) {
+            mesh.setCell(row % size * size + column % size, getBlockX(column), getBlockY(row),
+                    blocks.getHealth(row, column));
+        }
+    }
+
+    /**
+     * Gets the chunk row nearest to a given y-coordinate.
+     * @param y  y-coordinate in world units.
+     * @return  Chunk row, clamped to the grid.
+     */
+    private int getChunkRowAt(float y) {
+        return MathUtils.clamp(getRowAt(y), 0, numRows - 1) / Constants.BLOCK_CHUNK_SIZE;
+    }
+
+    /**
+     * Gets the chunk column nearest to a given x-coordinate.
+     * @param x  x-coordinate in world units.
+     * @return  Chunk column, clamped to the grid.
+     */
+    private int getChunkColumnAt(float x) {
+        return MathUtils.clamp(getColumnAt(x), 0, numColumns - 1) / Constants.BLOCK_CHUNK_SIZE;
+    }
+
+    /**
+     * Frees the block meshes and their shader, if they have been created.
+     */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < meshChunks.size; i++) {
+            chunkMeshes.get(meshChunks.get(i)).dispose();
+        }
+        for (int i = 0; i < freeMeshes.size; i++) {
+            freeMeshes.get(i).dispose();
+        }
+        chunkMeshes.clear();
+        meshChunks.clear();
+        freeMeshes.clear();
+        if (blockShader != null) {
+            blockShader.dispose();
+            blockShader = null;
+        }
+    }
+
+    /**
+     * Turns multi-ball mode on or off.  In multi-ball mode, launching releases a fan of balls that
+     * are simulated together by a BallField, and a life is lost only when every ball is lost.
+     * Takes effect at the next launch.
+     * @param count  Number of balls to launch, or 0 to play with a single Ball.
+     */
+    public void setMultiBall(int count) {
+        multiBallCount = count;
+        if (count > 0 && (balls == null || balls.getCapacity() < count)) {
+            balls = new BallField(this, count, Constants.BALL_RADIUS);
+        }
+    }
+
+    /**
+     * Gets the number of balls launched in multi-ball mode.
+     * @return  Ball count, or 0 if multi-ball mode is off.
+     */
+    public int getMultiBallCount() {
+        return multiBallCount;
+    }
+
+    /**
+     * Gets the BallField used for multi-ball mode.
+     * @return  BallField, or null if multi-ball mode has never been turned on.
+     */
+    public BallField getBallField() {
+        return balls;
+    }
+
+    /**
+     * Replaces the single ball resting on the paddle with a fan of balls launched upward.
+     */
+    private void launchBalls() {
+        balls.clear();
+        float spread = Constants.MULTI_BALL_SPREAD_ANGLE * MathUtils.degreesToRadians;
+        for (int i = 0; i < multiBallCount; i++) {
+            float angle = MathUtils.PI / 2;
+            if (multiBallCount > 1) angle += spread * ((float) i / (multiBallCount - 1) - 0.5f);
+            balls.spawn(ball.getX(), ball.getY(), MathUtils.cos(angle) * ballSpeed,
+                    MathUtils.sin(angle) * ballSpeed, ball.getHeight() / 2);
+        }
+        ball.setIsVisible(false);
+    }
+
+    /**
+     * Sets the source of player input read each simulation tick.
+     * @param input  InputProvider to read from.
+     */
+    public void setInputProvider(InputProvider input) {
+        this.input = input;
+    }
+
+    /**
+     * Advance the state of all objects by one fixed simulation tick, then deliver the events
+     * published during the tick.
+     * @param delta  Length of simulation tick.
      */
     public void update(float delta) {
-        paddle.update(delta, stageWidth);
+        step(delta);
+        events.drain();
+    }
+
+    /**
+     * Advance the state of all objects by one fixed simulation tick.
+     * @param delta  Length of simulation tick.
+     */
+    private void step(float delta) {
+        gameTime += delta;
+        timeSinceBlockSpawn += delta;
+        int buttons = input.poll();
+        int direction = 0;
+        if ((buttons & InputProvider.LEFT) != 0) direction -= 1;
+        if ((buttons & InputProvider.RIGHT) != 0) direction += 1;
+        paddle.setDirection(direction);
+        //The systems are called in priority order here rather than through Engine.update(), which
+        //costs more per tick than the two entities it would update.
+        interpolation.update(delta);
+        control.update(delta);
+        if (ballPhysics.checkProcessing()) ballPhysics.update(delta);
 
         if (state == GameState.PLAYING) {
-            ball.updateMotion(delta);
-            //Check for collisions between the ball and other objects.
-            for (GameObject object : gameObjects) {
-                if (object.getIsVisible() &&
-                        !(object instanceof Ball) &&
-                        ball.detectCollision(object, true)
-                ) {
-                    //The collide method returns true if a block was destroyed.
-                    if (ball.collide(object)) {
-                        score += Constants.BLOCK_DESTROY_SCORE_INCREASE;
-                        if (isGameWon()) {
-                            win();
-                            return;
-                        }
-                    } else if (!(object instanceof Paddle)) {
-                        score += Constants.BLOCK_HIT_SCORE_INCREASE;
-                    }
+            boolean ballLost;
+            float lostX;
+            float lostY;
+            if (multiBallCount > 0) {
+                if (balls.step(delta)) {
+                    win();
+                    return;
+                }
+                ballLost = balls.size() == 0;
+                lostX = balls.getLastRemovedX();
+                lostY = balls.getLastRemovedY();
+            } else {
+                if (ballPhysics.hasWon()) {
+                    win();
+                    return;
                 }
+                ballLost = !isBallOnStage();
+                lostX = ball.getX();
+                lostY = ball.getY();
             }
-            ball.move(stageWidth, stageHeight);
-            if (!ball.onScreen(stageWidth, stageHeight)) {
+            if (ballLost) {
                 state = GameState.READY;
                 lives--;
-                score -= Constants.BALL_DIE_SCORE_DECREASE;
+                events.publish(GameEventListener.BALL_LOST, lives, 0, lostX, lostY);
                 if (lives <= 0) {
                     gameOver();
                     return;
@@ -102,84 +445,338 @@ public class GameManager {
             }
         } else if (state == GameState.READY) {
             //In the ready state, the ball is manually positioned on top of the paddle.
+            ball.setIsVisible(true);
             ball.setPosition(
                     paddle.getX() + paddle.getWidth() / 2,
                     paddle.getY() + paddle.getHeight() + ball.getHeight() / 2
             );
-            //If the user presses space while the game is in the READY state, it will bounce upward.
-            if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+            //Multi-ball mode can only be switched while the ball is on the paddle.
+            if ((buttons & InputProvider.MULTI_BALL) != 0) {
+                setMultiBall(multiBallCount > 0 ? 0 : Constants.MULTI_BALL_COUNT);
+            }
+            //If the user presses launch while the game is in the READY state, it will bounce upward.
+            if ((buttons & InputProvider.LAUNCH) != 0) {
                 state = GameState.PLAYING;
-                ball.initHeading(new Vector2(0,1));
+                if (multiBallCount > 0) {
+                    launchBalls();
+                } else {
+                    ball.initHeading(0, 1);
+                }
             }
         }
         //If sufficient time has passed, spawn a new block and reset the timer.
-        if (Util.secondsSince(lastBlockSpawnTime) > spawnRate) {
+        if (timeSinceBlockSpawn > spawnRate) {
             generateRandomBlock();
-            lastBlockSpawnTime = TimeUtils.nanoTime();
+            timeSinceBlockSpawn = 0;
         }
     }
 
     /**
-     * Initialize the block array.
+     * Tests whether any part of the single ball is still on the stage.
+     * @return  True if the ball is on the stage.
      */
-    private void generateBlocks() {
-        for (int i = 0; i < numRows; i ++) {
-            Block[] row = new Block[numColumns];
-            for (int j = 0; j < numColumns; j++) {
-                row[j] = generateBlock(i, j, getStartingHealthByRow(i));
-                gameObjects.add(row[j]);
-            }
-            blocks.add(row);
-        }
+    private boolean isBallOnStage() {
+        float radius = ball.getWidth() / 2;
+        return ball.getX() + radius > 0 &&
+                ball.getX() - radius < stageWidth &&
+                ball.getY() + radius > 0 &&
+                ball.getY() - radius < stageHeight;
     }
 
     /**
-     * Creates a block at a specified position.
-     * @param row    Row in block grid.
-     * @param column Column in block grid
-     * @param startingHealth  Initial health for block.
-     * @return new Block at position given by row & column and with specified health.
+     * Finds the earliest impact of a moving ball with a wall, the ceiling, a block in the grid
+     * cells covered by its path, or the paddle.  The surface normal at the impact is stored in
+     * impactNormal, and impactRow, impactColumn, and paddleImpact record what was hit.
+     * @param x  Ball x-coordinate.
+     * @param y  Ball y-coordinate.
+     * @param dx  Horizontal motion.
+     * @param dy  Vertical motion.
+     * @param radius  Ball radius.
+     * @return  Fraction of the motion completed at the time of impact, or 1 if nothing is hit.
      */
-    private Block generateBlock(int row, int column, int startingHealth) {
-        float x = column * Constants.BLOCK_WIDTH;
-        float y = stageHeight - (row + 1) * Constants.BLOCK_HEIGHT;
-        return new Block(x, y, startingHealth);
+    public float findImpact(float x, float y, float dx, float dy, float radius) {
+        return findImpact(x, y, dx, dy, radius, true);
     }
 
     /**
-     * Regenerates a random destroyed block.
+     * Finds the earliest impact of a moving ball, as findImpact() does, optionally ignoring the
+     * paddle.
+     * @param x  Ball x-coordinate.
+     * @param y  Ball y-coordinate.
+     * @param dx  Horizontal motion.
+     * @param dy  Vertical motion.
+     * @param radius  Ball radius.
+     * @param includePaddle  False to let the ball pass through the paddle.
+     * @return  Fraction of the motion completed at the time of impact, or 1 if nothing is hit.
      */
-    private void generateRandomBlock() {
-        //Create an array of row/column coordinates of destroyed blocks.
-        Array<int[]> openPositions = new Array<int[]>(numBlocks);
-        for (int i = 0; i < numRows; i++) {
-            for (int j = 0; j < numColumns; j++) {
-                if (!blocks.get(i)[j].getIsVisible()) {
-                    openPositions.add(new int[]{i, j});
+    float findImpact(float x, float y, float dx, float dy, float radius, boolean includePaddle) {
+        float impactTime = 1;
+        impactRow = -1;
+        paddleImpact = false;
+        //Walls and ceiling.
+        if (dx < 0 && x + dx < radius) {
+            impactTime = Math.max((radius - x) / dx, 0);
+            impactNormal.set(1, 0);
+        } else if (dx > 0 && x + dx > stageWidth - radius) {
+            impactTime = Math.max((stageWidth - radius - x) / dx, 0);
+            impactNormal.set(-1, 0);
+        }
+        if (dy > 0 && y + dy > stageHeight - radius) {
+            float t = Math.max((stageHeight - radius - y) / dy, 0);
+            if (t < impactTime) {
+                impactTime = t;
+                impactNormal.set(0, -1);
+            }
+        }
+        //Blocks in the grid cells covered by the ball's path.
+        int firstRow = Math.max(getRowAt(Math.max(y, y + dy) + radius), 0);
+        int lastRow = Math.min(getRowAt(Math.min(y, y + dy) - radius), numRows - 1);
+        int firstColumn = Math.max(getColumnAt(Math.min(x, x + dx) - radius), 0);
+        int lastColumn = Math.min(getColumnAt(Math.max(x, x + dx) + radius), numColumns - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (blocks.getHealth(row, column) == 0) continue;
+                float t = Util.sweepCircleRect(x, y, dx, dy, radius, getBlockX(column), getBlockY(row),
+                        Constants.BLOCK_WIDTH, Constants.BLOCK_HEIGHT, candidateNormal);
+                if (t >= 0 && t < impactTime) {
+                    impactTime = t;
+                    impactNormal.set(candidateNormal);
+                    impactRow = row;
+                    impactColumn = column;
                 }
             }
         }
-        openPositions.shrink();
-        if (openPositions.size == 0) return;
-        //Choose random destroyed block coordinates.
-        int[] newBlockPosition = openPositions.get(MathUtils.random(openPositions.size-1));
-        //Re-initialize the block at those coordinates.
-        blocks.get(newBlockPosition[0])[newBlockPosition[1]].init(1);
+        //Paddle.
+        if (!includePaddle) return impactTime;
+        float t = Util.sweepCircleRect(x, y, dx, dy, radius, paddle.getX(), paddle.getY(),
+                paddle.getWidth(), paddle.getHeight(), candidateNormal);
+        if (t >= 0 && t < impactTime) {
+            impactTime = t;
+            impactNormal.set(candidateNormal);
+            impactRow = -1;
+            paddleImpact = true;
+        }
+        return impactTime;
     }
 
     /**
-     * Gets appropriate starting health for a block by its row.
-     * @param  row  Row index.
-     * @return  block health for blocks in given row.
+     * Damages a block hit by a ball and publishes a BLOCK_HIT or BLOCK_DESTROYED event, which
+     * updates the score and the block's mesh when events are drained.
+     * @param row  Row of block that was hit.
+     * @param column  Column of block that was hit.
+     * @return True if the last block was destroyed and the game has been won.
      */
-    private int getStartingHealthByRow(int row) {
-        int rowsPerValue = Math.round(numRows * 1.0f / Constants.MAX_BLOCK_HEALTH);
-        for (int i = 1;  i <= Constants.MAX_BLOCK_HEALTH; i++) {
-            if (row < rowsPerValue * i) {
-                return Constants.MAX_BLOCK_HEALTH - i + 1;
-            }
-        }
-        return Constants.MAX_BLOCK_HEALTH;
+    public boolean hitBlock(int row, int column) {
+        boolean destroyed = blocks.hit(row, column);
+        events.publish(destroyed ? GameEventListener.BLOCK_DESTROYED : GameEventListener.BLOCK_HIT, row, column,
+                getBlockX(column) + Constants.BLOCK_WIDTH / 2, getBlockY(row) + Constants.BLOCK_HEIGHT / 2);
+        return destroyed && isGameWon();
+    }
+
+    /**
+     * Publishes a PADDLE_KICK event.
+     * @param slot  Slot of the ball in the BallField, or -1 for the single ball.
+     * @param x  Ball x-coordinate.
+     * @param y  Ball y-coordinate.
+     */
+    public void kickedOffPaddle(int slot, float x, float y) {
+        events.publish(GameEventListener.PADDLE_KICK, slot, 0, x, y);
+    }
+
+    /**
+     * Gets the surface normal at the impact found by the latest call to findImpact().
+     * @return  Unit normal, overwritten by each call.
+     */
+    public Vector2 getImpactNormal() {
+        return impactNormal;
+    }
+
+    /**
+     * Gets the row of the block hit in the impact found by the latest call to findImpact().
+     * @return  Row index, or -1 if no block was hit.
+     */
+    public int getImpactRow() {
+        return impactRow;
+    }
+
+    /**
+     * Gets the column of the block hit in the impact found by the latest call to findImpact().
+     * @return  Column index, valid only if getImpactRow() is not -1.
+     */
+    public int getImpactColumn() {
+        return impactColumn;
+    }
+
+    /**
+     * Tests whether the impact found by the latest call to findImpact() was with the paddle.
+     * @return  True if the paddle was hit.
+     */
+    public boolean isPaddleImpact() {
+        return paddleImpact;
+    }
+
+    /**
+     * Gets the time left until the next block respawn.
+     * @return  Game time in seconds.
+     */
+    public float getTimeUntilBlockSpawn() {
+        return Math.max(spawnRate - timeSinceBlockSpawn, 0);
+    }
+
+    /**
+     * Gets the bus on which hits, destroyed and respawned blocks, paddle kicks, and lost balls are
+     * published.  Listeners added to it are called at the end of each tick.
+     * @return  Event bus.
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Gets the paddle.
+     * @return  Paddle.
+     */
+    public Paddle getPaddle() {
+        return paddle;
+    }
+
+    /**
+     * Gets the single ball used outside of multi-ball mode.
+     * @return  Ball.
+     */
+    public Ball getBall() {
+        return ball;
+    }
+
+    /**
+     * Gets the number of rows in the block grid.
+     * @return  Row count.
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Gets the number of columns in the block grid.
+     * @return  Column count.
+     */
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    /**
+     * Gets the block grid.  Rows are counted from the top of the stage.
+     * @return  BlockGrid.
+     */
+    public BlockGrid getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Computes a hash of the game state that a replay can check: the health of every block and
+     * the positions of the paddle and ball.
+     * @return  Hash of board state.
+     */
+    public int getBoardHash() {
+        int hash = 17 + blocks.hash();
+        hash = 31 * hash + NumberUtils.floatToIntBits(paddle.getX());
+        hash = 31 * hash + NumberUtils.floatToIntBits(ball.getX());
+        hash = 31 * hash + NumberUtils.floatToIntBits(ball.getY());
+        return hash;
+    }
+
+    /**
+     * Overrides the ball speed and block spawn rate set by the difficulty level, used to tune
+     * those values in simulation.  Takes effect at the next call to init().
+     * @param ballSpeed  Ball speed, or 0 to use the difficulty's speed.
+     * @param spawnRate  Seconds between block respawns, or 0 to use the difficulty's rate.
+     */
+    public void setTuning(float ballSpeed, float spawnRate) {
+        tunedBallSpeed = ballSpeed;
+        tunedSpawnRate = spawnRate;
+    }
+
+    /**
+     * Gets the width of the play area.
+     * @return  Stage width.
+     */
+    float getStageWidth() {
+        return stageWidth;
+    }
+
+    /**
+     * Gets the height of the play area.
+     * @return  Stage height.
+     */
+    float getStageHeight() {
+        return stageHeight;
+    }
+
+    /**
+     * Gets the block grid row containing a given y-coordinate.  Rows are counted from the top of
+     * the stage, and the result may fall outside the grid.
+     * @param y  y-coordinate in world units.
+     * @return  Row index.
+     */
+    private int getRowAt(float y) {
+        return (int) Math.floor((stageHeight - y) / Constants.BLOCK_HEIGHT);
+    }
+
+    /**
+     * Gets the block grid column containing a given x-coordinate.  The result may fall outside the
+     * grid.
+     * @param x  x-coordinate in world units.
+     * @return  Column index.
+     */
+    private int getColumnAt(float x) {
+        return (int) Math.floor(x / Constants.BLOCK_WIDTH);
+    }
+
+    /**
+     * Gets the x-coordinate of the left edge of a block grid column.
+     * @param column  Column index.
+     * @return  x-coordinate in world units.
+     */
+    private float getBlockX(int column) {
+        return column * Constants.BLOCK_WIDTH;
+    }
+
+    /**
+     * Gets the y-coordinate of the bottom edge of a block grid row.
+     * @param row  Row index.
+     * @return  y-coordinate in world units.
+     */
+    private float getBlockY(int row) {
+        return stageHeight - (row + 1) * Constants.BLOCK_HEIGHT;
+    }
+
+    /**
+     * Regenerates a random destroyed block near the ball, within the chunks overlapping a
+     * screen-sized area centered on it.  The area depends only on simulation state, so that
+     * replays respawn the same blocks.  A standard board lies entirely within this area.  Publishes
+     * a BLOCK_SPAWNED event.
+     * @return  Cell index of the regenerated block, row * numColumns + column, or -1 if no blocks
+     * there have been destroyed.
+     */
+    public int generateRandomBlock() {
+        float halfWidth = Constants.WORLD_WIDTH / 2;
+        float halfHeight = (Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT) / 2;
+        int firstChunkRow = getChunkRowAt(ball.getY() + halfHeight);
+        int lastChunkRow = getChunkRowAt(ball.getY() - halfHeight);
+        int firstChunkColumn = getChunkColumnAt(ball.getX() - halfWidth);
+        int lastChunkColumn = getChunkColumnAt(ball.getX() + halfWidth);
+        //Count destroyed blocks, then choose one of them at random and find it with a second pass.
+        int openPositions = blocks.countDestroyed(firstChunkRow, lastChunkRow, firstChunkColumn, lastChunkColumn);
+        if (openPositions == 0) return -1;
+        int cell = blocks.findDestroyed(firstChunkRow, lastChunkRow, firstChunkColumn, lastChunkColumn,
+                random.nextInt(openPositions));
+        int row = cell / numColumns;
+        int column = cell % numColumns;
+        blocks.setHealth(row, column, 1);
+        updateMesh(row, column);
+        events.publish(GameEventListener.BLOCK_SPAWNED, row, column,
+                getBlockX(column) + Constants.BLOCK_WIDTH / 2, getBlockY(row) + Constants.BLOCK_HEIGHT / 2);
+        return cell;
     }
 
     /**
@@ -187,12 +784,7 @@ public class GameManager {
      * @return True if all blocks are destroyed, false otherwise.
      */
     public boolean isGameWon() {
-        for (Block[] row : blocks) {
-            for (Block block : row) {
-                if (block.getIsVisible()) return false;
-            }
-        }
-        return true;
+        return blocks.getRemainingBlocks() == 0;
     }
 
     /**
@@ -217,7 +809,7 @@ public class GameManager {
      */
     private int calculateWinBonus() {
         float bonus = 0;
-        bonus += (Constants.TARGET_GAME_TIME / Util.secondsSince(startTime)) * Constants.TIME_SCORE_BONUS_FACTOR;
+        bonus += (Constants.TARGET_GAME_TIME / gameTime) * Constants.TIME_SCORE_BONUS_FACTOR;
         switch (difficulty) {
             case EASY:
                 bonus += Constants.EASY_WIN_BONUS;
@@ -233,13 +825,20 @@ public class GameManager {
     }
 
     /**
-     * Initialize the game.  Called when the screen loads and to reset game to play again.
+     * Initialize the game.  Called when the screen loads and to reset game to play again.  The
+     * ball, paddle, block grid, and block meshes are all reset in place, so restarting a game does
+     * not allocate.  Multi-ball mode is turned off.
      */
     public void init() {
-        startTime = TimeUtils.nanoTime();
+        events.clear();
+        gameTime = 0;
+        timeSinceBlockSpawn = 0;
         score = 0;
         lives = Constants.STARTING_LIVES;
-        generateBlocks();
+        multiBallCount = 0;
+        if (balls != null) balls.clear();
+        blocks.reset();
+        refillMeshes();
         float speed;
         switch (difficulty) {
             case EASY:
@@ -255,14 +854,110 @@ public class GameManager {
                 spawnRate = Constants.BLOCK_SPAWN_RATE_HARD;
                 break;
         }
-        ball = new Ball(speed);
-        gameObjects.add(ball);
-        paddle = new Paddle(stageWidth / 2 - Constants.PADDLE_WIDTH / 2, Constants.PADDLE_HEIGHT);
-        gameObjects.add(paddle);
+        if (tunedBallSpeed > 0) speed = tunedBallSpeed;
+        if (tunedSpawnRate > 0) spawnRate = tunedSpawnRate;
+        ballSpeed = speed;
+        ball.reset(speed);
+        paddle.setPosition(stageWidth / 2 - Constants.PADDLE_WIDTH / 2, Constants.PADDLE_HEIGHT);
+        paddle.storePreviousPosition();
         ball.setPosition(paddle.getX() + paddle.getWidth() / 2, paddle.getY() + paddle.getHeight() + ball.getHeight() / 2);
+        ball.storePreviousPosition();
         state = GameState.READY;
     }
 
+    /**
+     * Reseeds the random number generator and initializes the game, so that the new game plays
+     * out exactly as one on a new GameManager created with the same seed.
+     * @param seed  Seed for this game's random number generator.
+     */
+    public void init(long seed) {
+        random.setSeed(seed);
+        init();
+    }
+
+    /**
+     * Saves the complete state of the game into a snapshot, without allocating once the snapshot
+     * has grown to fit.  Must be called between ticks.
+     * @param snapshot  Snapshot to save into.
+     */
+    public void save(GameSnapshot snapshot) {
+        snapshot.numRows = numRows;
+        snapshot.numColumns = numColumns;
+        snapshot.state = state.ordinal();
+        snapshot.lives = lives;
+        snapshot.score = score;
+        snapshot.gameTime = gameTime;
+        snapshot.timeSinceBlockSpawn = timeSinceBlockSpawn;
+        snapshot.spawnRate = spawnRate;
+        snapshot.ballSpeed = ballSpeed;
+        snapshot.randomState0 = random.getState(0);
+        snapshot.randomState1 = random.getState(1);
+        snapshot.ballX = ball.getX();
+        snapshot.ballY = ball.getY();
+        snapshot.ballPreviousX = ball.getPreviousX();
+        snapshot.ballPreviousY = ball.getPreviousY();
+        snapshot.ballMotionX = ball.getMotionX();
+        snapshot.ballMotionY = ball.getMotionY();
+        snapshot.ballVisible = ball.getIsVisible();
+        snapshot.paddleX = paddle.getX();
+        snapshot.paddleY = paddle.getY();
+        snapshot.paddlePreviousX = paddle.getPreviousX();
+        snapshot.paddlePreviousY = paddle.getPreviousY();
+        snapshot.multiBallCount = multiBallCount;
+        snapshot.fieldCapacity = 0;
+        if (balls != null) balls.save(snapshot);
+        blocks.save(snapshot);
+    }
+
+    /**
+     * Puts the game back into the state saved in a snapshot, so that it plays on exactly as it
+     * did from that point given the same input.  Block meshes in view are refilled.
+     * @param snapshot  Snapshot of a game on a board of the same size.
+     */
+    public void restore(GameSnapshot snapshot) {
+        if (snapshot.numRows != numRows || snapshot.numColumns != numColumns) {
+            throw new GdxRuntimeException("Snapshot is of a " + snapshot.numRows + "x" + snapshot.numColumns +
+                    " board, not " + numRows + "x" + numColumns);
+        }
+        events.clear();
+        state = STATES[snapshot.state];
+        lives = snapshot.lives;
+        score = snapshot.score;
+        gameTime = snapshot.gameTime;
+        timeSinceBlockSpawn = snapshot.timeSinceBlockSpawn;
+        spawnRate = snapshot.spawnRate;
+        ballSpeed = snapshot.ballSpeed;
+        random.setState(snapshot.randomState0, snapshot.randomState1);
+        ball.reset(ballSpeed);
+        ball.initHeading(snapshot.ballMotionX, snapshot.ballMotionY);
+        ball.setIsVisible(snapshot.ballVisible);
+        ball.setPosition(snapshot.ballX, snapshot.ballY);
+        ball.setPreviousPosition(snapshot.ballPreviousX, snapshot.ballPreviousY);
+        paddle.setPosition(snapshot.paddleX, snapshot.paddleY);
+        paddle.setPreviousPosition(snapshot.paddlePreviousX, snapshot.paddlePreviousY);
+        multiBallCount = snapshot.multiBallCount;
+        if (snapshot.fieldCapacity > 0) {
+            if (balls == null || balls.getCapacity() != snapshot.fieldCapacity) {
+                balls = new BallField(this, snapshot.fieldCapacity, Constants.BALL_RADIUS);
+            }
+            balls.restore(snapshot);
+        } else if (balls != null) {
+            balls.clear();
+        }
+        blocks.restore(snapshot);
+        refillMeshes();
+    }
+
+    /**
+     * Rewrites every block mesh in use from the block grid.
+     */
+    private void refillMeshes() {
+        for (int i = 0; i < meshChunks.size; i++) {
+            int key = meshChunks.get(i);
+            fillMesh(chunkMeshes.get(key), key / blocks.getChunkColumns(), key % blocks.getChunkColumns());
+        }
+    }
+
     public enum Difficulty {
         EASY,
         MEDIUM,
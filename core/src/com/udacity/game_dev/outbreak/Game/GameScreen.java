@@ -3,18 +3,26 @@ package com.udacity.game_dev.outbreak.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.udacity.game_dev.outbreak.Game.GameEntities.Ball;
 import com.udacity.game_dev.outbreak.OutbreakGame;
+import com.udacity.game_dev.outbreak.Ui.FrameProfiler;
 import com.udacity.game_dev.outbreak.Ui.Label;
 import com.udacity.game_dev.outbreak.Ui.UiRenderer;
 import com.udacity.game_dev.outbreak.Utilities.Constants;
-import com.udacity.game_dev.outbreak.Utilities.Util;
+import com.udacity.game_dev.outbreak.Utilities.FixedTimestep;
+import com.udacity.game_dev.outbreak.Utilities.RenderThrottle;
+import com.udacity.game_dev.outbreak.Utilities.ResourceCache;
 
 /**
  * Screen for gameplay.
@@ -23,46 +31,131 @@ public class GameScreen extends ScreenAdapter {
 
     OutbreakGame game;
     GameManager.Difficulty difficulty;
+    boolean largeBoard;
 
     private FitViewport viewport;
     private GameManager manager;
     private UiRenderer uiRenderer;
     private ShapeRenderer renderer;
     private SpriteBatch batch;
+    private TextureRegion whitePixel;
+    private BitmapFont font;
+    private BitmapFont largeFont;
+    private FixedTimestep timestep;
+    private GdxInputProvider input;
+    private ReplayRecorder recorder;
+    private Autopilot autopilot;
+    private boolean autopilotEnabled;
+    //Games the autopilot has played any part of are left out of the high scores.
+    private boolean autopilotPlayed;
+    private FrameProfiler profiler;
+    //Recent ticks for rewinding, kept only on standard boards since snapshots grow with the board.
+    private SnapshotRing rewind;
+    private GameSnapshot suspended;
+    //True from pause() saving the game in progress until resume() or dispose() deletes it.
+    private boolean savedSuspended;
+    //True if the last frame asked for rendering to pause until input or the next visible change.
+    private boolean idle;
 
     private int scoreLabelIndex;
     private int livesLabelIndex;
     private int timeLabelIndex;
+    //End-game labels are created with the HUD and hidden until the game ends.
+    private int endLabelIndex;
+    private int endLabelCount;
+    private int endScoreLabelIndex;
+    private int endHighScoreLabelIndex;
+    //Rank the last finished game took in the high scores, or -1.
+    private int highScoreRank;
+    private int displayedScore;
+    private int displayedLives;
+    private int displayedTime;
+    //Lower left corner of the part of the stage in view.
+    private float viewLeft;
+    private float viewBottom;
 
-    public GameScreen(OutbreakGame game, GameManager.Difficulty difficulty) {
+    /**
+     * @param game  Game instance.
+     * @param difficulty  Difficulty level.
+     * @param largeBoard  True to play on a board much larger than the screen, which scrolls to
+     *                    follow the ball.
+     */
+    public GameScreen(OutbreakGame game, GameManager.Difficulty difficulty, boolean largeBoard) {
         super();
         this.game = game;
         this.difficulty = difficulty;
+        this.largeBoard = largeBoard;
     }
 
-    @Override
-    public void show() {
+    /**
+     * Builds the screen and starts a game, ready to be shown.  Does nothing if the screen has
+     * already been prepared.  Screens are kept between visits, so this happens once per screen.
+     */
+    public void prepare() {
+        if (viewport != null) return;
         viewport = new FitViewport(Constants.WORLD_WIDTH, Constants.WORLD_HEIGHT);
-        uiRenderer = new UiRenderer();
-        renderer = new ShapeRenderer();
-        batch = new SpriteBatch();
+        ResourceCache resources = game.getResources();
+        whitePixel = resources.acquireWhitePixel();
+        uiRenderer = new UiRenderer(whitePixel);
+        renderer = resources.acquireShapeRenderer();
+        batch = resources.acquireBatch();
+        timestep = new FixedTimestep(Constants.SIMULATION_TICK_RATE, Constants.MAX_SIMULATION_TICKS_PER_FRAME);
+        input = new GdxInputProvider();
+        recorder = new ReplayRecorder(input);
+        if (!largeBoard) rewind = new SnapshotRing(Constants.REWIND_TICKS);
         initGame(difficulty);
         initUi();
     }
 
+    /**
+     * Shows the screen, resuming the game saved by pause() if it was played here.  Screens are
+     * prepared while the start screen is showing, so this is the first point at which the player
+     * has chosen this screen.
+     */
+    @Override
+    public void show() {
+        prepare();
+        resumeSuspendedGame();
+        idle = false;
+        game.getTelemetry().startGame(manager, autopilotEnabled);
+    }
+
     @Override
     public void render(float delta) {
+        boolean resumingFromIdle = idle;
+        //Pressing F3 toggles the frame profiler overlay, and F4 the autopilot.  Holding F5 rewinds.
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) profiler.toggle();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) setAutopilot(!autopilotEnabled);
+        profiler.beginFrame();
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl20.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        if (manager.state != GameManager.GameState.WIN && manager.state != GameManager.GameState.GAME_OVER) {
-            manager.update(delta);
-            updateUi(manager.score, manager.lives, (int) Util.secondsSince(manager.startTime));
+        if (!isGameEnded()) {
+            input.update();
+            profiler.begin(FrameProfiler.UPDATE);
+            if (rewind != null && Gdx.input.isKeyPressed(Input.Keys.F5)) {
+                rewind();
+            } else {
+                //Run the simulation in fixed ticks, stopping early if the game ends partway through.
+                //The time spent waiting while rendering was paused is made up in full, with no
+                //buttons down since none were, so the game clock keeps real time.
+                int ticks = resumingFromIdle ? timestep.advance(delta, Constants.MAX_IDLE_SIMULATION_TICKS) :
+                        timestep.advance(delta);
+                input.setEnabled(!resumingFromIdle);
+                for (int i = 0; i < ticks && !isGameEnded(); i++) {
+                    manager.update(timestep.getTickDuration());
+                    if (rewind != null) rewind.record(manager, recorder.getReplay().getTicks());
+                }
+                input.setEnabled(true);
+            }
+            profiler.end(FrameProfiler.UPDATE);
+            updateUi(manager.score, manager.lives, (int) manager.gameTime);
             checkForGameEnd();
         } else {
-            if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-                initGame(manager.difficulty);
-                initGameUi();
+            //The autopilot starts a new game as soon as one ends, so that it can play unattended.
+            if (autopilotEnabled || Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+                restartGame();
+                game.getTelemetry().startGame(manager, autopilotEnabled);
             } else if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
                 game.setStartScreen();
                 return;
@@ -70,33 +163,99 @@ public class GameScreen extends ScreenAdapter {
         }
 
         viewport.apply();
-        renderer.setProjectionMatrix(viewport.getCamera().combined);
-        batch.setProjectionMatrix(viewport.getCamera().combined);
+        float alpha = isGameEnded() ? 1 : timestep.getAlpha();
+        Camera camera = viewport.getCamera();
+        updateView(alpha);
+        camera.position.set(viewLeft + viewport.getWorldWidth() / 2, viewBottom + viewport.getWorldHeight() / 2, 0);
+        camera.update();
+        renderer.setProjectionMatrix(camera.combined);
 
+        profiler.begin(FrameProfiler.WORLD_RENDER);
         renderer.begin(ShapeRenderer.ShapeType.Filled);
-        manager.render(renderer);
+        manager.render(renderer, alpha);
         renderer.end();
+        profiler.end(FrameProfiler.WORLD_RENDER);
 
-        uiRenderer.render(batch, renderer);
+        //The HUD is drawn in screen space, so put the camera back.
+        camera.position.set(viewport.getWorldWidth() / 2, viewport.getWorldHeight() / 2, 0);
+        camera.update();
+        batch.setProjectionMatrix(camera.combined);
 
-        renderer.begin(ShapeRenderer.ShapeType.Line);
-        drawBorders(renderer);
-        renderer.end();
+        //The HUD and the play area borders are drawn together in one batch.
+        profiler.begin(FrameProfiler.UI_RENDER);
+        batch.begin();
+        uiRenderer.draw(batch);
+        profiler.end(FrameProfiler.UI_RENDER);
+        profiler.begin(FrameProfiler.BORDERS);
+        drawBorders(batch);
+        profiler.end(FrameProfiler.BORDERS);
+        profiler.draw(batch, Constants.PROFILER_MARGIN,
+                viewport.getWorldHeight() - Constants.TOP_UI_HEIGHT - Constants.PROFILER_MARGIN);
+        profiler.begin(FrameProfiler.UI_RENDER);
+        batch.end();
+        profiler.end(FrameProfiler.UI_RENDER);
+        profiler.endFrame();
+        requestIdleIfStill();
+    }
 
+    /**
+     * Lets rendering pause while nothing on screen can change without input: after the game has
+     * ended, and while the ball waits on the paddle, until the HUD clock next ticks over or the
+     * next block respawns.  The autopilot, the profiler overlay, a key or touch held down, and a
+     * press not yet seen by the simulation all keep frames coming.
+     */
+    private void requestIdleIfStill() {
+        idle = false;
+        if (autopilotEnabled || profiler.isVisible() || input.hasPendingPress() ||
+                Gdx.input.isKeyPressed(Input.Keys.ANY_KEY) || Gdx.input.isTouched()) return;
+        RenderThrottle throttle = game.getRenderThrottle();
+        if (isGameEnded()) {
+            throttle.requestIdle(RenderThrottle.NO_WAKE);
+            idle = true;
+        } else if (manager.state == GameManager.GameState.READY) {
+            float untilClockTick = 1 - (manager.gameTime - (int) manager.gameTime);
+            //Wake a tick late, so that the change has happened by the time the frame is drawn.
+            throttle.requestIdle(Math.min(untilClockTick, manager.getTimeUntilBlockSpawn()) +
+                    timestep.getTickDuration());
+            idle = true;
+        }
     }
 
     /**
-     * Draws white lines to indicate play area.
-     * @param renderer  ShapeRenderer used to draw lines.
+     * Scrolls the view to keep the ball centered, without showing anything outside the stage.  A
+     * standard stage exactly fills the view, so it never scrolls.  The visible area is passed on
+     * to the GameManager so that it only draws the blocks in view.
+     * @param alpha  Fraction of a tick elapsed since the current simulation tick.
      */
-    public void drawBorders(ShapeRenderer renderer) {
-        renderer.setColor(Color.WHITE);
-        float stageWidth = viewport.getWorldWidth();
-        float stageHeight = viewport.getWorldHeight() - Constants.TOP_UI_HEIGHT;
-        renderer.line(1, 0, 1, stageHeight);
-        renderer.line(0, 1, stageWidth, 1);
-        renderer.line(stageWidth, 0, stageWidth, stageHeight);
-        renderer.line(0, stageHeight, stageWidth, stageHeight);
+    private void updateView(float alpha) {
+        float viewWidth = viewport.getWorldWidth();
+        float viewHeight = viewport.getWorldHeight() - Constants.TOP_UI_HEIGHT;
+        Ball ball = manager.getBall();
+        viewLeft = MathUtils.clamp(ball.getRenderX(alpha) - viewWidth / 2, 0,
+                Math.max(manager.getStageWidth() - viewWidth, 0));
+        viewBottom = MathUtils.clamp(ball.getRenderY(alpha) - viewHeight / 2, 0,
+                Math.max(manager.getStageHeight() - viewHeight, 0));
+        manager.setViewArea(viewLeft, viewBottom, viewWidth, viewHeight);
+    }
+
+    /**
+     * Draws white lines to indicate play area.  Lines are one unit wide rectangles centered on the
+     * play area edges, drawn through the UiRenderer so they share its batch.  Edges of a large
+     * stage are offset by the scroll position.
+     * @param batch  SpriteBatch used to draw lines.
+     */
+    public void drawBorders(SpriteBatch batch) {
+        float left = -viewLeft;
+        float bottom = -viewBottom;
+        float stageWidth = manager.getStageWidth();
+        float stageHeight = manager.getStageHeight();
+        float half = Constants.BORDER_LINE_WIDTH / 2;
+        uiRenderer.drawRect(batch, left + 1 - half, bottom, Constants.BORDER_LINE_WIDTH, stageHeight, Color.WHITE);
+        uiRenderer.drawRect(batch, left, bottom + 1 - half, stageWidth, Constants.BORDER_LINE_WIDTH, Color.WHITE);
+        uiRenderer.drawRect(batch, left + stageWidth - half, bottom, Constants.BORDER_LINE_WIDTH, stageHeight,
+                Color.WHITE);
+        uiRenderer.drawRect(batch, left, bottom + stageHeight - half, stageWidth, Constants.BORDER_LINE_WIDTH,
+                Color.WHITE);
     }
 
     @Override
@@ -104,24 +263,176 @@ public class GameScreen extends ScreenAdapter {
         viewport.update(width, height, true);
     }
 
+    /**
+     * Steps the game back REWIND_TICKS_PER_FRAME ticks, no further than the oldest tick held, and
+     * drops the input recorded since then so that the game's replay stays in step with it.
+     */
+    private void rewind() {
+        if (rewind.size() == 0) return;
+        int tick = Math.max(rewind.getNewestTick() - Constants.REWIND_TICKS_PER_FRAME, rewind.getOldestTick());
+        if (rewind.restore(manager, tick)) {
+            recorder.getReplay().truncate(tick);
+            autopilot.reset(recorder.getReplay().getSeed());
+            timestep.reset();
+            game.getTelemetry().rewound();
+        }
+    }
+
+    /**
+     * Saves a game in progress to local storage, so that it can be resumed if the app is closed
+     * while in the background.
+     */
+    @Override
+    public void pause() {
+        if (viewport == null || isGameEnded() || !Gdx.files.isLocalStorageAvailable()) return;
+        if (suspended == null) suspended = new GameSnapshot();
+        manager.save(suspended);
+        Gdx.files.local(Constants.SUSPENDED_REPLAY_FILE).writeBytes(recorder.getReplay().toBytes(), false);
+        Gdx.files.local(Constants.SUSPENDED_GAME_FILE).writeBytes(suspended.toBytes(), false);
+        savedSuspended = true;
+    }
+
+    /**
+     * The game is still in memory, so the copy saved by pause() is not needed.
+     */
+    @Override
+    public void resume() {
+        if (savedSuspended) deleteSuspendedGame();
+    }
+
+    /**
+     * Resumes the game saved by pause(), if it was played on this screen's difficulty and board
+     * size, and deletes it.  The saved recording is resumed too, so the game can still be replayed.
+     */
+    private void resumeSuspendedGame() {
+        if (!Gdx.files.isLocalStorageAvailable()) return;
+        FileHandle replayFile = Gdx.files.local(Constants.SUSPENDED_REPLAY_FILE);
+        FileHandle gameFile = Gdx.files.local(Constants.SUSPENDED_GAME_FILE);
+        if (!replayFile.exists() || !gameFile.exists()) return;
+        try {
+            Replay replay = Replay.fromBytes(replayFile.readBytes());
+            GameSnapshot snapshot = GameSnapshot.fromBytes(gameFile.readBytes());
+            //A game saved on another screen is left for that screen to resume.
+            if (replay.difficulty != difficulty || snapshot.getNumRows() != manager.getNumRows() ||
+                    snapshot.getNumColumns() != manager.getNumColumns()) return;
+            recorder.start(replay);
+            manager.restore(snapshot);
+            autopilot.reset(replay.getSeed());
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("GameScreen", "Could not resume suspended game", e);
+        }
+        deleteSuspendedGame();
+    }
+
+    private void deleteSuspendedGame() {
+        Gdx.files.local(Constants.SUSPENDED_REPLAY_FILE).delete();
+        Gdx.files.local(Constants.SUSPENDED_GAME_FILE).delete();
+        savedSuspended = false;
+    }
+
+    /**
+     * Starts a new game in place, so that the screen is ready the next time it is shown.  A game
+     * left unfinished is recorded as ended in its current state.
+     */
     @Override
     public void hide() {
-        renderer.dispose();
-        batch.dispose();
+        setProfilerVisible(false);
+        game.getTelemetry().endGame();
+        restartGame();
+    }
+
+    /**
+     * Frees the screen.  The app is exiting rather than being suspended, since pause() is also
+     * called on the way out, so a game saved by pause() is deleted rather than revived on the next
+     * launch.
+     */
+    @Override
+    public void dispose() {
+        if (viewport == null) return;
+        if (savedSuspended) deleteSuspendedGame();
+        manager.dispose();
+        uiRenderer.dispose();
+        ResourceCache resources = game.getResources();
+        resources.release(whitePixel);
+        resources.release(font);
+        resources.release(largeFont);
+        resources.release(renderer);
+        resources.release(batch);
+        viewport = null;
     }
 
     /**
      * Initializes the game with a given difficulty by creating and initializing the
-     * GameManager.
+     * GameManager.  A large board has LARGE_BOARD_ROWS by LARGE_BOARD_COLUMNS blocks above an open
+     * area for the paddle; otherwise the board fits the screen.
      * @param  difficulty  Desired difficulty level.
      */
     public void initGame(GameManager.Difficulty difficulty) {
-        manager = new GameManager(
+        if (manager != null) manager.dispose();
+        float stageWidth = viewport.getWorldWidth();
+        float stageHeight = viewport.getWorldHeight() - Constants.TOP_UI_HEIGHT;
+        int numRows = GameManager.getStandardRows(stageHeight);
+        int numColumns = GameManager.getStandardColumns(stageWidth);
+        if (largeBoard) {
+            numRows = Constants.LARGE_BOARD_ROWS;
+            numColumns = Constants.LARGE_BOARD_COLUMNS;
+            stageWidth = numColumns * Constants.BLOCK_WIDTH;
+            stageHeight = numRows * Constants.BLOCK_HEIGHT + Constants.LARGE_BOARD_OPEN_HEIGHT;
+        }
+        //Every game is recorded so that it can be replayed exactly.
+        Replay replay = new Replay(
                 difficulty,
-                viewport.getWorldWidth(),
-                viewport.getWorldHeight() - Constants.TOP_UI_HEIGHT
+                stageWidth,
+                stageHeight,
+                numRows,
+                numColumns,
+                Constants.SIMULATION_TICK_RATE,
+                MathUtils.random.nextLong()
         );
+        recorder.start(replay);
+        manager = replay.createManager();
+        manager.setInputProvider(recorder);
         manager.init();
+        autopilot = new Autopilot(manager, replay.getSeed());
+        autopilotPlayed = autopilotEnabled;
+        timestep.reset();
+    }
+
+    /**
+     * Hands the paddle to the Autopilot, or back to the keyboard.  Input is recorded either way,
+     * into the same recording, so that games played by the autopilot can be replayed.  Must be
+     * called after prepare().
+     * @param enabled  True to let the autopilot play.
+     */
+    public void setAutopilot(boolean enabled) {
+        if (enabled == autopilotEnabled) return;
+        autopilotEnabled = enabled;
+        if (enabled) autopilotPlayed = true;
+        recorder.setSource(enabled ? autopilot : input);
+    }
+
+    /**
+     * Shows or hides the frame profiler overlay, as F3 does.  Must be called after prepare().
+     * @param visible  True to show the overlay.
+     */
+    public void setProfilerVisible(boolean visible) {
+        if (visible != profiler.isVisible()) profiler.toggle();
+    }
+
+    /**
+     * Starts a new game on the same board with a new random seed.  The GameManager, its
+     * recording, and the UI labels are all reset in place rather than recreated, so restarting
+     * does not allocate.
+     */
+    public void restartGame() {
+        long seed = MathUtils.random.nextLong();
+        recorder.getReplay().restart(seed);
+        manager.init(seed);
+        autopilot.reset(seed);
+        if (rewind != null) rewind.clear();
+        autopilotPlayed = autopilotEnabled;
+        timestep.reset();
+        resetGameUi();
     }
 
     /**
@@ -130,10 +441,13 @@ public class GameScreen extends ScreenAdapter {
     public void initUi() {
         initStyles();
         initGameUi();
+        profiler = new FrameProfiler(uiRenderer, uiRenderer.getLabelStyle(Constants.SIMPLE_UI_STYLE),
+                Constants.PROFILER_FRAME_COUNT);
     }
 
     /**
-     * Creates in-game HUD.  Initialize iuRenderer through initStyles() first.
+     * Creates in-game HUD and the hidden end-game labels.  Initialize iuRenderer through
+     * initStyles() first.
      */
     public void initGameUi() {
         uiRenderer.clear();
@@ -195,90 +509,178 @@ public class GameScreen extends ScreenAdapter {
                 labelStyle
         ));
         timeLabelIndex = 5;
+        initEndUi();
+        resetGameUi();
     }
 
     /**
-     * Displays Game Over! or You Win! & other end-game labels.
+     * Creates the Game Over! or You Win! & other end-game labels, hidden until showEndUi().
      */
     public void initEndUi() {
         Label.LabelStyle labelStyle = uiRenderer.getLabelStyle(Constants.SIMPLE_UI_STYLE);
         float worldWidth = viewport.getWorldWidth();
         float worldHeight = viewport.getWorldHeight();
-        //Game Over / You Win! text label:
+        //Game Over / You Win! text label, filled in by showEndUi():
         uiRenderer.addLabel(new Label(
                 worldWidth / 2 - Constants.LARGE_LABEL_WIDTH / 2,
                 worldHeight / 2,
                 Constants.LARGE_LABEL_WIDTH,
                 Constants.LARGE_LABEL_HEIGHT,
-                ((manager.state == GameManager.GameState.WIN) ? Constants.WIN_LABEL_TEXT : Constants.GAME_OVER_LABEL_TEXT),
+                Constants.GAME_OVER_LABEL_TEXT,
                 uiRenderer.getLabelStyle(Constants.END_GAME_UI_STYLE)
         ));
-        //Score display label:
+        endLabelIndex = 6;
+        //Score display label, filled in by showEndUi():
         uiRenderer.addLabel(new Label(
                 worldWidth / 2 - Constants.NORMAL_LABEL_WIDTH / 2,
                 worldHeight / 2 - Constants.NORMAL_LABEL_HEIGHT,
                 Constants.NORMAL_LABEL_WIDTH,
                 Constants.NORMAL_LABEL_HEIGHT,
-                Constants.SCORE_LABEL_TEXT + " " + manager.score,
+                "",
                 labelStyle
         ));
-        //Play again label:
+        endScoreLabelIndex = 7;
+        //Best score or new high score label, filled in by showEndUi():
         uiRenderer.addLabel(new Label(
                 worldWidth / 2 - Constants.NORMAL_LABEL_WIDTH / 2,
                 worldHeight / 2 - Constants.NORMAL_LABEL_HEIGHT * 2,
                 Constants.NORMAL_LABEL_WIDTH,
                 Constants.NORMAL_LABEL_HEIGHT,
+                "",
+                labelStyle
+        ));
+        endHighScoreLabelIndex = 8;
+        //Play again label:
+        uiRenderer.addLabel(new Label(
+                worldWidth / 2 - Constants.NORMAL_LABEL_WIDTH / 2,
+                worldHeight / 2 - Constants.NORMAL_LABEL_HEIGHT * 3,
+                Constants.NORMAL_LABEL_WIDTH,
+                Constants.NORMAL_LABEL_HEIGHT,
                 Constants.PLAY_AGAIN_TEXT,
                 labelStyle
         ));
         //Return to title label:
         uiRenderer.addLabel(new Label(
                 worldWidth / 2 - Constants.NORMAL_LABEL_WIDTH / 2,
-                worldHeight / 2 - Constants.NORMAL_LABEL_HEIGHT * 3,
+                worldHeight / 2 - Constants.NORMAL_LABEL_HEIGHT * 4,
                 Constants.NORMAL_LABEL_WIDTH,
                 Constants.NORMAL_LABEL_HEIGHT,
                 Constants.RETURN_TO_TITLE_TEXT,
                 labelStyle
         ));
+        endLabelCount = 5;
+    }
+
+    /**
+     * Hides the end-game labels and forces the HUD numbers to be filled in on the next call to
+     * updateUi().
+     */
+    public void resetGameUi() {
+        for (int i = endLabelIndex; i < endLabelIndex + endLabelCount; i++) {
+            uiRenderer.setLabelVisible(i, false);
+        }
+        displayedScore = Integer.MIN_VALUE;
+        displayedLives = Integer.MIN_VALUE;
+        displayedTime = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Displays Game Over! or You Win! & other end-game labels.
+     */
+    public void showEndUi() {
+        uiRenderer.setLabelText(endLabelIndex,
+                manager.state == GameManager.GameState.WIN ? Constants.WIN_LABEL_TEXT : Constants.GAME_OVER_LABEL_TEXT);
+        uiRenderer.setLabelText(endScoreLabelIndex, Constants.SCORE_LABEL_TEXT + " ", manager.score);
+        if (highScoreRank == 0) {
+            uiRenderer.setLabelText(endHighScoreLabelIndex, Constants.NEW_HIGH_SCORE_TEXT);
+        } else {
+            uiRenderer.setLabelText(endHighScoreLabelIndex, Constants.HIGH_SCORE_LABEL_TEXT + " ",
+                    game.getHighScores().getBest(difficulty));
+        }
+        for (int i = endLabelIndex; i < endLabelIndex + endLabelCount; i++) {
+            uiRenderer.setLabelVisible(i, true);
+        }
     }
 
     /**
      * Initializes the LabelStyles for UI labels and puts them into the UiRenderer.
      */
     public void initStyles() {
-        BitmapFont font = new BitmapFont();
-        font.getData().setScale(Constants.NORMAL_TEXT_FONT_SCALE);
-        font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        font = game.getResources().acquireFont(Constants.NORMAL_FONT);
         Label.LabelStyle labelStyle = new Label.LabelStyle(font);
         //Uncomment the line below for red debug lines on labels.
         //labelStyle.setBorder(1, Color.RED);
         uiRenderer.putLabelStyle(Constants.SIMPLE_UI_STYLE, labelStyle);
-        font = new BitmapFont();
-        font.getData().setScale(Constants.LARGE_TEXT_FONT_SCALE);
-        font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        labelStyle = new Label.LabelStyle(font);
+        largeFont = game.getResources().acquireFont(Constants.LARGE_FONT);
+        labelStyle = new Label.LabelStyle(largeFont);
         labelStyle.setBorder(2, Color.WHITE);
         uiRenderer.putLabelStyle(Constants.END_GAME_UI_STYLE, labelStyle);
     }
 
     /**
-     * Updates the in-game HUD labels for score, lives, and time.  Called every frame.
+     * Updates the in-game HUD labels for score, lives, and time.  Called every frame, but only
+     * touches labels whose values have changed.
      * @param  score  Score to be displayed.
      * @param  lives  Life count to be displayed.
      * @param  time   Time value to be displayed.
      */
     public void updateUi(int score, int lives, int time) {
-        uiRenderer.setLabelText(scoreLabelIndex, score + "");
-        uiRenderer.setLabelText(livesLabelIndex, lives + "");
-        uiRenderer.setLabelText(timeLabelIndex, time + "");
+        if (score != displayedScore) {
+            uiRenderer.setLabelText(scoreLabelIndex, score);
+            displayedScore = score;
+        }
+        if (lives != displayedLives) {
+            uiRenderer.setLabelText(livesLabelIndex, lives);
+            displayedLives = lives;
+        }
+        if (time != displayedTime) {
+            uiRenderer.setLabelText(timeLabelIndex, time);
+            displayedTime = time;
+        }
     }
 
     /**
-     * Checks to see if the game is over and, if so, initializes the end-game UI.
+     * Checks to see if the game is over and, if so, records its score and outcome and shows the
+     * end-game UI.
      */
     public void checkForGameEnd() {
-        if (manager.state == GameManager.GameState.WIN || manager.state == GameManager.GameState.GAME_OVER) {
-            initEndUi();
+        if (isGameEnded()) {
+            game.getTelemetry().endGame();
+            recordHighScore();
+            showEndUi();
+            saveReplay();
         }
     }
+
+    /**
+     * Submits the finished game's score, which already includes its win bonus or game over
+     * penalty, to the high scores.  Games on large boards, whose scores are not comparable, and
+     * games the autopilot played are not recorded.
+     */
+    public void recordHighScore() {
+        highScoreRank = -1;
+        if (largeBoard || autopilotPlayed) return;
+        highScoreRank = game.getHighScores().submit(difficulty, manager.score, manager.gameTime,
+                manager.state == GameManager.GameState.WIN);
+    }
+
+    /**
+     * Records the outcome of the finished game in its replay and saves the replay to local
+     * storage, where the platform has it.
+     */
+    public void saveReplay() {
+        Replay replay = recorder.getReplay();
+        replay.finish(manager);
+        if (Gdx.files.isLocalStorageAvailable()) {
+            Gdx.files.local(Constants.REPLAY_FILE).writeBytes(replay.toBytes(), false);
+        }
+    }
+
+    /**
+     * Tests whether the game has been won or lost.
+     * @return  True if the game is in the WIN or GAME_OVER state.
+     */
+    private boolean isGameEnded() {
+        return manager.state == GameManager.GameState.WIN || manager.state == GameManager.GameState.GAME_OVER;
+    }
 }
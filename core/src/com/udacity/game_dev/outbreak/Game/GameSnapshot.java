@@ -0,0 +1,269 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * The complete state of a GameManager between ticks, captured by GameManager.save() and put back
+ * by GameManager.restore(): score, lives, timers, the random generator, the ball, paddle, and
+ * multi-ball field, and the health of every block.  Block health is packed sixteen cells to an
+ * int, two bits per cell, which holds a MAX_BLOCK_HEALTH of 3.  Only the chunks of the block grid
+ * that exist are stored, so snapshots of large boards grow with the part of the board that has
+ * been played.  Arrays are grown when a bigger state is saved and otherwise reused, so saving
+ * into the same snapshot again does not allocate.
+ *
+ * Input providers keep their own state and are not included.
+ */
+public class GameSnapshot {
+
+    //"OBSS"
+    private static final int MAGIC = 0x4F425353;
+    private static final int VERSION = 1;
+    static final int CELLS_PER_WORD = 16;
+    static final int BITS_PER_CELL = 2;
+    static final int CELL_MASK = (1 << BITS_PER_CELL) - 1;
+    static final int FIELD_VALUES = 7;
+    static final int WORDS_PER_CHUNK = Constants.BLOCK_CHUNK_SIZE * Constants.BLOCK_CHUNK_SIZE / CELLS_PER_WORD;
+
+    int numRows;
+    int numColumns;
+    int state;
+    int lives;
+    int score;
+    float gameTime;
+    float timeSinceBlockSpawn;
+    float spawnRate;
+    float ballSpeed;
+    long randomState0;
+    long randomState1;
+
+    float ballX;
+    float ballY;
+    float ballPreviousX;
+    float ballPreviousY;
+    float ballMotionX;
+    float ballMotionY;
+    boolean ballVisible;
+    float paddleX;
+    float paddleY;
+    float paddlePreviousX;
+    float paddlePreviousY;
+
+    int multiBallCount;
+    //Capacity of the BallField, or 0 if there is none; then its slot arrays, and the position,
+    //velocity, radius and previous position of each slot, FIELD_VALUES floats per slot.
+    int fieldCapacity;
+    int liveCount;
+    int freeCount;
+    int[] live = new int[0];
+    int[] freeSlots = new int[0];
+    float[] fieldBalls = new float[0];
+
+    //Created chunks of the block grid: their keys, destroyed block counts, and packed health.
+    int remainingBlocks;
+    int chunkCount;
+    int[] chunkKeys = new int[0];
+    int[] chunkDestroyed = new int[0];
+    int[] packedHealth = new int[0];
+
+    /**
+     * Makes sure the BallField arrays can hold a field of a given capacity.
+     * @param capacity  BallField capacity.
+     */
+    void ensureFieldCapacity(int capacity) {
+        if (live.length < capacity) {
+            live = new int[capacity];
+            freeSlots = new int[capacity];
+            fieldBalls = new float[capacity * FIELD_VALUES];
+        }
+    }
+
+    /**
+     * Makes sure the block arrays can hold a number of chunks.
+     * @param chunks  Number of chunks.
+     */
+    void ensureChunkCapacity(int chunks) {
+        if (chunkKeys.length < chunks) {
+            int capacity = Math.max(chunks, chunkKeys.length * 2);
+            chunkKeys = new int[capacity];
+            chunkDestroyed = new int[capacity];
+            packedHealth = new int[capacity * WORDS_PER_CHUNK];
+        }
+    }
+
+    /**
+     * Gets the number of rows of blocks on the board the snapshot was taken of.
+     * @return  Row count.
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Gets the number of columns of blocks on the board the snapshot was taken of.
+     * @return  Column count.
+     */
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    /**
+     * Encodes the snapshot for storage.
+     * @return  Encoded bytes.
+     */
+    public byte[] toBytes() {
+        int words = chunkCount * WORDS_PER_CHUNK;
+        ByteArray out = new ByteArray(128 + fieldCapacity * (FIELD_VALUES + 2) * 4 + chunkCount * 8 + words * 4);
+        writeInt(out, MAGIC);
+        writeInt(out, VERSION);
+        writeInt(out, numRows);
+        writeInt(out, numColumns);
+        writeInt(out, state);
+        writeInt(out, lives);
+        writeInt(out, score);
+        writeFloat(out, gameTime);
+        writeFloat(out, timeSinceBlockSpawn);
+        writeFloat(out, spawnRate);
+        writeFloat(out, ballSpeed);
+        writeLong(out, randomState0);
+        writeLong(out, randomState1);
+        writeFloat(out, ballX);
+        writeFloat(out, ballY);
+        writeFloat(out, ballPreviousX);
+        writeFloat(out, ballPreviousY);
+        writeFloat(out, ballMotionX);
+        writeFloat(out, ballMotionY);
+        writeInt(out, ballVisible ? 1 : 0);
+        writeFloat(out, paddleX);
+        writeFloat(out, paddleY);
+        writeFloat(out, paddlePreviousX);
+        writeFloat(out, paddlePreviousY);
+        writeInt(out, multiBallCount);
+        writeInt(out, fieldCapacity);
+        writeInt(out, liveCount);
+        writeInt(out, freeCount);
+        for (int i = 0; i < fieldCapacity; i++) {
+            writeInt(out, live[i]);
+            writeInt(out, freeSlots[i]);
+        }
+        for (int i = 0; i < fieldCapacity * FIELD_VALUES; i++) {
+            writeFloat(out, fieldBalls[i]);
+        }
+        writeInt(out, remainingBlocks);
+        writeInt(out, chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            writeInt(out, chunkKeys[i]);
+            writeInt(out, chunkDestroyed[i]);
+        }
+        for (int i = 0; i < words; i++) {
+            writeInt(out, packedHealth[i]);
+        }
+        return out.toArray();
+    }
+
+    /**
+     * Decodes a snapshot written by toBytes().
+     * @param bytes  Encoded bytes.
+     * @return  Decoded snapshot.
+     */
+    public static GameSnapshot fromBytes(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a game snapshot");
+        int version = in.readInt();
+        if (version != VERSION) throw new GdxRuntimeException("Unsupported game snapshot version " + version);
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.numRows = in.readInt();
+        snapshot.numColumns = in.readInt();
+        snapshot.state = in.readInt();
+        snapshot.lives = in.readInt();
+        snapshot.score = in.readInt();
+        snapshot.gameTime = in.readFloat();
+        snapshot.timeSinceBlockSpawn = in.readFloat();
+        snapshot.spawnRate = in.readFloat();
+        snapshot.ballSpeed = in.readFloat();
+        snapshot.randomState0 = in.readLong();
+        snapshot.randomState1 = in.readLong();
+        snapshot.ballX = in.readFloat();
+        snapshot.ballY = in.readFloat();
+        snapshot.ballPreviousX = in.readFloat();
+        snapshot.ballPreviousY = in.readFloat();
+        snapshot.ballMotionX = in.readFloat();
+        snapshot.ballMotionY = in.readFloat();
+        snapshot.ballVisible = in.readInt() != 0;
+        snapshot.paddleX = in.readFloat();
+        snapshot.paddleY = in.readFloat();
+        snapshot.paddlePreviousX = in.readFloat();
+        snapshot.paddlePreviousY = in.readFloat();
+        snapshot.multiBallCount = in.readInt();
+        snapshot.fieldCapacity = in.readInt();
+        snapshot.liveCount = in.readInt();
+        snapshot.freeCount = in.readInt();
+        snapshot.ensureFieldCapacity(snapshot.fieldCapacity);
+        for (int i = 0; i < snapshot.fieldCapacity; i++) {
+            snapshot.live[i] = in.readInt();
+            snapshot.freeSlots[i] = in.readInt();
+        }
+        for (int i = 0; i < snapshot.fieldCapacity * FIELD_VALUES; i++) {
+            snapshot.fieldBalls[i] = in.readFloat();
+        }
+        snapshot.remainingBlocks = in.readInt();
+        snapshot.chunkCount = in.readInt();
+        int words = snapshot.chunkCount * WORDS_PER_CHUNK;
+        snapshot.ensureChunkCapacity(snapshot.chunkCount);
+        for (int i = 0; i < snapshot.chunkCount; i++) {
+            snapshot.chunkKeys[i] = in.readInt();
+            snapshot.chunkDestroyed[i] = in.readInt();
+        }
+        for (int i = 0; i < words; i++) {
+            snapshot.packedHealth[i] = in.readInt();
+        }
+        return snapshot;
+    }
+
+    private static void writeInt(ByteArray out, int value) {
+        out.add((byte) (value >>> 24));
+        out.add((byte) (value >>> 16));
+        out.add((byte) (value >>> 8));
+        out.add((byte) value);
+    }
+
+    private static void writeFloat(ByteArray out, float value) {
+        writeInt(out, NumberUtils.floatToIntBits(value));
+    }
+
+    private static void writeLong(ByteArray out, long value) {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    /**
+     * Reads values from encoded snapshot bytes in order.
+     */
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readInt() {
+            if (position + 4 > bytes.length) throw new GdxRuntimeException("Game snapshot is truncated");
+            int value = (bytes[position] & 0xFF) << 24 | (bytes[position + 1] & 0xFF) << 16 |
+                    (bytes[position + 2] & 0xFF) << 8 | bytes[position + 3] & 0xFF;
+            position += 4;
+            return value;
+        }
+
+        float readFloat() {
+            return NumberUtils.intBitsToFloat(readInt());
+        }
+
+        long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+    }
+}
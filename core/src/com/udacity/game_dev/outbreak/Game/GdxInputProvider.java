@@ -0,0 +1,54 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * InputProvider backed by the keyboard through Gdx.input.  The arrow keys move the paddle, space
+ * launches the ball, and M toggles multi-ball mode.
+ */
+public class GdxInputProvider implements InputProvider {
+
+    private boolean launchPressed;
+    private boolean multiBallPressed;
+    private boolean enabled = true;
+
+    /**
+     * Samples key presses for the current frame.  Called once per rendered frame, since a frame
+     * may run zero or several simulation ticks and a key press must not be missed or repeated.
+     */
+    public void update() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) launchPressed = true;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.M)) multiBallPressed = true;
+    }
+
+    /**
+     * Sets whether polling reports the keyboard.  While disabled, poll() reports no buttons and
+     * presses are kept for the first poll after it is enabled again.
+     * @param enabled  False to report no buttons.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Tests whether a launch or multi-ball press has been sampled but not yet polled.
+     * @return  True if a press is waiting.
+     */
+    public boolean hasPendingPress() {
+        return launchPressed || multiBallPressed;
+    }
+
+    @Override
+    public int poll() {
+        if (!enabled) return 0;
+        int buttons = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) buttons |= LEFT;
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) buttons |= RIGHT;
+        if (launchPressed) buttons |= LAUNCH;
+        if (multiBallPressed) buttons |= MULTI_BALL;
+        launchPressed = false;
+        multiBallPressed = false;
+        return buttons;
+    }
+}
@@ -0,0 +1,443 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.Gdx;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * HighScoreStore that keeps every game ever submitted in an append-only log file, so scores
+ * survive between runs.  All file access happens on a background writer thread: submit() puts the
+ * score straight into the in-memory table and queues it, so the render thread never waits on the
+ * disk.  The writer appends whatever is queued in one write and syncs it before taking more.
+ *
+ * The log is a header followed by fixed-size records, each ending in a CRC32 of the rest.  On
+ * opening, the log is read from the end of the part covered by the index file, and at the first
+ * record that is incomplete or fails its checksum, which is what a crash partway through a write
+ * leaves, the log is truncated back to the last good record.  The index holds the best scores and
+ * run counts as of a point in the log, so opening reads at most HIGH_SCORE_INDEX_INTERVAL records
+ * however long the log has grown.  It is written to a temporary file and renamed over the old one,
+ * and if it is missing, damaged, or covers more of the log than survived, the whole log is read.
+ * Until the writer has finished opening the log, the table holds only this run's scores.
+ *
+ * Uses threads and java.io, so it is excluded from the GWT build; see OutbreakGame.gwt.xml.
+ */
+public class HighScoreLog extends HighScoreStore {
+
+    //"OBHS" and "OBHI"
+    private static final int LOG_MAGIC = 0x4F424853;
+    private static final int INDEX_MAGIC = 0x4F424849;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    //Difficulty, flags, two unused bytes, score, game time, date, checksum.
+    private static final int RECORD_SIZE = 24;
+    private static final int CHECKED_SIZE = RECORD_SIZE - 4;
+    private static final int WON_FLAG = 1;
+    private static final int READ_BUFFER_RECORDS = 4096;
+    //Queued to tell the writer to finish.
+    private static final Run CLOSE = new Run();
+
+    private final File logFile;
+    private final File indexFile;
+    private final LinkedBlockingQueue<Run> queue;
+    private final Thread writer;
+
+    //Used only by the writer thread.
+    private final HighScoreTable written;
+    private final ArrayList<Run> batch;
+    private final CRC32 crc;
+    private byte[] buffer;
+    private RandomAccessFile log;
+    private long logLength;
+    private int unindexed;
+
+    //Handed from the writer thread to the render thread.
+    private volatile HighScoreTable loaded;
+    private volatile IOException failure;
+    private volatile long discardedBytes;
+    private boolean merged;
+    private boolean failureReported;
+
+    /**
+     * Starts the writer thread, which opens the log straight away.
+     * @param  logFile  Log file, created along with its directory if it does not exist.
+     * @param  indexFile  Index file.
+     */
+    public HighScoreLog(File logFile, File indexFile) {
+        this.logFile = logFile;
+        this.indexFile = indexFile;
+        queue = new LinkedBlockingQueue<Run>();
+        HighScoreTable table = super.getTable();
+        written = new HighScoreTable(table.getDifficulties(), table.getSize());
+        batch = new ArrayList<Run>();
+        crc = new CRC32();
+        buffer = new byte[RECORD_SIZE * READ_BUFFER_RECORDS];
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        }, "HighScoreLog");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    protected void store(int difficulty, int score, float gameTime, boolean won, long date) {
+        Run run = new Run();
+        run.difficulty = difficulty;
+        run.score = score;
+        run.gameTime = gameTime;
+        run.won = won;
+        run.date = date;
+        queue.offer(run);
+    }
+
+    /**
+     * Gets the table of kept scores, first adding the scores read from the log if the writer has
+     * finished opening it since the last call.
+     * @return  Score table, indexed by difficulty ordinal.
+     */
+    @Override
+    public HighScoreTable getTable() {
+        HighScoreTable table = super.getTable();
+        if (!merged && loaded != null) {
+            table.merge(loaded);
+            merged = true;
+        }
+        if (failure != null && !failureReported && Gdx.app != null) {
+            Gdx.app.error("HighScoreLog", "High scores will not be saved", failure);
+            failureReported = true;
+        }
+        return table;
+    }
+
+    /**
+     * Tests whether the writer has finished opening the log, successfully or not.
+     * @return  True once the scores in the log have been read.
+     */
+    public boolean isLoaded() {
+        return loaded != null;
+    }
+
+    /**
+     * Gets the number of bytes cut from the end of the log when it was opened.
+     * @return  Bytes discarded, 0 if the log was intact.
+     */
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    /**
+     * Gets the error that stopped the log being read or written.
+     * @return  Error, or null if there has been none.
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Waits for every queued score to be written and the index to be brought up to date, for at
+     * most HIGH_SCORE_CLOSE_TIMEOUT.
+     */
+    @Override
+    public void dispose() {
+        queue.offer(CLOSE);
+        try {
+            writer.join(Constants.HIGH_SCORE_CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Body of the writer thread: opens the log, then appends queued scores until closed.
+     */
+    private void write() {
+        try {
+            open();
+        } catch (IOException e) {
+            fail(e);
+        }
+        HighScoreTable copy = new HighScoreTable(written.getDifficulties(), written.getSize());
+        copy.set(written);
+        loaded = copy;
+        boolean closed = false;
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch);
+            closed = append();
+            batch.clear();
+        }
+        try {
+            if (log != null) {
+                if (unindexed > 0) writeIndex();
+                log.close();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Opens the log, reads the index and every record after it, and truncates any torn record.
+     * @throws IOException  If the log cannot be opened or is not a high score log.
+     */
+    private void open() throws IOException {
+        File directory = logFile.getAbsoluteFile().getParentFile();
+        if (directory != null) directory.mkdirs();
+        log = new RandomAccessFile(logFile, "rw");
+        long length = log.length();
+        if (length < HEADER_SIZE) {
+            //New, or torn before its header was complete.
+            log.setLength(0);
+            log.writeInt(LOG_MAGIC);
+            log.writeInt(VERSION);
+            log.getFD().sync();
+            length = HEADER_SIZE;
+        } else {
+            log.seek(0);
+            if (log.readInt() != LOG_MAGIC) throw new IOException(logFile + " is not a high score log");
+            int version = log.readInt();
+            if (version != VERSION) throw new IOException("Unsupported high score log version " + version);
+        }
+        long start = readIndex(length);
+        if (start < 0) {
+            written.clear();
+            start = HEADER_SIZE;
+        }
+        logLength = scan(start, length);
+        if (logLength < length) {
+            discardedBytes = length - logLength;
+            log.setLength(logLength);
+            log.getFD().sync();
+        }
+        if (unindexed >= Constants.HIGH_SCORE_INDEX_INTERVAL) writeIndex();
+    }
+
+    /**
+     * Reads records into the table from a point in the log up to the first bad one.
+     * @param  start  Offset of the first record.
+     * @param  length  Length of the log.
+     * @return  Offset of the end of the last good record.
+     * @throws IOException  If the log cannot be read.
+     */
+    private long scan(long start, long length) throws IOException {
+        long position = start;
+        log.seek(start);
+        while (position + RECORD_SIZE <= length) {
+            int records = (int) Math.min((length - position) / RECORD_SIZE, READ_BUFFER_RECORDS);
+            log.readFully(buffer, 0, records * RECORD_SIZE);
+            for (int i = 0; i < records; i++) {
+                if (!readRecord(i * RECORD_SIZE)) return position;
+                position += RECORD_SIZE;
+                unindexed++;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Checks a record in the buffer and puts it into the table.
+     * @param  offset  Offset of the record in the buffer.
+     * @return  False if the record fails its checksum or is out of range.
+     */
+    private boolean readRecord(int offset) {
+        crc.reset();
+        crc.update(buffer, offset, CHECKED_SIZE);
+        if ((int) crc.getValue() != getInt(buffer, offset + CHECKED_SIZE)) return false;
+        int difficulty = buffer[offset];
+        if (difficulty < 0 || difficulty >= written.getDifficulties()) return false;
+        written.insert(difficulty, getInt(buffer, offset + 4), Float.intBitsToFloat(getInt(buffer, offset + 8)),
+                getLong(buffer, offset + 12));
+        return true;
+    }
+
+    /**
+     * Appends the batch to the log and syncs it.  Nothing is written once the log has failed.
+     * @return  True if the batch includes CLOSE.
+     */
+    private boolean append() {
+        int size = batch.size();
+        if (buffer.length < size * RECORD_SIZE) buffer = new byte[size * RECORD_SIZE];
+        int records = 0;
+        boolean closed = false;
+        for (int i = 0; i < size; i++) {
+            Run run = batch.get(i);
+            if (run == CLOSE) {
+                closed = true;
+                continue;
+            }
+            writeRecord(records * RECORD_SIZE, run);
+            written.insert(run.difficulty, run.score, run.gameTime, run.date);
+            records++;
+        }
+        if (records == 0 || log == null) return closed;
+        try {
+            log.seek(logLength);
+            log.write(buffer, 0, records * RECORD_SIZE);
+            log.getFD().sync();
+            logLength += records * RECORD_SIZE;
+            unindexed += records;
+            if (unindexed >= Constants.HIGH_SCORE_INDEX_INTERVAL) writeIndex();
+        } catch (IOException e) {
+            fail(e);
+        }
+        return closed;
+    }
+
+    private void writeRecord(int offset, Run run) {
+        buffer[offset] = (byte) run.difficulty;
+        buffer[offset + 1] = (byte) (run.won ? WON_FLAG : 0);
+        buffer[offset + 2] = 0;
+        buffer[offset + 3] = 0;
+        putInt(buffer, offset + 4, run.score);
+        putInt(buffer, offset + 8, Float.floatToIntBits(run.gameTime));
+        putLong(buffer, offset + 12, run.date);
+        crc.reset();
+        crc.update(buffer, offset, CHECKED_SIZE);
+        putInt(buffer, offset + CHECKED_SIZE, (int) crc.getValue());
+    }
+
+    /**
+     * Reads the index into the table, if it is intact and covers no more of the log than exists.
+     * @param  length  Length of the log.
+     * @return  Offset in the log the index covers up to, or -1 if it cannot be used.
+     */
+    private long readIndex(long length) {
+        if (!indexFile.exists()) return -1;
+        try {
+            RandomAccessFile file = new RandomAccessFile(indexFile, "r");
+            byte[] bytes;
+            try {
+                bytes = new byte[(int) file.length()];
+                file.readFully(bytes);
+            } finally {
+                file.close();
+            }
+            if (bytes.length < 24) return -1;
+            crc.reset();
+            crc.update(bytes, 0, bytes.length - 4);
+            if ((int) crc.getValue() != getInt(bytes, bytes.length - 4)) return -1;
+            if (getInt(bytes, 0) != INDEX_MAGIC || getInt(bytes, 4) != VERSION) return -1;
+            long indexed = getLong(bytes, 8);
+            if (indexed > length || (indexed - HEADER_SIZE) % RECORD_SIZE != 0) return -1;
+            if (getInt(bytes, 16) != written.getDifficulties() || getInt(bytes, 20) != written.getSize()) return -1;
+            written.clear();
+            int offset = 24;
+            for (int d = 0; d < written.getDifficulties(); d++) {
+                written.setRuns(d, getLong(bytes, offset));
+                int count = getInt(bytes, offset + 8);
+                offset += 12;
+                for (int i = 0; i < count; i++) {
+                    written.add(d, getInt(bytes, offset), Float.intBitsToFloat(getInt(bytes, offset + 4)),
+                            getLong(bytes, offset + 8));
+                    offset += 16;
+                }
+            }
+            return indexed;
+        } catch (IOException e) {
+            return -1;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Writes the table as the index of the log as it stands.
+     * @throws IOException  If the index cannot be written.
+     */
+    private void writeIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(INDEX_MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(logLength);
+        out.writeInt(written.getDifficulties());
+        out.writeInt(written.getSize());
+        for (int d = 0; d < written.getDifficulties(); d++) {
+            out.writeLong(written.getRuns(d));
+            out.writeInt(written.getCount(d));
+            for (int i = 0; i < written.getCount(d); i++) {
+                out.writeInt(written.getScore(d, i));
+                out.writeFloat(written.getTime(d, i));
+                out.writeLong(written.getDate(d, i));
+            }
+        }
+        crc.reset();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        File temporary = new File(indexFile.getPath() + ".tmp");
+        FileOutputStream file = new FileOutputStream(temporary);
+        try {
+            bytes.writeTo(file);
+            file.getFD().sync();
+        } finally {
+            file.close();
+        }
+        //Renaming over an existing file fails on some platforms.
+        if (!temporary.renameTo(indexFile) && !(indexFile.delete() && temporary.renameTo(indexFile))) {
+            throw new IOException("Could not replace " + indexFile);
+        }
+        unindexed = 0;
+    }
+
+    /**
+     * Stops writing to the log.  Scores are still kept in memory.
+     * @param  e  Error that stopped it.
+     */
+    private void fail(IOException e) {
+        if (failure == null) failure = e;
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException ignored) {
+            }
+            log = null;
+        }
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16 |
+                (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        return ((long) getInt(bytes, offset) << 32) | (getInt(bytes, offset + 4) & 0xFFFFFFFFL);
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static void putLong(byte[] bytes, int offset, long value) {
+        putInt(bytes, offset, (int) (value >>> 32));
+        putInt(bytes, offset + 4, (int) value);
+    }
+
+    /**
+     * A submitted game waiting to be written.
+     */
+    private static class Run {
+        int difficulty;
+        int score;
+        float gameTime;
+        boolean won;
+        long date;
+    }
+}
@@ -0,0 +1,70 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * Keeps the best HIGH_SCORE_TABLE_SIZE scores for each difficulty for as long as the app runs.
+ * This is what platforms without a file system get; HighScoreLog extends it to keep scores
+ * between runs.
+ */
+public class HighScoreStore implements Disposable {
+
+    private static final int DIFFICULTIES = GameManager.Difficulty.values().length;
+
+    private final HighScoreTable table;
+
+    public HighScoreStore() {
+        table = new HighScoreTable(DIFFICULTIES, Constants.HIGH_SCORE_TABLE_SIZE);
+    }
+
+    /**
+     * Records a finished game.
+     * @param  difficulty  Difficulty the game was played at.
+     * @param  score  Final score, including any win bonus or game over penalty.
+     * @param  gameTime  Game time in seconds.
+     * @param  won  True if the board was cleared.
+     * @return  Rank the score took among the kept scores for its difficulty, from 0, or -1 if it
+     *          did not make the table.
+     */
+    public int submit(GameManager.Difficulty difficulty, int score, float gameTime, boolean won) {
+        long date = TimeUtils.millis();
+        int rank = getTable().insert(difficulty.ordinal(), score, gameTime, date);
+        store(difficulty.ordinal(), score, gameTime, won, date);
+        return rank;
+    }
+
+    /**
+     * Called for every submitted game, after it has been put into the table.  Does nothing here.
+     * @param  difficulty  Difficulty ordinal.
+     * @param  score  Final score.
+     * @param  gameTime  Game time in seconds.
+     * @param  won  True if the board was cleared.
+     * @param  date  Time the game ended, in milliseconds since the epoch.
+     */
+    protected void store(int difficulty, int score, float gameTime, boolean won, long date) {
+    }
+
+    /**
+     * Gets the best score for a difficulty.
+     * @param  difficulty  Difficulty level.
+     * @return  Best score, or 0 if no game has been recorded.
+     */
+    public int getBest(GameManager.Difficulty difficulty) {
+        HighScoreTable table = getTable();
+        return table.getCount(difficulty.ordinal()) == 0 ? 0 : table.getScore(difficulty.ordinal(), 0);
+    }
+
+    /**
+     * Gets the table of kept scores.  Must be called from the render thread.
+     * @return  Score table, indexed by difficulty ordinal.
+     */
+    public HighScoreTable getTable() {
+        return table;
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
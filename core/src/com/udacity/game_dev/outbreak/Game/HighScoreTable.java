@@ -0,0 +1,168 @@
+package com.udacity.game_dev.outbreak.Game;
+
+/**
+ * The best scores for each difficulty, and the number of runs ever played at each.  Only the top
+ * scores are kept, in descending order, in flat arrays with one fixed-size section per difficulty,
+ * so inserting a run costs a comparison with the lowest kept score and, if it makes the table, a
+ * binary search and a shift of at most the table size, however many runs have been played.
+ * A score equal to one already kept ranks below it.
+ */
+public class HighScoreTable {
+
+    private final int difficulties;
+    private final int size;
+    private final int[] counts;
+    private final long[] runs;
+    private final int[] scores;
+    private final float[] times;
+    private final long[] dates;
+
+    /**
+     * @param difficulties  Number of difficulty levels.
+     * @param size  Scores kept per difficulty.
+     */
+    public HighScoreTable(int difficulties, int size) {
+        this.difficulties = difficulties;
+        this.size = size;
+        counts = new int[difficulties];
+        runs = new long[difficulties];
+        scores = new int[difficulties * size];
+        times = new float[difficulties * size];
+        dates = new long[difficulties * size];
+    }
+
+    /**
+     * Records a run.
+     * @param difficulty  Difficulty ordinal.
+     * @param score  Final score.
+     * @param time  Game time in seconds.
+     * @param date  Time the run ended, in milliseconds since the epoch.
+     * @return  Rank the score took in the table, from 0, or -1 if it did not make the table.
+     */
+    public int insert(int difficulty, int score, float time, long date) {
+        runs[difficulty]++;
+        return add(difficulty, score, time, date);
+    }
+
+    /**
+     * Adds the scores and run counts of another table to this one.
+     * @param other  Table with the same number of difficulties.
+     */
+    public void merge(HighScoreTable other) {
+        for (int d = 0; d < difficulties; d++) {
+            runs[d] += other.runs[d];
+            for (int i = 0; i < other.counts[d]; i++) {
+                int entry = d * other.size + i;
+                if (add(d, other.scores[entry], other.times[entry], other.dates[entry]) < 0) break;
+            }
+        }
+    }
+
+    /**
+     * Makes this table a copy of another of the same dimensions.
+     * @param other  Table to copy.
+     */
+    public void set(HighScoreTable other) {
+        System.arraycopy(other.counts, 0, counts, 0, difficulties);
+        System.arraycopy(other.runs, 0, runs, 0, difficulties);
+        System.arraycopy(other.scores, 0, scores, 0, scores.length);
+        System.arraycopy(other.times, 0, times, 0, times.length);
+        System.arraycopy(other.dates, 0, dates, 0, dates.length);
+    }
+
+    public void clear() {
+        for (int d = 0; d < difficulties; d++) {
+            counts[d] = 0;
+            runs[d] = 0;
+        }
+    }
+
+    /**
+     * Puts a score into the table without counting a run.
+     * @return  Rank taken, or -1 if the score did not make the table.
+     */
+    int add(int difficulty, int score, float time, long date) {
+        int base = difficulty * size;
+        int count = counts[difficulty];
+        if (count == size && score <= scores[base + count - 1]) return -1;
+        //Find the first kept score lower than the new one.
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (scores[base + middle] >= score) low = middle + 1;
+            else high = middle;
+        }
+        int moved = Math.min(count, size - 1) - low;
+        if (moved > 0) {
+            System.arraycopy(scores, base + low, scores, base + low + 1, moved);
+            System.arraycopy(times, base + low, times, base + low + 1, moved);
+            System.arraycopy(dates, base + low, dates, base + low + 1, moved);
+        }
+        scores[base + low] = score;
+        times[base + low] = time;
+        dates[base + low] = date;
+        if (count < size) counts[difficulty]++;
+        return low;
+    }
+
+    /**
+     * Gets the number of scores kept for a difficulty.
+     * @param difficulty  Difficulty ordinal.
+     * @return  Score count, at most the table size.
+     */
+    public int getCount(int difficulty) {
+        return counts[difficulty];
+    }
+
+    /**
+     * Gets the number of runs ever recorded for a difficulty.
+     * @param difficulty  Difficulty ordinal.
+     * @return  Run count.
+     */
+    public long getRuns(int difficulty) {
+        return runs[difficulty];
+    }
+
+    void setRuns(int difficulty, long count) {
+        runs[difficulty] = count;
+    }
+
+    /**
+     * Gets a kept score.
+     * @param difficulty  Difficulty ordinal.
+     * @param rank  Rank, from 0 for the best, below getCount().
+     * @return  Score.
+     */
+    public int getScore(int difficulty, int rank) {
+        return scores[difficulty * size + rank];
+    }
+
+    /**
+     * Gets the game time of a kept score.
+     * @param difficulty  Difficulty ordinal.
+     * @param rank  Rank, from 0 for the best, below getCount().
+     * @return  Game time in seconds.
+     */
+    public float getTime(int difficulty, int rank) {
+        return times[difficulty * size + rank];
+    }
+
+    /**
+     * Gets the date of a kept score.
+     * @param difficulty  Difficulty ordinal.
+     * @param rank  Rank, from 0 for the best, below getCount().
+     * @return  Time the run ended, in milliseconds since the epoch.
+     */
+    public long getDate(int difficulty, int rank) {
+        return dates[difficulty * size + rank];
+    }
+
+    public int getDifficulties() {
+        return difficulties;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
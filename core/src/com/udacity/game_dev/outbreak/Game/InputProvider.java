@@ -0,0 +1,31 @@
+package com.udacity.game_dev.outbreak.Game;
+
+/**
+ * Source of player input for a GameManager.  Input is read once per simulation tick as a bit mask
+ * of buttons, so that the simulation can be driven by the keyboard, a script, or a recording
+ * without depending on a live libGDX backend.
+ */
+public interface InputProvider {
+
+    int LEFT = 1;
+    int RIGHT = 1 << 1;
+    int LAUNCH = 1 << 2;
+    //Toggles multi-ball mode while the ball is on the paddle.
+    int MULTI_BALL = 1 << 3;
+
+    /**
+     * Input provider that never presses anything.
+     */
+    InputProvider NONE = new InputProvider() {
+        @Override
+        public int poll() {
+            return 0;
+        }
+    };
+
+    /**
+     * Reads the buttons held for the next simulation tick.  Called exactly once per tick.
+     * @return  Bit mask of LEFT, RIGHT, LAUNCH, and MULTI_BALL.
+     */
+    int poll();
+}
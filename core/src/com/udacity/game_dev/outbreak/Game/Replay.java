@@ -0,0 +1,292 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * Recording of a game: everything needed to replay it tick for tick (difficulty, stage and board
+ * size, tick rate, random seed, and the input for every tick) plus the final score and board
+ * hash that a replay should reproduce.  Input is stored as runs of identical button masks, since
+ * the buttons held usually stay the same for many ticks.  A Replay can be emptied with restart()
+ * and reused for the next game.
+ */
+public class Replay {
+
+    //"OBRP"
+    private static final int MAGIC = 0x4F425250;
+    private static final int VERSION = 2;
+
+    public final GameManager.Difficulty difficulty;
+    public final float stageWidth;
+    public final float stageHeight;
+    public final int numRows;
+    public final int numColumns;
+    public final float tickRate;
+    private long seed;
+
+    //Input runs: runMasks[i] was held for runLengths[i] ticks.
+    final IntArray runMasks;
+    final IntArray runLengths;
+    private int ticks;
+
+    private boolean finished;
+    private int finalScore;
+    private int finalBoardHash;
+
+    /**
+     * Creates an empty recording of a game on a standard board.
+     * @param difficulty  Difficulty level.
+     * @param stageWidth  Width of play area.
+     * @param stageHeight  Height of play area.
+     * @param tickRate  Simulation ticks per second.
+     * @param seed  GameManager random seed.
+     */
+    public Replay(GameManager.Difficulty difficulty, float stageWidth, float stageHeight, float tickRate, long seed) {
+        this(difficulty, stageWidth, stageHeight, GameManager.getStandardRows(stageHeight),
+                GameManager.getStandardColumns(stageWidth), tickRate, seed);
+    }
+
+    /**
+     * Creates an empty recording.
+     * @param difficulty  Difficulty level.
+     * @param stageWidth  Width of play area.
+     * @param stageHeight  Height of play area.
+     * @param numRows  Number of rows of blocks.
+     * @param numColumns  Number of columns of blocks.
+     * @param tickRate  Simulation ticks per second.
+     * @param seed  GameManager random seed.
+     */
+    public Replay(GameManager.Difficulty difficulty, float stageWidth, float stageHeight, int numRows, int numColumns,
+                  float tickRate, long seed) {
+        this.difficulty = difficulty;
+        this.stageWidth = stageWidth;
+        this.stageHeight = stageHeight;
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        this.tickRate = tickRate;
+        this.seed = seed;
+        runMasks = new IntArray(Constants.REPLAY_INITIAL_RUNS);
+        runLengths = new IntArray(Constants.REPLAY_INITIAL_RUNS);
+    }
+
+    /**
+     * Empties the recording so that it can be reused for a new game on the same board.
+     * @param seed  GameManager random seed for the new game.
+     */
+    public void restart(long seed) {
+        this.seed = seed;
+        runMasks.clear();
+        runLengths.clear();
+        ticks = 0;
+        finished = false;
+        finalScore = 0;
+        finalBoardHash = 0;
+    }
+
+    /**
+     * Appends the input for one tick.
+     * @param buttons  Button mask polled for the tick.
+     */
+    public void addTick(int buttons) {
+        int last = runMasks.size - 1;
+        if (last >= 0 && runMasks.get(last) == buttons) {
+            runLengths.incr(last, 1);
+        } else {
+            runMasks.add(buttons);
+            runLengths.add(1);
+        }
+        ticks++;
+    }
+
+    /**
+     * Drops the input recorded after a given tick, used when the game is rewound to that tick.
+     * @param ticks  Number of ticks to keep.
+     */
+    public void truncate(int ticks) {
+        while (this.ticks > ticks) {
+            int last = runLengths.size - 1;
+            int excess = this.ticks - ticks;
+            int length = runLengths.get(last);
+            if (length <= excess) {
+                runMasks.pop();
+                runLengths.pop();
+                this.ticks -= length;
+            } else {
+                runLengths.incr(last, -excess);
+                this.ticks = ticks;
+            }
+        }
+        finished = false;
+    }
+
+    /**
+     * Records the outcome of the game.
+     * @param manager  GameManager that played the recorded input.
+     */
+    public void finish(GameManager manager) {
+        finished = true;
+        finalScore = manager.score;
+        finalBoardHash = manager.getBoardHash();
+    }
+
+    /**
+     * Creates a GameManager set up to replay this recording.  init() must still be called.
+     * @return  GameManager reading its input from this recording.
+     */
+    public GameManager createManager() {
+        return new GameManager(difficulty, stageWidth, stageHeight, new ReplayInput(this), seed, numRows, numColumns);
+    }
+
+    /**
+     * Gets the GameManager random seed.
+     * @return  Seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of recorded ticks.
+     * @return  Tick count.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns whether the outcome of the game has been recorded.
+     * @return  True if finish() has been called.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets the recorded final score.
+     * @return  Final score.
+     */
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    /**
+     * Gets the recorded final board hash.
+     * @return  Value of GameManager.getBoardHash() at the end of the game.
+     */
+    public int getFinalBoardHash() {
+        return finalBoardHash;
+    }
+
+    /**
+     * Encodes the recording in its compact binary form.
+     * @return  Encoded bytes.
+     */
+    public byte[] toBytes() {
+        ByteArray out = new ByteArray(32 + runMasks.size * 3);
+        writeInt(out, MAGIC);
+        out.add((byte) VERSION);
+        out.add((byte) difficulty.ordinal());
+        writeInt(out, NumberUtils.floatToIntBits(stageWidth));
+        writeInt(out, NumberUtils.floatToIntBits(stageHeight));
+        writeVarInt(out, numRows);
+        writeVarInt(out, numColumns);
+        writeInt(out, NumberUtils.floatToIntBits(tickRate));
+        writeInt(out, (int) (seed >>> 32));
+        writeInt(out, (int) seed);
+        writeVarInt(out, runMasks.size);
+        for (int i = 0; i < runMasks.size; i++) {
+            out.add((byte) runMasks.get(i));
+            writeVarInt(out, runLengths.get(i));
+        }
+        out.add((byte) (finished ? 1 : 0));
+        writeInt(out, finalScore);
+        writeInt(out, finalBoardHash);
+        return out.toArray();
+    }
+
+    /**
+     * Decodes a recording written by toBytes().
+     * @param bytes  Encoded bytes.
+     * @return  Decoded recording.
+     */
+    public static Replay fromBytes(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a replay");
+        int version = in.readByte();
+        if (version != VERSION) throw new GdxRuntimeException("Unsupported replay version " + version);
+        GameManager.Difficulty difficulty = GameManager.Difficulty.values()[in.readByte()];
+        float stageWidth = NumberUtils.intBitsToFloat(in.readInt());
+        float stageHeight = NumberUtils.intBitsToFloat(in.readInt());
+        int numRows = in.readVarInt();
+        int numColumns = in.readVarInt();
+        float tickRate = NumberUtils.intBitsToFloat(in.readInt());
+        long seed = ((long) in.readInt() << 32) | (in.readInt() & 0xFFFFFFFFL);
+        Replay replay = new Replay(difficulty, stageWidth, stageHeight, numRows, numColumns, tickRate, seed);
+        int runs = in.readVarInt();
+        for (int i = 0; i < runs; i++) {
+            int mask = in.readByte();
+            int length = in.readVarInt();
+            replay.runMasks.add(mask);
+            replay.runLengths.add(length);
+            replay.ticks += length;
+        }
+        replay.finished = in.readByte() != 0;
+        replay.finalScore = in.readInt();
+        replay.finalBoardHash = in.readInt();
+        return replay;
+    }
+
+    private static void writeInt(ByteArray out, int value) {
+        out.add((byte) (value >>> 24));
+        out.add((byte) (value >>> 16));
+        out.add((byte) (value >>> 8));
+        out.add((byte) value);
+    }
+
+    /**
+     * Writes a non-negative int in as few bytes as possible, seven bits per byte, with the high
+     * bit set on every byte but the last.
+     */
+    private static void writeVarInt(ByteArray out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.add((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.add((byte) value);
+    }
+
+    /**
+     * Reads values from encoded replay bytes in order.
+     */
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readByte() {
+            if (position >= bytes.length) throw new GdxRuntimeException("Replay is truncated");
+            return bytes[position++] & 0xFF;
+        }
+
+        int readInt() {
+            return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new GdxRuntimeException("Malformed replay");
+        }
+    }
+}
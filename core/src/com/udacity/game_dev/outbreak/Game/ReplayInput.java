@@ -0,0 +1,39 @@
+package com.udacity.game_dev.outbreak.Game;
+
+/**
+ * InputProvider that plays back the input stored in a Replay, one tick per poll.
+ */
+public class ReplayInput implements InputProvider {
+
+    private final Replay replay;
+    private int run;
+    private int tickInRun;
+    private int tick;
+
+    /**
+     * @param replay  Recording to play back.
+     */
+    public ReplayInput(Replay replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * Returns whether there is recorded input left to play.
+     * @return  True if more ticks remain.
+     */
+    public boolean hasNext() {
+        return tick < replay.getTicks();
+    }
+
+    @Override
+    public int poll() {
+        if (!hasNext()) return 0;
+        int buttons = replay.runMasks.get(run);
+        tick++;
+        if (++tickInRun == replay.runLengths.get(run)) {
+            run++;
+            tickInRun = 0;
+        }
+        return buttons;
+    }
+}
@@ -0,0 +1,49 @@
+package com.udacity.game_dev.outbreak.Game;
+
+/**
+ * InputProvider that passes through input from another provider while recording it into a
+ * Replay.
+ */
+public class ReplayRecorder implements InputProvider {
+
+    private InputProvider source;
+    private Replay replay;
+
+    /**
+     * @param source  Provider of the input to record.
+     */
+    public ReplayRecorder(InputProvider source) {
+        this.source = source;
+    }
+
+    /**
+     * Switches to recording input from another provider, continuing the recording in progress.
+     * @param source  Provider of the input to record from the next tick on.
+     */
+    public void setSource(InputProvider source) {
+        this.source = source;
+    }
+
+    /**
+     * Starts a new recording.  Input polled before this is called is passed through unrecorded.
+     * @param replay  Empty recording to append to.
+     */
+    public void start(Replay replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * Gets the recording in progress.
+     * @return  Current recording, or null if none has been started.
+     */
+    public Replay getReplay() {
+        return replay;
+    }
+
+    @Override
+    public int poll() {
+        int buttons = source.poll();
+        if (replay != null) replay.addTick(buttons);
+        return buttons;
+    }
+}
@@ -0,0 +1,91 @@
+package com.udacity.game_dev.outbreak.Game;
+
+/**
+ * Fixed ring of the most recent GameSnapshots, one per tick, for rewinding a game or rolling it
+ * back to resimulate with different input.  Every snapshot is allocated up front and reused, so
+ * recording a tick does not allocate once each snapshot has grown to fit the board.
+ */
+public class SnapshotRing {
+
+    private final GameSnapshot[] snapshots;
+    private final int[] ticks;
+    //Slot of the newest snapshot, and the number of snapshots held.
+    private int newest;
+    private int size;
+
+    /**
+     * @param capacity  Number of ticks to keep.
+     */
+    public SnapshotRing(int capacity) {
+        snapshots = new GameSnapshot[capacity];
+        ticks = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            snapshots[i] = new GameSnapshot();
+        }
+        newest = -1;
+    }
+
+    /**
+     * Saves the state of a game after a tick, replacing the oldest snapshot if the ring is full.
+     * @param manager  Game to save.
+     * @param tick  Number of ticks the game has run.
+     */
+    public void record(GameManager manager, int tick) {
+        newest = (newest + 1) % snapshots.length;
+        manager.save(snapshots[newest]);
+        ticks[newest] = tick;
+        size = Math.min(size + 1, snapshots.length);
+    }
+
+    /**
+     * Restores a game to its state after a given tick, and forgets every later snapshot, so that
+     * recording carries on from that tick.
+     * @param manager  Game to restore.
+     * @param tick  Tick to go back to, between getOldestTick() and getNewestTick().
+     * @return  True if the tick was held and the game was restored.
+     */
+    public boolean restore(GameManager manager, int tick) {
+        for (int i = 0; i < size; i++) {
+            int slot = (newest - i + snapshots.length) % snapshots.length;
+            if (ticks[slot] == tick) {
+                manager.restore(snapshots[slot]);
+                newest = slot;
+                size -= i;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets every snapshot, used when a new game starts.
+     */
+    public void clear() {
+        newest = -1;
+        size = 0;
+    }
+
+    /**
+     * Gets the number of snapshots held.
+     * @return  Snapshot count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the tick of the newest snapshot.
+     * @return  Tick, valid only if size() is above 0.
+     */
+    public int getNewestTick() {
+        return ticks[newest];
+    }
+
+    /**
+     * Gets the tick of the oldest snapshot.
+     * @return  Tick, valid only if size() is above 0.
+     */
+    public int getOldestTick() {
+        return ticks[(newest - size + 1 + snapshots.length) % snapshots.length];
+    }
+}
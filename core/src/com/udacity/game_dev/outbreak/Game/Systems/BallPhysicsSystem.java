@@ -0,0 +1,163 @@
+package com.udacity.game_dev.outbreak.Game.Systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.Vector2;
+import com.udacity.game_dev.outbreak.Game.Components.BoundsComponent;
+import com.udacity.game_dev.outbreak.Game.Components.PositionComponent;
+import com.udacity.game_dev.outbreak.Game.Components.VelocityComponent;
+import com.udacity.game_dev.outbreak.Game.GameEntities.Paddle;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.Utilities.Util;
+
+/**
+ * Moves balls through each simulation tick, bouncing them off the walls, the ceiling, and blocks,
+ * and kicking them off the paddle.  Only the single ball is an entity; the balls of multi-ball mode
+ * are simulated by a BallField instead, so this system only processes while the game is being
+ * played outside of multi-ball mode.  The arithmetic here must not be reordered, since replays
+ * depend on every tick producing exactly the same floating point results.
+ */
+public class BallPhysicsSystem extends FamilySystem {
+
+    private final ComponentMapper<PositionComponent> positionMapper = ComponentMapper.getFor(PositionComponent.class);
+    private final ComponentMapper<BoundsComponent> boundsMapper = ComponentMapper.getFor(BoundsComponent.class);
+    private final ComponentMapper<VelocityComponent> velocityMapper = ComponentMapper.getFor(VelocityComponent.class);
+    private PositionComponent[] positions = new PositionComponent[0];
+    private BoundsComponent[] bounds = new BoundsComponent[0];
+    private VelocityComponent[] velocities = new VelocityComponent[0];
+    private final GameManager manager;
+    private boolean won;
+
+    /**
+     * @param priority  Order in which the system runs, which must be after the paddle has moved.
+     * @param manager  GameManager whose blocks and paddle the balls collide with.
+     */
+    public BallPhysicsSystem(int priority, GameManager manager) {
+        super(Family.all(PositionComponent.class, BoundsComponent.class, VelocityComponent.class).get(), priority);
+        this.manager = manager;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (positions.length >= capacity) return;
+        positions = new PositionComponent[capacity];
+        bounds = new BoundsComponent[capacity];
+        velocities = new VelocityComponent[capacity];
+    }
+
+    @Override
+    protected void fill(int index, Entity entity) {
+        positions[index] = positionMapper.get(entity);
+        bounds[index] = boundsMapper.get(entity);
+        velocities[index] = velocityMapper.get(entity);
+    }
+
+    @Override
+    public boolean checkProcessing() {
+        return manager.state == GameManager.GameState.PLAYING && manager.getMultiBallCount() == 0;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        won = false;
+        for (int i = 0; i < count; i++) {
+            VelocityComponent velocity = velocities[i];
+            //Scale the motion vector to the distance covered in one tick, as Vector2.setLength() does.
+            float length = velocity.speed * deltaTime;
+            float length2 = length * length;
+            float oldLength2 = velocity.x * velocity.x + velocity.y * velocity.y;
+            if (oldLength2 != 0 && oldLength2 != length2) {
+                float scale = (float) Math.sqrt(length2 / oldLength2);
+                velocity.x *= scale;
+                velocity.y *= scale;
+            }
+            if (moveBall(positions[i], velocity, bounds[i].width / 2)) won = true;
+        }
+    }
+
+    /**
+     * Moves a ball through this tick's motion, resolving every collision along the way in the
+     * order they happen.  Each pass finds the earliest impact with a wall, the ceiling, a block
+     * near the ball's path, or the paddle, moves the ball to that point, responds to the impact,
+     * and continues with the remaining motion.  This stops the ball from tunneling through thin
+     * objects at high speed, and means each block is hit at most once per impact.
+     * @param position  Ball position.
+     * @param velocity  Ball motion for this tick.
+     * @param radius  Ball radius.
+     * @return True if the last block was destroyed and the game has been won.
+     */
+    private boolean moveBall(PositionComponent position, VelocityComponent velocity, float radius) {
+        Paddle paddle = manager.getPaddle();
+        //If the paddle has moved into the descending ball, kick it back up straight away.
+        if (velocity.y < 0 && Util.rectIntersectsCircle(position.x, position.y, radius,
+                paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight())) {
+            kickOffPaddle(position, velocity, paddle);
+        }
+        float remaining = 1;
+        for (int i = 0; i < Constants.MAX_BALL_BOUNCES_PER_TICK && remaining > 0; i++) {
+            float impactTime = manager.findImpact(position.x, position.y,
+                    velocity.x * remaining, velocity.y * remaining, radius);
+            if (impactTime >= 1) {
+                advance(position, velocity, remaining);
+                break;
+            }
+            advance(position, velocity, remaining * impactTime);
+            remaining *= 1 - impactTime;
+            if (manager.isPaddleImpact()) {
+                kickOffPaddle(position, velocity, paddle);
+            } else {
+                Vector2 normal = manager.getImpactNormal();
+                float dot = velocity.x * normal.x + velocity.y * normal.y;
+                velocity.x -= 2 * dot * normal.x;
+                velocity.y -= 2 * dot * normal.y;
+                int row = manager.getImpactRow();
+                if (row >= 0 && manager.hitBlock(row, manager.getImpactColumn())) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves a ball along part of its motion vector.
+     * @param position  Ball position.
+     * @param velocity  Ball motion for this tick.
+     * @param fraction  Fraction of this tick's motion to move by.
+     */
+    private static void advance(PositionComponent position, VelocityComponent velocity, float fraction) {
+        position.x += velocity.x * fraction;
+        position.y += velocity.y * fraction;
+    }
+
+    /**
+     * Sends a ball that has hit the paddle away from a point below the paddle's center, keeping
+     * its speed, and publishes a PADDLE_KICK event.  Impacts at the center of the paddle kick the
+     * ball straight up and impacts closer to the edges kick it towards that side.  Since the point
+     * is below the stage, there is a limit to how close to horizontal the kick can be.
+     * @param position  Ball position.
+     * @param velocity  Ball motion for this tick.
+     * @param paddle  Paddle hit.
+     */
+    private void kickOffPaddle(PositionComponent position, VelocityComponent velocity, Paddle paddle) {
+        float distanceThisFrame = (float) Math.sqrt(velocity.x * velocity.x + velocity.y * velocity.y);
+        velocity.x = position.x - (paddle.getX() + paddle.getWidth() / 2);
+        velocity.y = position.y - (paddle.getY() - Constants.PADDLE_TRAJECTORY_ORIGIN_DEPTH);
+        float length2 = distanceThisFrame * distanceThisFrame;
+        float oldLength2 = velocity.x * velocity.x + velocity.y * velocity.y;
+        if (oldLength2 != 0 && oldLength2 != length2) {
+            float scale = (float) Math.sqrt(length2 / oldLength2);
+            velocity.x *= scale;
+            velocity.y *= scale;
+        }
+        manager.kickedOffPaddle(-1, position.x, position.y);
+    }
+
+    /**
+     * Gets whether the last block was destroyed during the latest tick.
+     * @return  True if the game has been won.
+     */
+    public boolean hasWon() {
+        return won;
+    }
+}
@@ -0,0 +1,58 @@
+package com.udacity.game_dev.outbreak.Game.Systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.udacity.game_dev.outbreak.Game.Components.BoundsComponent;
+import com.udacity.game_dev.outbreak.Game.Components.ControlComponent;
+import com.udacity.game_dev.outbreak.Game.Components.PositionComponent;
+
+/**
+ * Moves player controlled entities sideways in the direction chosen for this tick, undoing any
+ * move that would take them past either side of the stage.
+ */
+public class ControlSystem extends FamilySystem {
+
+    private final ComponentMapper<PositionComponent> positionMapper = ComponentMapper.getFor(PositionComponent.class);
+    private final ComponentMapper<BoundsComponent> boundsMapper = ComponentMapper.getFor(BoundsComponent.class);
+    private final ComponentMapper<ControlComponent> controlMapper = ComponentMapper.getFor(ControlComponent.class);
+    private PositionComponent[] positions = new PositionComponent[0];
+    private BoundsComponent[] bounds = new BoundsComponent[0];
+    private ControlComponent[] controls = new ControlComponent[0];
+    private final float stageWidth;
+
+    /**
+     * @param priority  Order in which the system runs.
+     * @param stageWidth  Width of stage, used to stop entities leaving it.
+     */
+    public ControlSystem(int priority, float stageWidth) {
+        super(Family.all(PositionComponent.class, BoundsComponent.class, ControlComponent.class).get(), priority);
+        this.stageWidth = stageWidth;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (positions.length >= capacity) return;
+        positions = new PositionComponent[capacity];
+        bounds = new BoundsComponent[capacity];
+        controls = new ControlComponent[capacity];
+    }
+
+    @Override
+    protected void fill(int index, Entity entity) {
+        positions[index] = positionMapper.get(entity);
+        bounds[index] = boundsMapper.get(entity);
+        controls[index] = controlMapper.get(entity);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        for (int i = 0; i < count; i++) {
+            PositionComponent position = positions[i];
+            ControlComponent control = controls[i];
+            float motion = control.direction * control.speed * deltaTime;
+            position.x += motion;
+            if (!(position.x > 0 && position.x + bounds[i].width < stageWidth)) position.x -= motion;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.udacity.game_dev.outbreak.Game.Systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+
+/**
+ * Base of the game's systems.  Each subclass keeps the components of its family in arrays of
+ * their own types, indexed alike, and walks them in its own loop.  The arrays are refilled only
+ * when an entity joins or leaves the family, which never happens during play, so each tick reads
+ * components straight from the arrays rather than looking each one up through a ComponentMapper,
+ * and the loop calls no method that another system overrides.
+ */
+abstract class FamilySystem extends EntitySystem implements EntityListener {
+
+    private final Family family;
+    private ImmutableArray<Entity> entities;
+    //Number of entities in the family, and of components filled in each array.
+    protected int count;
+
+    /**
+     * @param family  Entities the system processes.
+     * @param priority  Order in which the system runs.
+     */
+    FamilySystem(Family family, int priority) {
+        super(priority);
+        this.family = family;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(family);
+        engine.addEntityListener(family, this);
+        refill();
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+        entities = null;
+        count = 0;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        refill();
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        refill();
+    }
+
+    private void refill() {
+        count = entities.size();
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            fill(i, entities.get(i));
+        }
+    }
+
+    /**
+     * Grows the component arrays if needed.
+     * @param  capacity  Number of entities the arrays must hold.
+     */
+    protected abstract void ensureCapacity(int capacity);
+
+    /**
+     * Stores the components of an entity in the arrays.
+     * @param  index  Index to store them at.
+     * @param  entity  Entity in the family.
+     */
+    protected abstract void fill(int index, Entity entity);
+}
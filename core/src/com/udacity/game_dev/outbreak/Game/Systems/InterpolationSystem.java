@@ -0,0 +1,39 @@
+package com.udacity.game_dev.outbreak.Game.Systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.udacity.game_dev.outbreak.Game.Components.PositionComponent;
+
+/**
+ * Records the position of every entity at the start of a simulation tick, so that rendering can
+ * interpolate between ticks.  Runs before any system that moves entities.
+ */
+public class InterpolationSystem extends FamilySystem {
+
+    private final ComponentMapper<PositionComponent> positionMapper = ComponentMapper.getFor(PositionComponent.class);
+    private PositionComponent[] positions = new PositionComponent[0];
+
+    public InterpolationSystem(int priority) {
+        super(Family.all(PositionComponent.class).get(), priority);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (positions.length < capacity) positions = new PositionComponent[capacity];
+    }
+
+    @Override
+    protected void fill(int index, Entity entity) {
+        positions[index] = positionMapper.get(entity);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        for (int i = 0; i < count; i++) {
+            PositionComponent position = positions[i];
+            position.previousX = position.x;
+            position.previousY = position.y;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.udacity.game_dev.outbreak.Game.Systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.udacity.game_dev.outbreak.Game.Components.BoundsComponent;
+import com.udacity.game_dev.outbreak.Game.Components.PositionComponent;
+import com.udacity.game_dev.outbreak.Game.Components.RenderableComponent;
+
+/**
+ * Draws every visible entity as a filled shape, interpolated between the previous and current
+ * simulation ticks.  Drawing happens once per frame rather than once per tick, so the system does
+ * not process in update(); render() is called instead.
+ */
+public class RenderSystem extends FamilySystem {
+
+    private final ComponentMapper<PositionComponent> positionMapper = ComponentMapper.getFor(PositionComponent.class);
+    private final ComponentMapper<BoundsComponent> boundsMapper = ComponentMapper.getFor(BoundsComponent.class);
+    private final ComponentMapper<RenderableComponent> renderableMapper = ComponentMapper.getFor(RenderableComponent.class);
+    private PositionComponent[] positions = new PositionComponent[0];
+    private BoundsComponent[] bounds = new BoundsComponent[0];
+    private RenderableComponent[] renderables = new RenderableComponent[0];
+
+    public RenderSystem() {
+        super(Family.all(PositionComponent.class, BoundsComponent.class, RenderableComponent.class).get(), 0);
+        setProcessing(false);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (positions.length >= capacity) return;
+        positions = new PositionComponent[capacity];
+        bounds = new BoundsComponent[capacity];
+        renderables = new RenderableComponent[capacity];
+    }
+
+    @Override
+    protected void fill(int index, Entity entity) {
+        positions[index] = positionMapper.get(entity);
+        bounds[index] = boundsMapper.get(entity);
+        renderables[index] = renderableMapper.get(entity);
+    }
+
+    /**
+     * Draws every visible entity.
+     * @param renderer  ShapeRenderer to draw with.
+     * @param alpha  Fraction of a tick elapsed since the current simulation tick.
+     */
+    public void render(ShapeRenderer renderer, float alpha) {
+        for (int i = 0; i < count; i++) {
+            RenderableComponent renderable = renderables[i];
+            if (!renderable.visible) continue;
+            PositionComponent position = positions[i];
+            BoundsComponent size = bounds[i];
+            float x = position.previousX + (position.x - position.previousX) * alpha;
+            float y = position.previousY + (position.y - position.previousY) * alpha;
+            renderer.setColor(renderable.color);
+            switch (renderable.shape) {
+                case RenderableComponent.CIRCLE:
+                    renderer.circle(x, y, size.width / 2);
+                    break;
+                case RenderableComponent.RECTANGLE:
+                    renderer.rect(x, y, size.width, size.height);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Follows the game being played and passes every event published on its bus, along with the
+ * start and end of each game, to record().  Nothing is kept here; TelemetryWriter extends it to
+ * write the events of a session to a file.  Events arrive when the bus is drained at the end of
+ * each tick, so their time is the game time of the tick that produced them.
+ */
+public class Telemetry implements GameEventListener, Disposable {
+
+    //Types of the records that are not game events, numbered after them.  A game started: a is
+    //the difficulty ordinal, and b is 1 if the autopilot is playing.
+    public static final int GAME_STARTED = 16;
+    //A game ended, or was left before it ended: a is the score, and b the GameState ordinal.
+    public static final int GAME_ENDED = 17;
+    //The game was rewound to the record's time.
+    public static final int REWOUND = 18;
+
+    private GameManager manager;
+
+    /**
+     * Starts following a game, ending the one followed before if there was one.
+     * @param  manager  Game that is about to be played.
+     * @param  autopilot  True if the autopilot is playing it.
+     */
+    public void startGame(GameManager manager, boolean autopilot) {
+        endGame();
+        this.manager = manager;
+        manager.getEvents().addListener(this);
+        record(GAME_STARTED, manager.difficulty.ordinal(), autopilot ? 1 : 0, 0, 0, manager.gameTime);
+    }
+
+    /**
+     * Records the outcome of the game being followed, if any, and stops following it.
+     */
+    public void endGame() {
+        if (manager == null) return;
+        manager.getEvents().removeListener(this);
+        record(GAME_ENDED, manager.score, manager.state.ordinal(), 0, 0, manager.gameTime);
+        manager = null;
+    }
+
+    /**
+     * Records that the game being followed has been rewound to an earlier tick.
+     */
+    public void rewound() {
+        if (manager != null) record(REWOUND, 0, 0, 0, 0, manager.gameTime);
+    }
+
+    @Override
+    public void onGameEvent(int type, int a, int b, float x, float y) {
+        record(type, a, b, x, y, manager.gameTime);
+    }
+
+    /**
+     * Called for every record.  Does nothing here.
+     * @param  type  Event type, such as GameEventListener.BLOCK_HIT, or GAME_STARTED, GAME_ENDED,
+     *               or REWOUND.
+     * @param  a  First integer argument.
+     * @param  b  Second integer argument.
+     * @param  x  x-coordinate of the event.
+     * @param  y  y-coordinate of the event.
+     * @param  time  Game time in seconds.
+     */
+    protected void record(int type, int a, int b, float x, float y, float time) {
+    }
+
+    @Override
+    public void dispose() {
+        endGame();
+    }
+}
@@ -0,0 +1,141 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Streams the records of a session file written by TelemetryWriter, one at a time, so files of
+ * any length can be read without holding them in memory.  The fields of the current record are
+ * overwritten by each call to next().  A file cut short by a crash is read up to its last
+ * complete record.
+ *
+ * Uses java.io, so it is excluded from the GWT build; see OutbreakGame.gwt.xml.
+ */
+public class TelemetryReader {
+
+    private final DataInputStream in;
+    private final long startMillis;
+    private final float tickRate;
+    private boolean truncated;
+
+    private int type;
+    private int tick;
+    private int a;
+    private int b;
+    private float x;
+    private float y;
+
+    /**
+     * Reads the header of a session file.
+     * @param  in  Stream of the file, closed by close().
+     * @throws IOException  If the stream fails or is not a session file.
+     */
+    public TelemetryReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+        if (this.in.readInt() != TelemetryWriter.MAGIC) throw new IOException("Not a telemetry file");
+        int version = this.in.readInt();
+        if (version != TelemetryWriter.VERSION) throw new IOException("Unsupported telemetry version " + version);
+        startMillis = this.in.readLong();
+        tickRate = this.in.readFloat();
+    }
+
+    /**
+     * Reads the next record.
+     * @return  False at the end of the file, or at a record the file ends partway through.
+     * @throws IOException  If the stream fails.
+     */
+    public boolean next() throws IOException {
+        try {
+            int first = in.read();
+            if (first < 0) return false;
+            type = first;
+            tick += readVarInt();
+            a = readVarInt();
+            b = readVarInt();
+            x = in.readFloat();
+            y = in.readFloat();
+            return true;
+        } catch (EOFException e) {
+            truncated = true;
+        } catch (ZipException e) {
+            truncated = true;
+        }
+        return false;
+    }
+
+    private int readVarInt() throws IOException {
+        int zigzag = 0;
+        for (int shift = 0; ; shift += 7) {
+            int value = in.readUnsignedByte();
+            zigzag |= (value & 0x7F) << shift;
+            if ((value & 0x80) == 0) break;
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Tests whether the file ended partway through a record.
+     * @return  True if the last call to next() found a truncated record.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Gets the time the session started.
+     * @return  Milliseconds since the epoch.
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Gets the type of the current record.
+     * @return  Event type, such as GameEventListener.BLOCK_HIT, or Telemetry.GAME_STARTED,
+     *          GAME_ENDED, or REWOUND.
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Gets the simulation tick of the current record, counted from the start of its game.
+     * @return  Tick number.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the game time of the current record.
+     * @return  Game time in seconds.
+     */
+    public float getTime() {
+        return tick / tickRate;
+    }
+
+    public int getA() {
+        return a;
+    }
+
+    public int getB() {
+        return b;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+}
@@ -0,0 +1,290 @@
+package com.udacity.game_dev.outbreak.Game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Telemetry that writes every record of a session to a gzip-compressed file.  Records are queued
+ * on the render thread in a preallocated ring of parallel primitive arrays, so queueing one costs a
+ * few array writes and creates no objects, and a background writer thread drains whatever has
+ * been queued every TELEMETRY_WRITE_INTERVAL, or as soon as the ring is half full.  The ring has
+ * one producer and one consumer, which hand slots to each other through a volatile count at each
+ * end, so neither side ever takes a lock.  What happens when the ring is full is set by an
+ * Overflow policy.  The compressed stream is flushed to the file at the end of each game, so a
+ * crash loses at most the game in progress.
+ *
+ * A record is its type as a byte, then as zigzag varints its tick number less that of the record
+ * before, and its two integer arguments, then its coordinates as floats.  TelemetryReader reads
+ * them back.
+ *
+ * Uses threads and java.io, so it is excluded from the GWT build; see OutbreakGame.gwt.xml.
+ */
+public class TelemetryWriter extends Telemetry {
+
+    //"OBTL"
+    static final int MAGIC = 0x4F42544C;
+    static final int VERSION = 1;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    //How long a producer waits for the writer to make room, in nanoseconds, before checking again.
+    private static final long BLOCK_WAIT = 100000;
+
+    /**
+     * What to do with a record when the queue is full.
+     */
+    public enum Overflow {
+        //Discard the record and count it, so the render thread never waits.  For the game.
+        DROP,
+        //Wait for the writer to make room, so no record is lost.  For offline runs.
+        BLOCK
+    }
+
+    private final File file;
+    private final Overflow overflow;
+    private final Thread writer;
+    private final int capacity;
+    private final int mask;
+    private final byte[] types;
+    private final int[] ticks;
+    private final int[] as;
+    private final int[] bs;
+    private final float[] xs;
+    private final float[] ys;
+    //Records queued and records taken by the writer since the start.  The producer writes only
+    //tail and the writer only head.
+    private volatile long tail;
+    private volatile long head;
+    private volatile boolean closed;
+
+    //Used only by the producer.
+    private long dropped;
+    private long blockedNanos;
+
+    //Used only by the writer thread.
+    private DataOutputStream out;
+    private int lastTick;
+
+    private volatile long written;
+    private volatile int batches;
+    private volatile IOException failure;
+
+    /**
+     * Creates the file and starts the writer thread.
+     * @param  file  Session file, created along with its directory.
+     * @param  capacity  Records the queue holds, rounded up to a power of two.
+     * @param  overflow  What to do with a record when the queue is full.
+     */
+    public TelemetryWriter(File file, int capacity, Overflow overflow) {
+        this.file = file;
+        this.overflow = overflow;
+        this.capacity = MathUtils.nextPowerOfTwo(capacity);
+        mask = this.capacity - 1;
+        types = new byte[this.capacity];
+        ticks = new int[this.capacity];
+        as = new int[this.capacity];
+        bs = new int[this.capacity];
+        xs = new float[this.capacity];
+        ys = new float[this.capacity];
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        }, "TelemetryWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    protected void record(int type, int a, int b, float x, float y, float time) {
+        long slot = tail;
+        if (slot - head >= capacity && !waitForRoom(slot)) {
+            dropped++;
+            return;
+        }
+        int index = (int) slot & mask;
+        types[index] = (byte) type;
+        ticks[index] = Math.round(time * Constants.SIMULATION_TICK_RATE);
+        as[index] = a;
+        bs[index] = b;
+        xs[index] = x;
+        ys[index] = y;
+        tail = slot + 1;
+        if (slot + 1 - head >= capacity / 2) LockSupport.unpark(writer);
+    }
+
+    /**
+     * Waits for the writer to take records from the full queue, if the policy is BLOCK.  Gives up
+     * if the writer has stopped.
+     * @param  slot  Slot the producer is waiting to fill.
+     * @return  True if there is room.
+     */
+    private boolean waitForRoom(long slot) {
+        if (overflow == Overflow.DROP) return false;
+        long start = System.nanoTime();
+        while (slot - head >= capacity && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCK_WAIT);
+        }
+        blockedNanos += System.nanoTime() - start;
+        return slot - head < capacity;
+    }
+
+    /**
+     * Body of the writer thread: writes queued records in batches until closed and emptied.
+     */
+    private void write() {
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (directory != null) directory.mkdirs();
+            out = new DataOutputStream(new GZIPOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file), STREAM_BUFFER_SIZE), STREAM_BUFFER_SIZE, true));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeFloat(Constants.SIMULATION_TICK_RATE);
+        } catch (IOException e) {
+            fail(e);
+        }
+        long interval = Constants.TELEMETRY_WRITE_INTERVAL * 1000000;
+        while (true) {
+            //Read closed before tail, so that nothing queued before closing is missed.
+            boolean closing = closed;
+            long end = tail;
+            long start = head;
+            if (start != end) {
+                writeBatch(start, end);
+                head = end;
+                written += end - start;
+                batches++;
+            } else if (closing) {
+                break;
+            } else {
+                LockSupport.parkNanos(interval);
+            }
+        }
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Encodes queued records, and flushes the file if a game ended among them.  Records are
+     * taken but not written once the file has failed.
+     * @param  start  First record.
+     * @param  end  Record after the last.
+     */
+    private void writeBatch(long start, long end) {
+        if (out == null) return;
+        boolean gameEnded = false;
+        try {
+            for (long i = start; i < end; i++) {
+                int index = (int) i & mask;
+                out.writeByte(types[index]);
+                writeVarInt(ticks[index] - lastTick);
+                writeVarInt(as[index]);
+                writeVarInt(bs[index]);
+                out.writeFloat(xs[index]);
+                out.writeFloat(ys[index]);
+                lastTick = ticks[index];
+                if (types[index] == GAME_ENDED) gameEnded = true;
+            }
+            if (gameEnded) out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            out.writeByte((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out.writeByte(zigzag);
+    }
+
+    private void fail(IOException e) {
+        if (failure == null) failure = e;
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * Gets the number of records discarded because the queue was full.
+     * @return  Dropped record count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Gets the time the render thread has spent waiting for room in the queue.
+     * @return  Time in nanoseconds.
+     */
+    public long getBlockedNanos() {
+        return blockedNanos;
+    }
+
+    /**
+     * Gets the number of records the writer has taken from the queue.
+     * @return  Record count.
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Gets the number of batches the writer has taken from the queue.
+     * @return  Batch count.
+     */
+    public int getBatches() {
+        return batches;
+    }
+
+    /**
+     * Gets the error that stopped the file being written.
+     * @return  Error, or null if there has been none.
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Ends the game being followed, then waits for every queued record to be written and the
+     * file to be closed, for at most TELEMETRY_CLOSE_TIMEOUT.
+     */
+    @Override
+    public void dispose() {
+        super.dispose();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(Constants.TELEMETRY_CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Gdx.app != null) {
+            if (failure != null) Gdx.app.error("TelemetryWriter", "Could not write " + file, failure);
+            Gdx.app.log("TelemetryWriter", written + " records written to " + file + " in " + batches +
+                    " batches, " + dropped + " dropped");
+        }
+    }
+}
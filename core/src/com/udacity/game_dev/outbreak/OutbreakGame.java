@@ -1,24 +1,112 @@
 package com.udacity.game_dev.outbreak;
 
 import com.badlogic.gdx.Game;
-import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.udacity.game_dev.outbreak.Game.GameManager;
-import com.udacity.game_dev.outbreak.Game.GameScreen;
+import com.udacity.game_dev.outbreak.Game.HighScoreStore;
+import com.udacity.game_dev.outbreak.Game.Telemetry;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.Utilities.RenderThrottle;
+import com.udacity.game_dev.outbreak.Utilities.ResourceCache;
+import com.udacity.game_dev.outbreak.Utilities.SoakMonitor;
 
 
 public class OutbreakGame extends Game {
+
+    private final boolean soak;
+    //Fonts, batches, and renderers shared by every screen.
+    private ResourceCache resources;
+    //Screens are kept alive between visits rather than rebuilt on each transition.
+    private ScreenManager screens;
+    private SoakMonitor soakMonitor;
+    //Pauses rendering while the current screen has nothing to animate.
+    private RenderThrottle renderThrottle;
+    private final HighScoreStore highScores;
+    private final Telemetry telemetry;
+
+    public OutbreakGame() {
+        this(false, new HighScoreStore(), new Telemetry());
+    }
+
+    /**
+     * @param soak  True to skip the start screen and let the autopilot play game after game,
+     *              logging frame times and heap use, for unattended soak runs.
+     * @param highScores  Store for the scores of finished games, disposed with the game.
+     * @param telemetry  Recipient of the gameplay events of every game played, disposed with the
+     *                   game.
+     */
+    public OutbreakGame(boolean soak, HighScoreStore highScores, Telemetry telemetry) {
+        this.soak = soak;
+        this.highScores = highScores;
+        this.telemetry = telemetry;
+    }
 	
 	@Override
 	public void create () {
-		setStartScreen();
+        resources = new ResourceCache();
+        renderThrottle = new RenderThrottle("Idle", Constants.IDLE_REPORT_INTERVAL);
+        screens = new ScreenManager(this);
+        if (soak) {
+            soakMonitor = new SoakMonitor("Soak", Constants.SOAK_REPORT_INTERVAL);
+            //The autopilot takes over before the screen is shown, so that the first game is
+            //recorded as the autopilot's.
+            screens.prepareGameScreen(GameManager.Difficulty.MEDIUM).setAutopilot(true);
+            screens.showGameScreen(GameManager.Difficulty.MEDIUM);
+        } else {
+            setStartScreen();
+        }
 	}
 
+    @Override
+    public void render() {
+        long start = TimeUtils.nanoTime();
+        renderThrottle.beginFrame();
+        super.render();
+        screens.endFrame();
+        renderThrottle.endFrame();
+        if (soakMonitor != null) soakMonitor.recordFrame(TimeUtils.nanoTime() - start);
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        screens.dispose();
+        resources.dispose();
+        renderThrottle.dispose();
+        highScores.dispose();
+        telemetry.dispose();
+    }
+
+    public ResourceCache getResources() {
+        return resources;
+    }
+
+    public HighScoreStore getHighScores() {
+        return highScores;
+    }
+
+    public Telemetry getTelemetry() {
+        return telemetry;
+    }
+
+    public RenderThrottle getRenderThrottle() {
+        return renderThrottle;
+    }
+
+    public ScreenManager getScreens() {
+        return screens;
+    }
+
 	public void setStartScreen() {
-        setScreen(new StartScreen(this));
+        screens.showStartScreen();
     }
 
     public void setGameScreen(GameManager.Difficulty difficulty) {
-        setScreen(new GameScreen(this, difficulty));
+        screens.showGameScreen(difficulty);
+    }
+
+    public void setLargeBoardGameScreen(GameManager.Difficulty difficulty) {
+        screens.showLargeBoardGameScreen(difficulty);
     }
 
 }
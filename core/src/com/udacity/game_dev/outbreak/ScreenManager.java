@@ -0,0 +1,160 @@
+package com.udacity.game_dev.outbreak;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.GameScreen;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * Keeps the start screen and one game screen per difficulty alive for the whole run, so that
+ * switching screens only shows an already built screen.  While the start screen is up, game
+ * screens for standard boards are prepared one per frame, so that a game is ready whatever
+ * difficulty is chosen.  Time-to-interactive, from a switch being requested to the end of the
+ * first frame the new screen renders, is measured for every transition into a game.
+ */
+public class ScreenManager implements Disposable {
+
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+
+    private final OutbreakGame game;
+    private StartScreen startScreen;
+    //Game screens indexed by difficulty ordinal, created on first use.
+    private final GameScreen[] gameScreens;
+    private final GameScreen[] largeBoardGameScreens;
+
+    //Time at which the pending transition was requested, or -1 if none is pending.
+    private long transitionStart;
+    private float lastTimeToInteractive;
+    private float worstTimeToInteractive;
+    private int transitionCount;
+
+    public ScreenManager(OutbreakGame game) {
+        this.game = game;
+        int difficulties = DIFFICULTIES.length;
+        gameScreens = new GameScreen[difficulties];
+        largeBoardGameScreens = new GameScreen[difficulties];
+        transitionStart = -1;
+    }
+
+    public void showStartScreen() {
+        if (startScreen == null) startScreen = new StartScreen(game);
+        game.setScreen(startScreen);
+    }
+
+    /**
+     * Gets the game screen for a standard board, preparing it if needed, without showing it.
+     * @param  difficulty  Difficulty level.
+     * @return  Prepared game screen.
+     */
+    public GameScreen prepareGameScreen(GameManager.Difficulty difficulty) {
+        return getGameScreen(gameScreens, difficulty, false);
+    }
+
+    public GameScreen showGameScreen(GameManager.Difficulty difficulty) {
+        transitionStart = TimeUtils.nanoTime();
+        GameScreen screen = getGameScreen(gameScreens, difficulty, false);
+        game.setScreen(screen);
+        return screen;
+    }
+
+    public GameScreen showLargeBoardGameScreen(GameManager.Difficulty difficulty) {
+        transitionStart = TimeUtils.nanoTime();
+        GameScreen screen = getGameScreen(largeBoardGameScreens, difficulty, true);
+        game.setScreen(screen);
+        return screen;
+    }
+
+    /**
+     * Gets a game screen, creating and preparing it if this is its first use.
+     * @param  screens  Screens for the board type.
+     * @param  difficulty  Difficulty level.
+     * @param  largeBoard  Board type.
+     * @return  Prepared game screen.
+     */
+    private GameScreen getGameScreen(GameScreen[] screens, GameManager.Difficulty difficulty, boolean largeBoard) {
+        GameScreen screen = screens[difficulty.ordinal()];
+        if (screen == null) {
+            screen = new GameScreen(game, difficulty, largeBoard);
+            screen.prepare();
+            screens[difficulty.ordinal()] = screen;
+        }
+        return screen;
+    }
+
+    /**
+     * Called at the end of every frame.  Completes the measurement of a pending transition, and
+     * while the start screen is showing, prepares at most one standard game screen so that the
+     * cost is spread across frames.
+     */
+    public void endFrame() {
+        if (transitionStart >= 0) {
+            lastTimeToInteractive = (TimeUtils.nanoTime() - transitionStart) / 1e9f;
+            worstTimeToInteractive = Math.max(worstTimeToInteractive, lastTimeToInteractive);
+            transitionCount++;
+            transitionStart = -1;
+            if (lastTimeToInteractive > Constants.TIME_TO_INTERACTIVE_BUDGET) {
+                Gdx.app.error("ScreenManager", "Time to interactive " + (int) (lastTimeToInteractive * 1000) +
+                        " ms exceeds budget of " + (int) (Constants.TIME_TO_INTERACTIVE_BUDGET * 1000) + " ms");
+            }
+        } else if (startScreen != null && game.getScreen() == startScreen) {
+            for (GameManager.Difficulty difficulty : DIFFICULTIES) {
+                if (gameScreens[difficulty.ordinal()] == null) {
+                    getGameScreen(gameScreens, difficulty, false);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests whether any standard game screen is still to be prepared while the start screen shows.
+     * @return  True if endFrame() has more screens to prepare.
+     */
+    public boolean hasScreensToPrepare() {
+        for (GameManager.Difficulty difficulty : DIFFICULTIES) {
+            if (gameScreens[difficulty.ordinal()] == null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the time-to-interactive of the last transition into a game.
+     * @return  Time in seconds.
+     */
+    public float getLastTimeToInteractive() {
+        return lastTimeToInteractive;
+    }
+
+    /**
+     * Gets the longest time-to-interactive of any transition into a game.
+     * @return  Time in seconds.
+     */
+    public float getWorstTimeToInteractive() {
+        return worstTimeToInteractive;
+    }
+
+    /**
+     * Gets the number of transitions into a game that have been measured.
+     * @return  Transition count.
+     */
+    public int getTransitionCount() {
+        return transitionCount;
+    }
+
+    /**
+     * Disposes every screen.  The current screen must already have been hidden.
+     */
+    @Override
+    public void dispose() {
+        if (startScreen != null) startScreen.dispose();
+        startScreen = null;
+        for (int i = 0; i < gameScreens.length; i++) {
+            if (gameScreens[i] != null) gameScreens[i].dispose();
+            if (largeBoardGameScreens[i] != null) largeBoardGameScreens[i].dispose();
+            gameScreens[i] = null;
+            largeBoardGameScreens[i] = null;
+        }
+    }
+}
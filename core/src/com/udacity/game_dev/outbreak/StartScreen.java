@@ -4,9 +4,9 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.viewport.FitViewport;
@@ -14,6 +14,8 @@ import com.udacity.game_dev.outbreak.Game.GameManager;
 import com.udacity.game_dev.outbreak.Ui.Label;
 import com.udacity.game_dev.outbreak.Ui.UiRenderer;
 import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.Utilities.RenderThrottle;
+import com.udacity.game_dev.outbreak.Utilities.ResourceCache;
 
 /**
  * Screen for displaying game title and difficulty selection.
@@ -26,6 +28,9 @@ public class StartScreen extends InputAdapter implements Screen {
     private UiRenderer uiRenderer;
     private ShapeRenderer renderer;
     private SpriteBatch batch;
+    private TextureRegion whitePixel;
+    private BitmapFont titleFont;
+    private BitmapFont uiFont;
     //GameManager instance variable exists only to display background.
     private GameManager manager;
 
@@ -36,13 +41,24 @@ public class StartScreen extends InputAdapter implements Screen {
 
     @Override
     public void show() {
+        //The screen is kept between visits, so it is only built the first time it is shown.
+        if (viewport == null) create();
+        Gdx.input.setInputProcessor(this);
+    }
+
+    /**
+     * Builds the UI and the background game.
+     */
+    private void create() {
         viewport = new FitViewport(Constants.WORLD_WIDTH, Constants.WORLD_HEIGHT);
-        uiRenderer = new UiRenderer();
-        renderer = new ShapeRenderer();
-        batch = new SpriteBatch();
+        //Fonts, batch, and renderer are shared with other screens through the game's cache.
+        ResourceCache resources = game.getResources();
+        whitePixel = resources.acquireWhitePixel();
+        uiRenderer = new UiRenderer(whitePixel);
+        renderer = resources.acquireShapeRenderer();
+        batch = resources.acquireBatch();
         initBackground();
         initUi();
-        Gdx.input.setInputProcessor(this);
     }
 
     @Override
@@ -58,7 +74,10 @@ public class StartScreen extends InputAdapter implements Screen {
         manager.render(renderer);
         renderer.end();
 
-        uiRenderer.render(batch, renderer);
+        uiRenderer.render(batch);
+        //Nothing on the start screen moves, so frames are only needed for input, once every game
+        //screen has been prepared.
+        if (!game.getScreens().hasScreensToPrepare()) game.getRenderThrottle().requestIdle(RenderThrottle.NO_WAKE);
     }
 
     /**
@@ -118,29 +137,35 @@ public class StartScreen extends InputAdapter implements Screen {
                 Constants.HARD_LABEL_TEXT,
                 buttonStyle
         ));
+        //Large board button label:
+        uiRenderer.addLabel(new Label(
+                worldWidth / 2 - Constants.NORMAL_LABEL_WIDTH / 2,
+                worldHeight / 2 - Constants.NORMAL_LABEL_HEIGHT * 3,
+                Constants.NORMAL_LABEL_WIDTH,
+                Constants.NORMAL_LABEL_HEIGHT,
+                Constants.LARGE_BOARD_LABEL_TEXT,
+                buttonStyle
+        ));
     }
 
     /**
      * Initializes styles for Labels and puts them in UiRenderer.
      */
     public void initUiStyles() {
-        BitmapFont titleFont = new BitmapFont();
-        titleFont.setColor(Constants.LABEL_TEXT_COLOR);
-        titleFont.getData().setScale(Constants.LARGE_TEXT_FONT_SCALE);
-        titleFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        titleFont = game.getResources().acquireFont(Constants.LARGE_FONT);
         Label.LabelStyle titleStyle = new Label.LabelStyle(Constants.LABEL_BACKGROUND_COLOR, titleFont);
+        titleStyle.setFontColor(Constants.LABEL_TEXT_COLOR);
         titleStyle.setBorder(Constants.LABEL_BORDER_WIDTH, Constants.LABEL_BORDER_COLOR);
         uiRenderer.putLabelStyle(Constants.TITLE_UI_STYLE, titleStyle);
 
-        BitmapFont uiFont = new BitmapFont();
-        uiFont.setColor(Constants.LABEL_TEXT_COLOR);
-        uiFont.getData().setScale(Constants.NORMAL_TEXT_FONT_SCALE);
-        titleFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        uiFont = game.getResources().acquireFont(Constants.NORMAL_FONT);
         Label.LabelStyle simpleLabelStyle = new Label.LabelStyle(Constants.LABEL_BACKGROUND_COLOR, uiFont);
+        simpleLabelStyle.setFontColor(Constants.LABEL_TEXT_COLOR);
         //Uncomment the line below for red debug lines.
         //simpleLabelStyle.setBorder(1, Color.RED);
         uiRenderer.putLabelStyle(Constants.SIMPLE_UI_STYLE, simpleLabelStyle);
         Label.LabelStyle buttonLabelStyle = new Label.LabelStyle(Constants.LABEL_BACKGROUND_COLOR, uiFont);
+        buttonLabelStyle.setFontColor(Constants.LABEL_TEXT_COLOR);
         buttonLabelStyle.setBorder(Constants.LABEL_BORDER_WIDTH, Constants.LABEL_BORDER_COLOR);
         uiRenderer.putLabelStyle(Constants.BUTTON_UI_STYLE, buttonLabelStyle);
     }
@@ -158,8 +183,8 @@ public class StartScreen extends InputAdapter implements Screen {
     }
 
     /**
-     * InputProcessor method responding to clicks.  Tests whether a difficulty option has been
-     * clicked and initializes the game as appropriate.
+     * InputProcessor method responding to clicks.  Tests whether a difficulty or the large board
+     * option has been clicked and initializes the game as appropriate.
      * @param screenX  Screen x-coordinate of click.
      * @param screenY  Screen y-coordinate of click.
      * @param pointer  Pointer number (irrelevant).
@@ -184,6 +209,10 @@ public class StartScreen extends InputAdapter implements Screen {
                 game.setGameScreen(difficulty);
                 return true;
             }
+            if (text.equals(Constants.LARGE_BOARD_LABEL_TEXT)) {
+                game.setLargeBoardGameScreen(GameManager.Difficulty.MEDIUM);
+                return true;
+            }
         }
         return false;
     }
@@ -201,12 +230,21 @@ public class StartScreen extends InputAdapter implements Screen {
 
     @Override
     public void hide() {
-        renderer.dispose();
-        batch.dispose();
         Gdx.input.setInputProcessor(null);
     }
 
     @Override
-    public void dispose() {}
+    public void dispose() {
+        if (viewport == null) return;
+        manager.dispose();
+        uiRenderer.dispose();
+        ResourceCache resources = game.getResources();
+        resources.release(whitePixel);
+        resources.release(titleFont);
+        resources.release(uiFont);
+        resources.release(renderer);
+        resources.release(batch);
+        viewport = null;
+    }
 
 }
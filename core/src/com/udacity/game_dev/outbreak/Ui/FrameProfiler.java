@@ -0,0 +1,235 @@
+package com.udacity.game_dev.outbreak.Ui;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Records how long each phase of a frame takes, along with draw calls, vertices, and heap use,
+ * over a fixed window of recent frames, and draws a summary overlay.  Nothing is recorded while
+ * the overlay is hidden, so the instrumentation calls cost only a branch, and recording itself
+ * only writes into preallocated arrays.  GC runs are not directly observable from portable code,
+ * so a drop in heap use between frames is counted as a collection.
+ */
+public class FrameProfiler {
+
+    //Phases of a frame that can be timed.  FRAME is the whole frame and is timed automatically.
+    public static final int UPDATE = 0;
+    public static final int WORLD_RENDER = 1;
+    public static final int UI_RENDER = 2;
+    public static final int BORDERS = 3;
+    public static final int FRAME = 4;
+    private static final int PHASE_COUNT = 5;
+    private static final String[] PHASE_NAMES = {"update", "world", "ui", "borders", "frame"};
+
+    private final UiRenderer uiRenderer;
+    private final Label.LabelStyle style;
+    private final int frameCount;
+    //Ring buffers indexed by [phase][frame] and [frame].
+    private final long[][] phaseNanos;
+    private final int[] drawCalls;
+    private final int[] vertices;
+    private final long[] heapDeltas;
+    private final long[] sorted;
+    private int cursor;
+    private int recordedFrames;
+
+    private boolean visible;
+    private final long[] phaseStarts;
+    private long frameStartHeap;
+    private long lastHeap;
+    private int gcCount;
+
+    private final StringBuilder text;
+    private BitmapFontCache textCache;
+    private float textWidth;
+    private float textHeight;
+    private long lastRefresh;
+
+    /**
+     * @param uiRenderer  UiRenderer used to draw the overlay background.
+     * @param style  Style whose font is used for the overlay text.
+     * @param frameCount  Number of recent frames to keep statistics for.
+     */
+    public FrameProfiler(UiRenderer uiRenderer, Label.LabelStyle style, int frameCount) {
+        this.uiRenderer = uiRenderer;
+        this.style = style;
+        this.frameCount = frameCount;
+        phaseNanos = new long[PHASE_COUNT][frameCount];
+        drawCalls = new int[frameCount];
+        vertices = new int[frameCount];
+        heapDeltas = new long[frameCount];
+        sorted = new long[frameCount];
+        phaseStarts = new long[PHASE_COUNT];
+        text = new StringBuilder(512);
+    }
+
+    /**
+     * Shows the overlay and starts recording, or hides it and stops.  GL call counting is only
+     * enabled while the overlay is shown, since it checks for GL errors after every call.
+     */
+    public void toggle() {
+        visible = !visible;
+        if (visible) {
+            cursor = 0;
+            recordedFrames = 0;
+            gcCount = 0;
+            lastHeap = Gdx.app.getJavaHeap();
+            lastRefresh = 0;
+            GLProfiler.enable();
+        } else {
+            GLProfiler.disable();
+        }
+    }
+
+    /**
+     * Returns whether the overlay is shown.
+     * @return  True if shown.
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Marks the start of a frame.  Call before any phases.
+     */
+    public void beginFrame() {
+        if (!visible) return;
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            phaseNanos[phase][cursor] = 0;
+        }
+        GLProfiler.reset();
+        frameStartHeap = Gdx.app.getJavaHeap();
+        phaseStarts[FRAME] = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Marks the start of a phase.
+     * @param phase  Phase, such as UPDATE.
+     */
+    public void begin(int phase) {
+        if (!visible) return;
+        phaseStarts[phase] = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Marks the end of a phase.  A phase may be timed more than once in a frame, and the times
+     * are added together.
+     * @param phase  Phase, such as UPDATE.
+     */
+    public void end(int phase) {
+        if (!visible) return;
+        phaseNanos[phase][cursor] += TimeUtils.nanoTime() - phaseStarts[phase];
+    }
+
+    /**
+     * Marks the end of a frame.  Call after all drawing for the frame has been flushed, so that
+     * every draw call is counted.
+     */
+    public void endFrame() {
+        if (!visible) return;
+        phaseNanos[FRAME][cursor] = TimeUtils.nanoTime() - phaseStarts[FRAME];
+        drawCalls[cursor] = GLProfiler.drawCalls;
+        vertices[cursor] = (int) GLProfiler.vertexCount.total;
+        long heap = Gdx.app.getJavaHeap();
+        if (heap < lastHeap) gcCount++;
+        heapDeltas[cursor] = heap - frameStartHeap;
+        lastHeap = heap;
+        cursor = (cursor + 1) % frameCount;
+        if (recordedFrames < frameCount) recordedFrames++;
+        long now = TimeUtils.nanoTime();
+        if (now - lastRefresh > Constants.PROFILER_REFRESH_INTERVAL * 1e9f) {
+            refreshText();
+            lastRefresh = now;
+        }
+    }
+
+    /**
+     * Draws the overlay into a batch that has already begun, with its top left corner at a point.
+     * @param batch  SpriteBatch to draw with.
+     * @param x  x-coordinate of top left corner.
+     * @param y  y-coordinate of top left corner.
+     */
+    public void draw(SpriteBatch batch, float x, float y) {
+        if (!visible || textCache == null) return;
+        float margin = Constants.PROFILER_MARGIN;
+        uiRenderer.drawRect(batch, x, y - textHeight - margin * 2, textWidth + margin * 2,
+                textHeight + margin * 2, Constants.PROFILER_BACKGROUND_COLOR);
+        textCache.setPosition(x + margin, y - margin);
+        textCache.draw(batch);
+    }
+
+    /**
+     * Rebuilds the overlay text from the recorded frames.
+     */
+    private void refreshText() {
+        text.setLength(0);
+        text.append("ms      p50 / p99 / max\n");
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            sortRecorded(phaseNanos[phase]);
+            text.append(PHASE_NAMES[phase]).append("  ");
+            appendMillis(percentile(0.5f));
+            text.append(" / ");
+            appendMillis(percentile(0.99f));
+            text.append(" / ");
+            appendMillis(sorted[recordedFrames - 1]);
+            text.append('\n');
+        }
+        int previous = (cursor + frameCount - 1) % frameCount;
+        text.append("draw calls ").append(drawCalls[previous]);
+        text.append("  vertices ").append(vertices[previous]).append('\n');
+        //Heap growth is averaged over frames without a collection, since those show the drop.
+        long heapGrowth = 0;
+        int growthFrames = 0;
+        for (int i = 0; i < recordedFrames; i++) {
+            if (heapDeltas[i] >= 0) {
+                heapGrowth += heapDeltas[i];
+                growthFrames++;
+            }
+        }
+        text.append("heap +").append(growthFrames == 0 ? 0 : (int) (heapGrowth / growthFrames));
+        text.append(" B/frame  gc ").append(gcCount);
+        if (textCache == null) textCache = style.font.newFontCache();
+        textCache.setColor(style.fontColor);
+        GlyphLayout layout = textCache.setText(text, 0, 0);
+        textWidth = layout.width;
+        textHeight = layout.height;
+    }
+
+    /**
+     * Copies the recorded values from a ring buffer into the sort buffer and sorts them.
+     * @param values  Ring buffer of values.
+     */
+    private void sortRecorded(long[] values) {
+        System.arraycopy(values, 0, sorted, 0, recordedFrames);
+        Arrays.sort(sorted, 0, recordedFrames);
+    }
+
+    /**
+     * Gets a percentile of the values in the sort buffer.
+     * @param fraction  Percentile as a fraction between 0 and 1.
+     * @return  Value at that percentile.
+     */
+    private long percentile(float fraction) {
+        return sorted[(int) Math.ceil(fraction * (recordedFrames - 1))];
+    }
+
+    /**
+     * Appends a duration in milliseconds with two decimal places, without allocating.
+     * @param nanos  Duration in nanoseconds.
+     */
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10000;
+        text.append((int) (hundredths / 100)).append('.');
+        int fraction = (int) (hundredths % 100);
+        if (fraction < 10) text.append('0');
+        text.append(fraction);
+    }
+}
@@ -2,10 +2,12 @@ package com.udacity.game_dev.outbreak.Ui;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
 
 /**
  * Rectangular label for displaying text with basic color and border features.
@@ -13,38 +15,47 @@ import com.badlogic.gdx.utils.Align;
 public class Label {
 
     Rectangle rect;
-    String text;
+    //Text is held in a reusable char buffer so that frequently changing labels, such as the score,
+    //can be updated without allocating a new String every frame.
+    final StringBuilder text;
     LabelStyle style;
-
-    public Label(float x, float y, float width, float height, String text) {
-        rect = new Rectangle(x, y, width, height);
-        this.text = text;
-        style = new LabelStyle();
-    }
+    //Glyph layout and vertices for the text, rebuilt only when the text or style changes.  Created
+    //with the label, so that a label first shown partway through a game does not allocate then.
+    private BitmapFontCache textCache;
+    private boolean textChanged;
+    private int cachedStyleRevision;
+    private boolean visible;
 
     public Label(float x, float y, float width, float height, String text, LabelStyle style) {
-        this(x, y, width, height, text);
+        rect = new Rectangle(x, y, width, height);
+        this.text = new StringBuilder(text);
+        textChanged = true;
         this.style = style;
+        textCache = style.font.newFontCache();
+        visible = true;
     }
 
     /**
-     * Draws the label itself.  This does not include label text.
-     * @param renderer  ShapeRenderer used to draw label.
+     * Draws the label itself.  This does not include label text.  Boxes are drawn by stretching a
+     * white pixel so that they can share a batch with the text.
+     * @param batch  SpriteBatch used to draw label.
+     * @param whitePixel  Region covering a single white pixel.
      */
-    public void renderLabel(ShapeRenderer renderer) {
+    public void renderLabel(SpriteBatch batch, TextureRegion whitePixel) {
         if (style.border) {
-            renderer.setColor(style.borderColor);
-            renderer.rect(rect.x, rect.y, rect.width, rect.height);
-            renderer.setColor(style.backgroundColor);
-            renderer.rect(
+            batch.setColor(style.borderColor);
+            batch.draw(whitePixel, rect.x, rect.y, rect.width, rect.height);
+            batch.setColor(style.backgroundColor);
+            batch.draw(
+                    whitePixel,
                     rect.x + style.borderWidth,
                     rect.y + style.borderWidth,
                     rect.width - style.borderWidth * 2,
                     rect.height - style.borderWidth * 2
             );
         } else {
-            renderer.setColor(style.backgroundColor);
-            renderer.rect(rect.x, rect.y, rect.width, rect.height);
+            batch.setColor(style.backgroundColor);
+            batch.draw(whitePixel, rect.x, rect.y, rect.width, rect.height);
         }
     }
 
@@ -53,33 +64,91 @@ public class Label {
      * @return  Label text.
      */
     public String getText() {
-        return text;
+        return text.toString();
+    }
+
+    /**
+     * Set the text of the Label.
+     * @param text  Desired text.
+     */
+    public void setText(CharSequence text) {
+        this.text.setLength(0);
+        this.text.append(text);
+        textChanged = true;
+    }
+
+    /**
+     * Set the text of the Label to a number, without allocating.
+     * @param value  Number to display.
+     */
+    public void setText(int value) {
+        text.setLength(0);
+        text.append(value);
+        textChanged = true;
+    }
+
+    /**
+     * Set the text of the Label to a caption followed by a number, without allocating.
+     * @param prefix  Text to display before the number.
+     * @param value  Number to display.
+     */
+    public void setText(CharSequence prefix, int value) {
+        text.setLength(0);
+        text.append(prefix);
+        text.append(value);
+        textChanged = true;
     }
 
     /**
-     * Render this Label's text.  To be called after the ShapeRenderer batch in which renderLabel()
-     * is called has been ended.
+     * Returns whether the Label is drawn and can be clicked.
+     * @return  True if visible, false otherwise.
+     */
+    public boolean getIsVisible() {
+        return visible;
+    }
+
+    /**
+     * Shows or hides the Label, so that it can be kept and reused rather than removed.
+     * @param visible  True to show the Label, false to hide it.
+     */
+    public void setIsVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    /**
+     * Render this Label's text.  To be called after renderLabel() so that the text appears above
+     * the label box.
      * @param batch  SpriteBatch to draw text with.
      */
     public void renderText(SpriteBatch batch) {
-        if (text.equals("")) return;
-        //This call to .draw() renders the text centered within the rectangle of the Label.  There
-        //if no guarantee, however, that the text will fit in the label.  If the font size is too
-        //large or the string is too long, there will be overflow.
-        style.font.draw(
-                batch,
-                text,
-                rect.x,
-                rect.y + rect.height / 2 + style.font.getXHeight() / 2,
-                rect.width,
-                Align.center,
-                false
-        );
+        if (text.length() == 0) return;
+        if (textCache.getFont() != style.font) {
+            textCache = style.font.newFontCache();
+            textChanged = true;
+        }
+        if (textChanged || cachedStyleRevision != style.revision) {
+            //The text is laid out centered within the rectangle of the Label.  There is no
+            //guarantee, however, that the text will fit in the label.  If the font size is too
+            //large or the string is too long, there will be overflow.
+            textCache.setColor(style.fontColor);
+            textCache.setText(
+                    text,
+                    rect.x,
+                    rect.y + rect.height / 2 + style.font.getXHeight() / 2,
+                    rect.width,
+                    Align.center,
+                    false
+            );
+            textChanged = false;
+            cachedStyleRevision = style.revision;
+        }
+        textCache.draw(batch);
     }
 
     /**
      * Contains style information for label, including font, text color, background color, and
-     * border information.
+     * border information.  Text color is kept here rather than on the font, so that fonts can be
+     * shared between styles and screens.
      */
     public static class LabelStyle {
 
@@ -88,24 +157,21 @@ public class Label {
         float borderWidth;
         Color borderColor;
         final BitmapFont font;
+        Color fontColor;
+        //Incremented whenever the font's appearance is changed through this style, so that labels
+        //know to lay out their text again.
+        int revision;
 
         public LabelStyle(Color color, BitmapFont font) {
             backgroundColor = color;
             this.font = font;
-        }
-
-        public LabelStyle(Color color) {
-            this(color, new BitmapFont());
+            fontColor = Color.WHITE;
         }
 
         public LabelStyle(BitmapFont font) {
             this(Color.BLACK, font);
         }
 
-        public LabelStyle() {
-            this(Color.BLACK, new BitmapFont());
-        }
-
         public void setColor(Color color) {
             backgroundColor = color;
         }
@@ -125,7 +191,8 @@ public class Label {
         }
 
         public void setFontColor(Color color) {
-            font.setColor(color);
+            fontColor = color;
+            revision++;
         }
 
     }
@@ -1,18 +1,35 @@
 package com.udacity.game_dev.outbreak.Ui;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
 
 import java.util.HashMap;
 
 /**
  * Class for creating, managing, and rendering a collection of UI labels and associated styles.
+ * Label boxes and text are drawn in a single SpriteBatch pass: boxes are drawn by stretching a
+ * white pixel found in the font's texture, so that as long as all fonts share one texture the
+ * whole UI is one draw call.
  */
-public class UiRenderer {
+public class UiRenderer implements Disposable {
+
+    private static final int WHITE_RGBA8888 = 0xffffffff;
 
     HashMap<String, Label.LabelStyle> styles;
     Array<Label> labels;
+    //Font of the first style added, whose texture the white pixel is taken from.
+    private BitmapFont atlasFont;
+    private TextureRegion whitePixel;
+    //Texture holding the white pixel if this renderer had to create one.
+    private Texture whitePixelTexture;
 
     public UiRenderer() {
         labels = new Array<Label>();
@@ -20,35 +37,131 @@ public class UiRenderer {
     }
 
     /**
-     * Renders all labels.
-     * @param  batch  SpriteBatch to draw label text with.
-     * @param  renderer  ShapeRenderer to draw label boxes with.
+     * Creates a UiRenderer that draws boxes with a white pixel that it does not own, such as one
+     * shared through ResourceCache.
+     * @param  whitePixel  Region covering one white pixel in the texture of the fonts to be used.
      */
-    public void render(SpriteBatch batch, ShapeRenderer renderer) {
-        //The ShapeRenderer batch must be ended before the SpriteBatch begins in order for the text
-        //to appear above the shapes.
-        renderer.begin(ShapeRenderer.ShapeType.Filled);
-        for (Label label : labels) {
-            label.renderLabel(renderer);
-        }
-        renderer.end();
+    public UiRenderer(TextureRegion whitePixel) {
+        this();
+        this.whitePixel = whitePixel;
+    }
+
+    /**
+     * Renders all labels in their own batch.
+     * @param  batch  SpriteBatch to draw labels with.
+     */
+    public void render(SpriteBatch batch) {
         batch.begin();
-        for (Label label : labels) {
-            label.renderText(batch);
-        }
+        draw(batch);
         batch.end();
     }
 
     /**
-     * Gets the first label in the label array that contains the specified point, or null if there
-     * is not one.
+     * Draws all labels into a batch that has already begun, so that other UI, such as lines drawn
+     * with drawRect(), can share the same pass.
+     * @param  batch  SpriteBatch to draw labels with.
+     */
+    public void draw(SpriteBatch batch) {
+        //All boxes are drawn before any text so that text always appears above the boxes.
+        for (int i = 0; i < labels.size; i++) {
+            Label label = labels.get(i);
+            if (label.getIsVisible()) label.renderLabel(batch, getWhitePixel());
+        }
+        batch.setColor(Color.WHITE);
+        for (int i = 0; i < labels.size; i++) {
+            Label label = labels.get(i);
+            if (label.getIsVisible()) label.renderText(batch);
+        }
+    }
+
+    /**
+     * Draws a filled rectangle into a batch that has already begun.
+     * @param  batch  SpriteBatch to draw with.
+     * @param  x  x-coordinate of lower left corner.
+     * @param  y  y-coordinate of lower left corner.
+     * @param  width  Width.
+     * @param  height  Height.
+     * @param  color  Fill color.
+     */
+    public void drawRect(SpriteBatch batch, float x, float y, float width, float height, Color color) {
+        batch.setColor(color);
+        batch.draw(getWhitePixel(), x, y, width, height);
+        batch.setColor(Color.WHITE);
+    }
+
+    /**
+     * Gets the white pixel used to draw boxes, finding it in the texture of the first label style's
+     * font if it has not been found yet.
+     * @return  Region covering one white pixel.
+     */
+    private TextureRegion getWhitePixel() {
+        if (whitePixel == null) {
+            whitePixel = createWhitePixel(atlasFont);
+            if (atlasFont == null || whitePixel.getTexture() != atlasFont.getRegion().getTexture()) {
+                whitePixelTexture = whitePixel.getTexture();
+            }
+        }
+        return whitePixel;
+    }
+
+    /**
+     * Gets a white pixel in a font's texture, or in a new 1x1 texture if the font has none.  The
+     * caller owns the new texture in the second case.
+     * @param  font  Font whose texture to search, or null to always create a texture.
+     * @return  Region covering one white pixel.
+     */
+    public static TextureRegion createWhitePixel(BitmapFont font) {
+        TextureRegion whitePixel = font == null ? null : findWhitePixel(font);
+        if (whitePixel == null) {
+            Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+            pixmap.setColor(Color.WHITE);
+            pixmap.fill();
+            Texture texture = new Texture(pixmap);
+            pixmap.dispose();
+            whitePixel = new TextureRegion(texture);
+        }
+        return whitePixel;
+    }
+
+    /**
+     * Finds a fully opaque white pixel in a font's texture, by searching the font's page image.
+     * @param  font  Font whose texture to use.
+     * @return  Region sampling only the center of that pixel, so that it stays pure white however
+     *          far it is stretched or filtered, or null if no such pixel exists.
+     */
+    private static TextureRegion findWhitePixel(BitmapFont font) {
+        BitmapFont.BitmapFontData data = font.getData();
+        FileHandle file = Gdx.files.getFileHandle(data.imagePaths[0], data.fontFile.type());
+        Texture texture = font.getRegion().getTexture();
+        if (!file.exists()) return null;
+        Pixmap page = new Pixmap(file);
+        try {
+            if (page.getWidth() != texture.getWidth() || page.getHeight() != texture.getHeight()) return null;
+            for (int y = 0; y < page.getHeight(); y++) {
+                for (int x = 0; x < page.getWidth(); x++) {
+                    if (page.getPixel(x, y) == WHITE_RGBA8888) {
+                        float u = (x + 0.5f) / texture.getWidth();
+                        float v = (y + 0.5f) / texture.getHeight();
+                        return new TextureRegion(texture, u, v, u, v);
+                    }
+                }
+            }
+            return null;
+        } finally {
+            page.dispose();
+        }
+    }
+
+    /**
+     * Gets the first visible label in the label array that contains the specified point, or null
+     * if there is not one.
      * @param  x  x-coordinate in world coordinates.
      * @param  y  y-coordinate in world coordinates.
      * @return   Label containing the given point, null if none exits.
      */
     public Label getLabelAtPoint(float x, float y) {
         for (Label label : labels) {
-            if (label.rect.contains(x, y)) {
+            if (label.getIsVisible() && label.rect.contains(x, y)) {
                 return label;
             }
         }
@@ -82,7 +195,7 @@ public class UiRenderer {
      */
     public String getLabelText(int index) {
         if (index >= 0 && index < labels.size) {
-            return labels.get(index).text;
+            return labels.get(index).getText();
         }
         return null;
     }
@@ -94,7 +207,42 @@ public class UiRenderer {
      */
     public void setLabelText(int index, String text) {
         if (index >= 0 && index < labels.size) {
-            labels.get(index).text = text;
+            labels.get(index).setText(text);
+        }
+    }
+
+    /**
+     * Sets the text of a label identified by index to a number, without allocating.
+     * @param  index  Index of label to change.
+     * @param  value  Number to display.
+     */
+    public void setLabelText(int index, int value) {
+        if (index >= 0 && index < labels.size) {
+            labels.get(index).setText(value);
+        }
+    }
+
+    /**
+     * Sets the text of a label identified by index to a caption followed by a number, without
+     * allocating.
+     * @param  index  Index of label to change.
+     * @param  prefix  Text to display before the number.
+     * @param  value  Number to display.
+     */
+    public void setLabelText(int index, CharSequence prefix, int value) {
+        if (index >= 0 && index < labels.size) {
+            labels.get(index).setText(prefix, value);
+        }
+    }
+
+    /**
+     * Shows or hides a label identified by index.
+     * @param  index  Index of label to change.
+     * @param  visible  True to show the label, false to hide it.
+     */
+    public void setLabelVisible(int index, boolean visible) {
+        if (index >= 0 && index < labels.size) {
+            labels.get(index).setIsVisible(visible);
         }
     }
 
@@ -105,6 +253,7 @@ public class UiRenderer {
      */
     public void putLabelStyle(String key, Label.LabelStyle style) {
         styles.put(key, style);
+        if (atlasFont == null) atlasFont = style.font;
     }
 
     /**
@@ -122,4 +271,14 @@ public class UiRenderer {
     public void clear() {
         labels.clear();
     }
+
+    /**
+     * Frees the white pixel texture, if one had to be created.
+     */
+    @Override
+    public void dispose() {
+        if (whitePixelTexture != null) whitePixelTexture.dispose();
+        whitePixelTexture = null;
+        whitePixel = null;
+    }
 }
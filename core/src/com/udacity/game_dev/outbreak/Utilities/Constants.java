@@ -10,6 +10,40 @@ public class Constants {
     public static final float WORLD_WIDTH = 640;
     public static final float WORLD_HEIGHT = 450;
     public static final float TOP_UI_HEIGHT = 50;
+    public static final float BORDER_LINE_WIDTH = 1;
+
+    public static final float SIMULATION_TICK_RATE = 60;
+    public static final int MAX_SIMULATION_TICKS_PER_FRAME = 5;
+    //Ticks that can be made up in the first frame after rendering was paused while idle.  Idle
+    //games wake at least once a second to tick the HUD clock over.
+    public static final int MAX_IDLE_SIMULATION_TICKS = 120;
+    public static final String REPLAY_FILE = "replays/last-game.obr";
+    //Input runs a replay has room for before it grows.  Autopilot games record about 700, and
+    //none of six thousand recorded more than 2300.
+    public static final int REPLAY_INITIAL_RUNS = 4096;
+    //Game in progress when the app was paused, resumed the next time its screen is shown.
+    public static final String SUSPENDED_REPLAY_FILE = "replays/suspended.obr";
+    public static final String SUSPENDED_GAME_FILE = "replays/suspended.obs";
+    //Ticks of history kept for rewinding games on standard boards, and ticks rewound per frame.
+    public static final int REWIND_TICKS = 300;
+    public static final int REWIND_TICKS_PER_FRAME = 2;
+    //Every finished game on a standard board is appended to the log; the index holds the best
+    //scores as of some point in the log, rewritten after HIGH_SCORE_INDEX_INTERVAL more games.
+    public static final String HIGH_SCORE_LOG_FILE = "scores/high-scores.log";
+    public static final String HIGH_SCORE_INDEX_FILE = "scores/high-scores.idx";
+    public static final int HIGH_SCORE_TABLE_SIZE = 10;
+    public static final int HIGH_SCORE_INDEX_INTERVAL = 256;
+    //Longest wait, in milliseconds, for queued scores to be written when the app exits.
+    public static final long HIGH_SCORE_CLOSE_TIMEOUT = 2000;
+    //Gameplay events of each session go to a new file in this directory, written in batches by a
+    //background writer that wakes every TELEMETRY_WRITE_INTERVAL milliseconds, or sooner once its
+    //queue is half full.
+    public static final String TELEMETRY_DIRECTORY = "telemetry/";
+    public static final int TELEMETRY_QUEUE_CAPACITY = 4096;
+    public static final long TELEMETRY_WRITE_INTERVAL = 250;
+    public static final long TELEMETRY_CLOSE_TIMEOUT = 2000;
+    //Longest acceptable time, in seconds, from choosing a game to the end of its first frame.
+    public static final float TIME_TO_INTERACTIVE_BUDGET = 1 / 60f;
 
     public static final int STARTING_LIVES = 4;
 
@@ -34,6 +68,15 @@ public class Constants {
     public static final float BLOCK_WIDTH = 64;
     public static final float BLOCK_HEIGHT = 25;
     public static final float BLOCK_BORDER_WIDTH = 2;
+    //Blocks are stored and drawn in square chunks of this many cells on a side.
+    public static final int BLOCK_CHUNK_SIZE = 32;
+    //Boards with up to this many cells have all of their chunks created up front.
+    public static final int MAX_EAGER_BLOCK_CELLS = 65536;
+    public static final int MAX_BOARD_SIZE = 10000;
+    public static final int LARGE_BOARD_ROWS = 10000;
+    public static final int LARGE_BOARD_COLUMNS = 10000;
+    //Height of the open area between the blocks and the bottom of the stage on a large board.
+    public static final float LARGE_BOARD_OPEN_HEIGHT = 240;
     public static final Color[] BLOCK_HEALTH_COLORS = new Color[] {
             Color.RED,
             Color.PURPLE,
@@ -44,6 +87,13 @@ public class Constants {
     public static final float BALL_SPEED_EASY = 180;
     public static final float BALL_SPEED_MEDIUM = 210;
     public static final float BALL_SPEED_HARD = 240;
+    public static final int MAX_BALL_BOUNCES_PER_TICK = 8;
+    public static final int MULTI_BALL_COUNT = 12;
+    //Game events that can be queued in a tick before the event bus is drained early.
+    public static final int GAME_EVENT_CAPACITY = 256;
+    //Blocks a player must destroy in versus mode to send one garbage block to the opponent.
+    public static final int VERSUS_BLOCKS_PER_GARBAGE = 3;
+    public static final float MULTI_BALL_SPREAD_ANGLE = 100;
     public static final Color BALL_COLOR = Color.WHITE;
 
     public static final float PADDLE_SPEED = 150;
@@ -52,6 +102,14 @@ public class Constants {
     public static final Color PADDLE_COLOR = Color.LIGHT_GRAY;
     public static final float PADDLE_TRAJECTORY_ORIGIN_DEPTH = 20;
 
+    //Number of path segments the autopilot may trace per simulation tick, and their length.
+    public static final int AUTOPILOT_TRACE_BUDGET = 8;
+    public static final float AUTOPILOT_TRACE_STEP = 100;
+    //Segments after which the autopilot gives up on a prediction and follows the ball instead.
+    public static final int AUTOPILOT_MAX_TRACE_SEGMENTS = 512;
+    //How far from the paddle center the autopilot aims, as a fraction of half the paddle width.
+    public static final float AUTOPILOT_AIM_RANGE = 0.8f;
+
     public static final float NORMAL_TEXT_FONT_SCALE = 1f;
     public static final float NORMAL_LABEL_WIDTH = 100;
     public static final float NORMAL_LABEL_HEIGHT = 25;
@@ -63,11 +121,22 @@ public class Constants {
     public static final Color LABEL_TEXT_COLOR = Color.WHITE;
     public static final Color LABEL_BORDER_COLOR = Color.WHITE;
 
+    public static final int PROFILER_FRAME_COUNT = 300;
+    public static final float PROFILER_REFRESH_INTERVAL = 0.25f;
+    public static final float PROFILER_MARGIN = 4;
+    public static final Color PROFILER_BACKGROUND_COLOR = new Color(0, 0, 0, 0.75f);
+
+    //Seconds between soak test reports.
+    public static final float SOAK_REPORT_INTERVAL = 60;
+    //Seconds between reports of frames rendered while idle.
+    public static final float IDLE_REPORT_INTERVAL = 60;
+
     public static final String TITLE_LABEL_TEXT = "OUTBREAK";
     public static final String DIFFICULTY_SELECT_LABEL_TEXT = "Choose a difficulty level: ";
     public static final String EASY_LABEL_TEXT = "Easy";
     public static final String NORMAL_LABEL_TEXT = "Normal";
     public static final String HARD_LABEL_TEXT = "Hard";
+    public static final String LARGE_BOARD_LABEL_TEXT = "Huge board";
     public static final String SCORE_LABEL_TEXT = "Score:";
     public static final String LIVES_LABEL_TEXT = "Lives:";
     public static final String TIME_LABEL_TEXT = "Time:";
@@ -75,10 +144,16 @@ public class Constants {
     public static final String GAME_OVER_LABEL_TEXT = "Game Over!";
     public static final String PLAY_AGAIN_TEXT = "Press spacebar to play again";
     public static final String RETURN_TO_TITLE_TEXT = "Press escape to return to title";
+    public static final String HIGH_SCORE_LABEL_TEXT = "Best:";
+    public static final String NEW_HIGH_SCORE_TEXT = "New high score!";
 
     public static final String SIMPLE_UI_STYLE = "simpleUiStyle";
     public static final String END_GAME_UI_STYLE = "endGameUiStyle";
     public static final String TITLE_UI_STYLE = "titleUiStyle";
     public static final String BUTTON_UI_STYLE = "buttonUiStyle";
 
+    //Keys of the fonts held by ResourceCache.
+    public static final String NORMAL_FONT = "normalFont";
+    public static final String LARGE_FONT = "largeFont";
+
 }
@@ -0,0 +1,75 @@
+package com.udacity.game_dev.outbreak.Utilities;
+
+/**
+ * Accumulates frame time and converts it into a whole number of fixed-length simulation ticks, so
+ * that the game simulation behaves identically regardless of the display's frame rate.
+ */
+public class FixedTimestep {
+
+    private final float tickDuration;
+    private final int maxTicksPerFrame;
+    private float accumulator;
+
+    /**
+     * @param tickRate  Simulation ticks per second.
+     * @param maxTicksPerFrame  Maximum number of ticks to run in one frame.  Any time beyond this
+     *                          is discarded, so a long stall slows the game down rather than
+     *                          producing a burst of catch-up ticks.
+     */
+    public FixedTimestep(float tickRate, int maxTicksPerFrame) {
+        tickDuration = 1 / tickRate;
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    /**
+     * Adds frame time to the accumulator and consumes as many whole ticks as are available.
+     * @param delta  Time since prior frame.
+     * @return  Number of ticks the simulation should run this frame.
+     */
+    public int advance(float delta) {
+        return advance(delta, maxTicksPerFrame);
+    }
+
+    /**
+     * Adds frame time to the accumulator and consumes as many whole ticks as are available, up to
+     * a given limit rather than the usual maximum per frame.
+     * @param delta  Time since prior frame.
+     * @param maxTicks  Maximum number of ticks to run.
+     * @return  Number of ticks the simulation should run this frame.
+     */
+    public int advance(float delta, int maxTicks) {
+        accumulator += delta;
+        int ticks = (int) (accumulator / tickDuration);
+        if (ticks > maxTicks) {
+            ticks = maxTicks;
+            accumulator = 0;
+        } else {
+            accumulator -= ticks * tickDuration;
+        }
+        return ticks;
+    }
+
+    /**
+     * Gets the fraction of a tick left over in the accumulator, used to interpolate rendering
+     * between the last two simulation states.
+     * @return  Interpolation factor between 0 and 1.
+     */
+    public float getAlpha() {
+        return Math.min(accumulator / tickDuration, 1);
+    }
+
+    /**
+     * Gets the length of one simulation tick.
+     * @return  Tick duration in seconds.
+     */
+    public float getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * Discards any accumulated time, used when the simulation is restarted.
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.udacity.game_dev.outbreak.Utilities;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Stops rendering frames while nothing on screen is changing.  A screen that has nothing to
+ * animate calls requestIdle() during its frame, and at the end of the frame continuous rendering is
+ * switched off, so that the next frame is rendered only when an input event arrives, or when a
+ * Timer wakes the app at the time the screen said something would next change.  The first frame
+ * in which no screen asks to stay idle switches continuous rendering back on.
+ *
+ * As a proxy for the energy saved, frames rendered and time spent while idle and while active are
+ * counted, and logged at a fixed interval of real time whenever any of it was spent idle.
+ */
+public class RenderThrottle {
+
+    //Wake delay for screens that change only in response to input.
+    public static final float NO_WAKE = -1;
+
+    private final String tag;
+    private final long reportInterval;
+    private final StringBuilder text;
+    private final Timer.Task wakeTask;
+
+    private boolean idleRequested;
+    private float wakeDelay;
+    //True while continuous rendering is off.
+    private boolean throttled;
+
+    private long lastFrameStart;
+    private long reportStart;
+    private long idleNanos;
+    private long activeNanos;
+    private int idleFrames;
+    private int activeFrames;
+
+    /**
+     * @param tag  Tag for log messages.
+     * @param reportInterval  Seconds between reports.
+     */
+    public RenderThrottle(String tag, float reportInterval) {
+        this.tag = tag;
+        this.reportInterval = (long) (reportInterval * 1e9);
+        text = new StringBuilder(128);
+        wakeTask = new Timer.Task() {
+            @Override
+            public void run() {
+                Gdx.graphics.requestRendering();
+            }
+        };
+        lastFrameStart = TimeUtils.nanoTime();
+        reportStart = lastFrameStart;
+    }
+
+    /**
+     * Called at the start of every frame.  The time since the last frame is counted as idle if
+     * continuous rendering was off while waiting for this one.
+     */
+    public void beginFrame() {
+        long now = TimeUtils.nanoTime();
+        if (throttled) {
+            idleNanos += now - lastFrameStart;
+            idleFrames++;
+        } else {
+            activeNanos += now - lastFrameStart;
+            activeFrames++;
+        }
+        lastFrameStart = now;
+        if (now - reportStart >= reportInterval) {
+            if (idleNanos > 0) report();
+            idleNanos = 0;
+            activeNanos = 0;
+            idleFrames = 0;
+            activeFrames = 0;
+            reportStart = now;
+        }
+    }
+
+    /**
+     * Asks for no more frames to be rendered until input arrives or a delay has passed.  Must be
+     * called in every frame the screen is to stay idle.
+     * @param wakeDelay  Seconds until the screen next changes without input, or NO_WAKE.
+     */
+    public void requestIdle(float wakeDelay) {
+        idleRequested = true;
+        this.wakeDelay = wakeDelay;
+    }
+
+    /**
+     * Called at the end of every frame.  Switches continuous rendering off and schedules the
+     * wake-up if idle was requested during the frame, and back on otherwise.
+     */
+    public void endFrame() {
+        if (idleRequested) {
+            if (!throttled) {
+                Gdx.graphics.setContinuousRendering(false);
+                throttled = true;
+            }
+            wakeTask.cancel();
+            if (wakeDelay >= 0) Timer.schedule(wakeTask, wakeDelay);
+        } else if (throttled) {
+            wakeTask.cancel();
+            Gdx.graphics.setContinuousRendering(true);
+            throttled = false;
+        }
+        idleRequested = false;
+    }
+
+    /**
+     * Logs frames rendered per minute while idle and while active in the current interval.
+     */
+    private void report() {
+        text.setLength(0);
+        text.append("idle ").append(idleNanos / 1000000000L).append(" s, ").append(idleFrames);
+        text.append(" frames (").append(getPerMinute(idleFrames, idleNanos)).append("/min); active ");
+        text.append(activeNanos / 1000000000L).append(" s, ").append(activeFrames).append(" frames (");
+        text.append(getPerMinute(activeFrames, activeNanos)).append("/min)");
+        Gdx.app.log(tag, text.toString());
+    }
+
+    private static long getPerMinute(int frames, long nanos) {
+        return nanos == 0 ? 0 : frames * 60000000000L / nanos;
+    }
+
+    /**
+     * Tests whether continuous rendering is off.
+     * @return  True while idle.
+     */
+    public boolean isThrottled() {
+        return throttled;
+    }
+
+    /**
+     * Cancels any pending wake-up and switches continuous rendering back on.
+     */
+    public void dispose() {
+        wakeTask.cancel();
+        if (throttled) Gdx.graphics.setContinuousRendering(true);
+        throttled = false;
+    }
+}
@@ -0,0 +1,157 @@
+package com.udacity.game_dev.outbreak.Utilities;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.udacity.game_dev.outbreak.Ui.UiRenderer;
+
+/**
+ * Reference-counted store of the fonts, batches, and renderers shared by every screen.  Screens
+ * are kept between visits, so each acquires what it needs once, when it is built (in prepare() for
+ * GameScreen, on the first show() for StartScreen), and releases it in dispose().  Resources are
+ * created on first use and kept when their count falls to zero, so that moving between screens
+ * never reloads a font texture or reallocates a batch; everything is freed when the cache is
+ * disposed.  All fonts share the texture of the first font loaded, so that text in every font can
+ * be drawn in one batch.
+ */
+public class ResourceCache implements Disposable {
+
+    private static final String BATCH = "batch";
+    private static final String SHAPE_RENDERER = "shapeRenderer";
+    private static final String WHITE_PIXEL = "whitePixel";
+
+    private final ObjectMap<String, Object> resources;
+    private final ObjectIntMap<String> references;
+    //Font that loaded the shared font texture, which must be disposed after every other font.
+    private BitmapFont textureFont;
+    //Texture made for the white pixel if none was found in the font texture.
+    private Texture whitePixelTexture;
+
+    public ResourceCache() {
+        resources = new ObjectMap<String, Object>();
+        references = new ObjectIntMap<String>();
+    }
+
+    /**
+     * Acquires a font.
+     * @param key  NORMAL_FONT or LARGE_FONT.
+     * @return  Font scaled for the given key.
+     */
+    public BitmapFont acquireFont(String key) {
+        BitmapFont font = (BitmapFont) resources.get(key);
+        if (font == null) {
+            if (textureFont == null) {
+                font = new BitmapFont();
+                font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+                textureFont = font;
+            } else {
+                font = new BitmapFont(textureFont.getData().fontFile, textureFont.getRegion(), false);
+            }
+            font.getData().setScale(getFontScale(key));
+            resources.put(key, font);
+        }
+        references.getAndIncrement(key, 0, 1);
+        return font;
+    }
+
+    /**
+     * Acquires the shared SpriteBatch.  Users must set its projection matrix before each use.
+     * @return  SpriteBatch.
+     */
+    public SpriteBatch acquireBatch() {
+        SpriteBatch batch = (SpriteBatch) resources.get(BATCH);
+        if (batch == null) {
+            batch = new SpriteBatch();
+            resources.put(BATCH, batch);
+        }
+        references.getAndIncrement(BATCH, 0, 1);
+        return batch;
+    }
+
+    /**
+     * Acquires the shared ShapeRenderer.  Users must set its projection matrix before each use.
+     * @return  ShapeRenderer.
+     */
+    public ShapeRenderer acquireShapeRenderer() {
+        ShapeRenderer renderer = (ShapeRenderer) resources.get(SHAPE_RENDERER);
+        if (renderer == null) {
+            renderer = new ShapeRenderer();
+            resources.put(SHAPE_RENDERER, renderer);
+        }
+        references.getAndIncrement(SHAPE_RENDERER, 0, 1);
+        return renderer;
+    }
+
+    /**
+     * Acquires a region covering one white pixel in the shared font texture, for drawing UI boxes
+     * in the same batch as text.
+     * @return  White pixel region.
+     */
+    public TextureRegion acquireWhitePixel() {
+        TextureRegion whitePixel = (TextureRegion) resources.get(WHITE_PIXEL);
+        if (whitePixel == null) {
+            BitmapFont font = acquireFont(Constants.NORMAL_FONT);
+            whitePixel = UiRenderer.createWhitePixel(font);
+            if (whitePixel.getTexture() != font.getRegion().getTexture()) {
+                whitePixelTexture = whitePixel.getTexture();
+            }
+            release(font);
+            resources.put(WHITE_PIXEL, whitePixel);
+        }
+        references.getAndIncrement(WHITE_PIXEL, 0, 1);
+        return whitePixel;
+    }
+
+    /**
+     * Releases a resource acquired from this cache.  The resource is kept for reuse.
+     * @param resource  Resource to release.
+     */
+    public void release(Object resource) {
+        String key = resources.findKey(resource, true);
+        if (key == null) throw new GdxRuntimeException("Resource was not acquired from this cache: " + resource);
+        if (references.get(key, 0) <= 0) throw new GdxRuntimeException("Resource released too many times: " + key);
+        references.getAndIncrement(key, 0, -1);
+    }
+
+    /**
+     * Gets the number of unreleased references to a resource.
+     * @param key  Resource key, such as NORMAL_FONT.
+     * @return  Reference count, or 0 if the resource has not been created.
+     */
+    public int getReferenceCount(String key) {
+        return references.get(key, 0);
+    }
+
+    /**
+     * Frees every resource.  Resources that are still referenced are reported as leaks.
+     */
+    @Override
+    public void dispose() {
+        for (ObjectMap.Entry<String, Object> entry : resources.entries()) {
+            int count = references.get(entry.key, 0);
+            if (count > 0) Gdx.app.error("ResourceCache", entry.key + " disposed with " + count + " references");
+            if (entry.value instanceof Disposable && entry.value != textureFont) {
+                ((Disposable) entry.value).dispose();
+            }
+        }
+        if (textureFont != null) textureFont.dispose();
+        if (whitePixelTexture != null) whitePixelTexture.dispose();
+        textureFont = null;
+        whitePixelTexture = null;
+        resources.clear();
+        references.clear();
+    }
+
+    private static float getFontScale(String key) {
+        if (key.equals(Constants.NORMAL_FONT)) return Constants.NORMAL_TEXT_FONT_SCALE;
+        if (key.equals(Constants.LARGE_FONT)) return Constants.LARGE_TEXT_FONT_SCALE;
+        throw new IllegalArgumentException("Unknown font: " + key);
+    }
+}
@@ -0,0 +1,153 @@
+package com.udacity.game_dev.outbreak.Utilities;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Collects frame times and heap use over a long unattended run, and logs a report at a fixed
+ * interval of real time.  Each report gives frame time percentiles for its own
+ * interval, so that drift shows up as later reports getting slower, along with the heap in use
+ * and its change since the first report, so that leaks show up as steady growth.  Frame times are
+ * counted in a fixed histogram with sixteen buckets per power of two nanoseconds, which keeps
+ * every percentile within about 6% whether a frame takes nanoseconds or seconds, and means
+ * recording a frame never allocates.
+ */
+public class SoakMonitor {
+
+    //Buckets per power of two, and its base two logarithm.
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String tag;
+    private final long reportInterval;
+    private final int[] histogram;
+    private final StringBuilder text;
+    private final long startTime;
+    private long intervalStart;
+    private int frames;
+    private long maxNanos;
+    private long peakHeap;
+    private long firstHeap;
+    private int reports;
+    private long totalFrames;
+
+    /**
+     * @param tag  Tag for log messages.
+     * @param reportInterval  Seconds between reports.
+     */
+    public SoakMonitor(String tag, float reportInterval) {
+        this.tag = tag;
+        this.reportInterval = (long) (reportInterval * 1e9);
+        histogram = new int[BUCKETS];
+        text = new StringBuilder(256);
+        startTime = TimeUtils.nanoTime();
+        intervalStart = startTime;
+        firstHeap = -1;
+    }
+
+    /**
+     * Records one frame, and logs a report if the report interval has passed.
+     * @param nanos  Time the frame took, in nanoseconds.
+     */
+    public void recordFrame(long nanos) {
+        histogram[getBucket(nanos)]++;
+        maxNanos = Math.max(maxNanos, nanos);
+        frames++;
+        totalFrames++;
+        long heap = Gdx.app.getJavaHeap();
+        peakHeap = Math.max(peakHeap, heap);
+        long now = TimeUtils.nanoTime();
+        if (now - intervalStart >= reportInterval) {
+            report(heap, now);
+        }
+    }
+
+    /**
+     * Logs the statistics for the current interval and starts a new one.
+     * @param heap  Heap in use now.
+     * @param now  Current time in nanoseconds.
+     */
+    private void report(long heap, long now) {
+        if (firstHeap < 0) firstHeap = heap;
+        reports++;
+        text.setLength(0);
+        text.append("report ").append(reports).append(" at ").append((now - startTime) / 1000000000L).append(" s: ");
+        text.append(frames).append(" frames, p50 ");
+        appendMicros(getPercentile(0.5f));
+        text.append(" us, p90 ");
+        appendMicros(getPercentile(0.9f));
+        text.append(" us, p99 ");
+        appendMicros(getPercentile(0.99f));
+        text.append(" us, max ");
+        appendMicros(maxNanos);
+        text.append(" us, heap ").append(heap / 1024).append(" KB (peak ").append(peakHeap / 1024);
+        text.append(" KB, ").append(heap >= firstHeap ? "+" : "").append((heap - firstHeap) / 1024);
+        text.append(" KB since first report)");
+        Gdx.app.log(tag, text.toString());
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = 0;
+        }
+        frames = 0;
+        maxNanos = 0;
+        peakHeap = 0;
+        intervalStart = now;
+    }
+
+    /**
+     * Gets a frame time percentile for the current interval.
+     * @param fraction  Fraction of frames, between 0 and 1, that are no slower than the result.
+     * @return  Frame time in nanoseconds, to the resolution of its histogram bucket.
+     */
+    public long getPercentile(float fraction) {
+        int rank = (int) Math.ceil(fraction * frames);
+        int count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += histogram[i];
+            if (count >= rank && count > 0) return getBucketLimit(i);
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of frames recorded since the run began.
+     * @return  Frame count.
+     */
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    /**
+     * Appends a time in microseconds with two decimal places.
+     * @param nanos  Time in nanoseconds.
+     */
+    private void appendMicros(long nanos) {
+        int hundredths = (int) (nanos / 10 % 100);
+        text.append(nanos / 1000).append(hundredths < 10 ? ".0" : ".").append(hundredths);
+    }
+
+    /**
+     * Gets the histogram bucket for a time.  Times below SUB_BUCKETS nanoseconds get a bucket
+     * each; above that, each power of two is split into SUB_BUCKETS equal buckets.
+     * @param nanos  Time in nanoseconds.
+     * @return  Bucket index.
+     */
+    private static int getBucket(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) Math.max(nanos, 0);
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the smallest time that falls in a histogram bucket.
+     * @param bucket  Bucket index.
+     * @return  Time in nanoseconds.
+     */
+    private static long getBucketLimit(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+}
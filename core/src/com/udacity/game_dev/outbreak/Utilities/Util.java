@@ -1,8 +1,6 @@
 package com.udacity.game_dev.outbreak.Utilities;
 
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Utility methods.
@@ -42,6 +40,113 @@ public class Util {
         }
     }
 
+    /**
+     * Finds the time of impact between a moving circle and a stationary rectangle.  The circle
+     * collides with the rectangle exactly when its center enters the rectangle grown outward by the
+     * radius with rounded corners, so the test is a ray cast against that shape: first against the
+     * grown rectangle's flat faces, then, if the entry point lies beyond a corner of the original
+     * rectangle, against a circle of the given radius centered on that corner.
+     * A circle that already overlaps the rectangle, or that is moving away from the surface it
+     * would hit, is not reported as a collision so that a circle resting against a surface after
+     * a bounce is free to move off of it.
+     * @param  circX       The x coordinate of the circle's center at the start of motion.
+     * @param  circY       The y coordinate of the circle's center at the start of motion.
+     * @param  dx          Horizontal motion of the circle.
+     * @param  dy          Vertical motion of the circle.
+     * @param  radius      The circle's radius.
+     * @param  rectX       The x coordinate of the rectangle's bottom left corner.
+     * @param  rectY       The y coordinate of the rectangle's bottom left corner.
+     * @param  rectWidth   The rectangle's width.
+     * @param  rectHeight  The rectangle's height.
+     * @param  normal      Set to the unit surface normal at the point of impact, if there is one.
+     * @return  Fraction of the motion completed at the time of impact, between 0 and 1, or -1 if
+     *          the circle does not hit the rectangle during the motion.
+     */
+    public static float sweepCircleRect(float circX, float circY, float dx, float dy, float radius,
+                                        float rectX, float rectY, float rectWidth, float rectHeight,
+                                        Vector2 normal) {
+        float right = rectX + rectWidth;
+        float top = rectY + rectHeight;
+        //Slab test against the rectangle grown by the radius on every side.
+        float tEnter = 0;
+        float tExit = 1;
+        float enterNormalX = 0;
+        float enterNormalY = 0;
+        if (dx == 0) {
+            if (circX < rectX - radius || circX > right + radius) return -1;
+        } else {
+            float t1 = (rectX - radius - circX) / dx;
+            float t2 = (right + radius - circX) / dx;
+            float near = Math.min(t1, t2);
+            float far = Math.max(t1, t2);
+            if (near > tEnter) {
+                tEnter = near;
+                enterNormalX = dx > 0 ? -1 : 1;
+                enterNormalY = 0;
+            }
+            tExit = Math.min(tExit, far);
+        }
+        if (dy == 0) {
+            if (circY < rectY - radius || circY > top + radius) return -1;
+        } else {
+            float t1 = (rectY - radius - circY) / dy;
+            float t2 = (top + radius - circY) / dy;
+            float near = Math.min(t1, t2);
+            float far = Math.max(t1, t2);
+            if (near > tEnter) {
+                tEnter = near;
+                enterNormalX = 0;
+                enterNormalY = dy > 0 ? -1 : 1;
+            }
+            tExit = Math.min(tExit, far);
+        }
+        if (tEnter > tExit) return -1;
+        //Check whether the entry point is beyond a corner of the original rectangle, in which case
+        //the real surface there is the rounded corner.
+        float hitX = circX + dx * tEnter;
+        float hitY = circY + dy * tEnter;
+        float cornerX = hitX < rectX ? rectX : (hitX > right ? right : hitX);
+        float cornerY = hitY < rectY ? rectY : (hitY > top ? top : hitY);
+        if (hitX != cornerX && hitY != cornerY) {
+            return sweepCircleCorner(circX, circY, dx, dy, radius, cornerX, cornerY, normal);
+        }
+        //A zero entry time with no entry face means the circle started inside the grown rectangle.
+        if (enterNormalX == 0 && enterNormalY == 0) return -1;
+        normal.set(enterNormalX, enterNormalY);
+        return tEnter;
+    }
+
+    /**
+     * Finds the time of impact between a moving circle and a stationary point, which is a ray cast
+     * against a circle of the same radius around that point.
+     * @param  circX    The x coordinate of the circle's center at the start of motion.
+     * @param  circY    The y coordinate of the circle's center at the start of motion.
+     * @param  dx       Horizontal motion of the circle.
+     * @param  dy       Vertical motion of the circle.
+     * @param  radius   The circle's radius.
+     * @param  pointX   The x coordinate of the point.
+     * @param  pointY   The y coordinate of the point.
+     * @param  normal   Set to the unit surface normal at the point of impact, if there is one.
+     * @return  Fraction of the motion completed at the time of impact, between 0 and 1, or -1 if
+     *          the circle does not touch the point during the motion.
+     */
+    private static float sweepCircleCorner(float circX, float circY, float dx, float dy, float radius,
+                                           float pointX, float pointY, Vector2 normal) {
+        float offsetX = circX - pointX;
+        float offsetY = circY - pointY;
+        float a = dx * dx + dy * dy;
+        float b = offsetX * dx + offsetY * dy;
+        float c = offsetX * offsetX + offsetY * offsetY - radius * radius;
+        //Ignore a circle already touching the point or moving away from it.
+        if (a == 0 || c < 0 || b >= 0) return -1;
+        float discriminant = b * b - a * c;
+        if (discriminant < 0) return -1;
+        float t = (-b - (float) Math.sqrt(discriminant)) / a;
+        if (t < 0 || t > 1) return -1;
+        normal.set(offsetX + dx * t, offsetY + dy * t).nor();
+        return t;
+    }
+
     /**
      * Tests whether a pair of intervals on the real line overlap, eg whether [a, b] and [c, d]
      * intersect.
@@ -65,13 +170,4 @@ public class Util {
     public static boolean isInInterval(float a, float b, float x) {
         return x >= a && x <= b;
     }
-
-    /**
-     * Returns the time in seconds since a long timestamp given by TimeUtils.nanoTime().
-     * @param time Nanosecond timestamp.
-     * @return  Seconds since parameter time.
-     */
-    public static float secondsSince(long time) {
-        return (TimeUtils.nanoTime() - time) * MathUtils.nanoToSec;
-    }
 }
@@ -2,14 +2,27 @@ package com.udacity.game_dev.outbreak.desktop;
 
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.udacity.game_dev.outbreak.Game.HighScoreLog;
+import com.udacity.game_dev.outbreak.Game.TelemetryWriter;
 import com.udacity.game_dev.outbreak.Utilities.Constants;
 import com.udacity.game_dev.outbreak.OutbreakGame;
 
+import java.io.File;
+
 public class DesktopLauncher {
 	public static void main (String[] arg) {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.width = (int) Constants.WORLD_WIDTH;
 		config.height = (int) Constants.WORLD_HEIGHT;
-		new LwjglApplication(new OutbreakGame(), config);
+		//Run with --soak to let the autopilot play unattended and log frame times.
+		boolean soak = arg.length > 0 && arg[0].equals("--soak");
+		//Local files on the desktop are relative to the working directory.
+		HighScoreLog highScores = new HighScoreLog(new File(Constants.HIGH_SCORE_LOG_FILE),
+				new File(Constants.HIGH_SCORE_INDEX_FILE));
+		//Each session's gameplay events go to a file of their own.  Frames never wait on it.
+		TelemetryWriter telemetry = new TelemetryWriter(
+				new File(Constants.TELEMETRY_DIRECTORY + "session-" + System.currentTimeMillis() + ".obt"),
+				Constants.TELEMETRY_QUEUE_CAPACITY, TelemetryWriter.Overflow.DROP);
+		new LwjglApplication(new OutbreakGame(soak, highScores, telemetry), config);
 	}
 }
@@ -0,0 +1,285 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.files.FileHandle;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.GameScreen;
+import com.udacity.game_dev.outbreak.OutbreakGame;
+import com.udacity.game_dev.outbreak.ScreenManager;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Runs thousands of simulation ticks, then thousands of rendered frames, under the JVM's
+ * per-thread allocation counter and fails if any steady-state tick or frame allocates.
+ *
+ * Ticks are run on a bare GameManager.  Finished games are restarted with init() on the same
+ * GameManager, and each restart is measured as a tick.  Input is scripted: the launch button is
+ * always down and the paddle sweeps back and forth.
+ *
+ * Frames are rendered by the whole game, through OutbreakGame.render(), with the autopilot playing
+ * on each game screen in turn, so the game HUD, the UiRenderer, the block meshes, and for the
+ * second half of the frames the profiler overlay are all drawn.  OpenGL is replaced by StubGL20
+ * and every frame is a fixed FRAME_TIME long.  Local storage is reported unavailable, so that the
+ * replay of each finished game is not saved; that file write is the one part of the render path
+ * left unchecked.  The frames that end a game and start the next are measured like any other.
+ *
+ * Even after a long warm-up, HotSpot now and then allocates a few hundred bytes on the thread it
+ * is compiling code for, such as the string constants of a class it compiles for the first time.
+ * A run that allocates is therefore measured again, up to ATTEMPTS times, and fails the check only
+ * if every attempt allocates.  An allocation made every tick or frame fails every attempt; one
+ * made only on a rarely taken path may not.
+ *
+ * Requires a HotSpot JVM; exits with status 1 on failure.
+ */
+public class AllocationCheck {
+
+    private static final int WARMUP_TICKS = 20000;
+    private static final int MEASURED_TICKS = 50000;
+    private static final int PADDLE_SWEEP_TICKS = 90;
+    //Times a difficulty is measured before an allocating run counts as a failure.
+    private static final int ATTEMPTS = 3;
+    //About ten games on each screen, then about five.
+    private static final int WARMUP_FRAMES = 120000;
+    private static final int MEASURED_FRAMES = 60000;
+    //Every frame runs as many ticks as a frame may, so that games end often.
+    private static final float FRAME_TIME = Constants.MAX_SIMULATION_TICKS_PER_FRAME / Constants.SIMULATION_TICK_RATE;
+
+    private static final ScriptedInputProvider INPUT =
+            new ScriptedInputProvider(ScriptedInputProvider.sweep(PADDLE_SWEEP_TICKS));
+
+    public static void main(String[] arg) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long overhead = measureOverhead(threads, threadId);
+        int failures = checkSimulation(threads, threadId, overhead);
+        failures += checkRendering(threads, threadId, overhead);
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Measures ticks of a bare GameManager on each difficulty.  Every difficulty is played once
+     * unmeasured before any is measured, so that the JIT has settled.
+     * @return  Number of ticks that allocated.
+     */
+    private static int checkSimulation(com.sun.management.ThreadMXBean threads, long threadId, long overhead) {
+        GameManager.Difficulty[] difficulties = GameManager.Difficulty.values();
+        GameManager[] managers = new GameManager[difficulties.length];
+        for (int d = 0; d < difficulties.length; d++) {
+            managers[d] = newGame(difficulties[d]);
+            runTicks(managers[d], WARMUP_TICKS, threads, threadId, overhead);
+        }
+        int failures = 0;
+        for (int d = 0; d < difficulties.length; d++) {
+            int allocatingTicks = 0;
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                long allocations = runTicks(managers[d], MEASURED_TICKS, threads, threadId, overhead);
+                allocatingTicks = (int) (allocations >>> 32);
+                System.out.println(difficulties[d] + ": " + allocatingTicks + " of " + MEASURED_TICKS +
+                        " ticks allocated, " + (int) allocations + " bytes total");
+                if (allocatingTicks == 0) break;
+            }
+            failures += allocatingTicks;
+        }
+        return failures;
+    }
+
+    /**
+     * Runs and measures ticks.  Warm-up runs go through here too, so that the loop that reads the
+     * allocation counter is compiled before it is measured with.
+     * @return  Number of ticks that allocated in the high 32 bits, and bytes in the low 32.
+     */
+    private static long runTicks(GameManager manager, int ticks,
+                                 com.sun.management.ThreadMXBean threads, long threadId, long overhead) {
+        float delta = 1 / Constants.SIMULATION_TICK_RATE;
+        int allocatingTicks = 0;
+        int allocatedBytes = 0;
+        for (int i = 0; i < ticks; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            step(manager, delta);
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+            if (allocated > 0) {
+                allocatingTicks++;
+                allocatedBytes += allocated;
+            }
+        }
+        return (long) allocatingTicks << 32 | allocatedBytes;
+    }
+
+    /**
+     * Measures frames of the game screen on each difficulty.  The start screen is rendered first
+     * until every game screen has been prepared, as it would be before the player chooses one, and
+     * every game screen is played once unmeasured before any is measured, so that the JIT has
+     * settled.
+     * @return  Number of frames that allocated.
+     */
+    private static int checkRendering(com.sun.management.ThreadMXBean threads, long threadId, long overhead) {
+        HeadlessGdx.start();
+        Gdx.graphics = new MockGraphics() {
+            @Override
+            public float getDeltaTime() {
+                return FRAME_TIME;
+            }
+        };
+        Gdx.files = new NoLocalStorageFiles(Gdx.files);
+        OutbreakGame game = new OutbreakGame();
+        game.create();
+        game.resize((int) Constants.WORLD_WIDTH, (int) Constants.WORLD_HEIGHT);
+        ScreenManager screens = game.getScreens();
+        while (screens.hasScreensToPrepare()) {
+            game.render();
+        }
+        for (GameManager.Difficulty difficulty : GameManager.Difficulty.values()) {
+            renderFrames(game, difficulty, WARMUP_FRAMES, threads, threadId, overhead);
+        }
+        int failures = 0;
+        for (GameManager.Difficulty difficulty : GameManager.Difficulty.values()) {
+            int allocatingFrames = 0;
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                long allocations = renderFrames(game, difficulty, MEASURED_FRAMES, threads, threadId, overhead);
+                allocatingFrames = (int) (allocations >>> 32);
+                System.out.println(difficulty + ": " + allocatingFrames + " of " + MEASURED_FRAMES +
+                        " frames allocated, " + (int) allocations + " bytes total");
+                if (allocatingFrames == 0) break;
+            }
+            failures += allocatingFrames;
+        }
+        game.dispose();
+        return failures;
+    }
+
+    /**
+     * Shows a game screen with the autopilot playing and renders frames, the first half with the
+     * profiler overlay hidden and the second half with it shown, then goes back to the start
+     * screen.  The transitions, and the frame that first lays out the overlay's text, are not
+     * measured.
+     * @return  Number of frames that allocated in the high 32 bits, and bytes in the low 32.
+     */
+    private static long renderFrames(OutbreakGame game, GameManager.Difficulty difficulty, int frames,
+                                     com.sun.management.ThreadMXBean threads, long threadId, long overhead) {
+        ScreenManager screens = game.getScreens();
+        GameScreen screen = screens.prepareGameScreen(difficulty);
+        screen.setAutopilot(true);
+        screens.showGameScreen(difficulty);
+        int allocatingFrames = 0;
+        int allocatedBytes = 0;
+        for (int i = 0; i < frames; i++) {
+            if (i == frames / 2) {
+                screen.setProfilerVisible(true);
+                game.render();
+            }
+            long before = threads.getThreadAllocatedBytes(threadId);
+            game.render();
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+            if (allocated > 0) {
+                allocatingFrames++;
+                allocatedBytes += allocated;
+            }
+        }
+        screen.setAutopilot(false);
+        game.setStartScreen();
+        game.render();
+        return (long) allocatingFrames << 32 | allocatedBytes;
+    }
+
+    /**
+     * Measures the bytes allocated by reading the allocation counter itself.
+     */
+    private static long measureOverhead(com.sun.management.ThreadMXBean threads, long threadId) {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        return overhead;
+    }
+
+    private static GameManager newGame(GameManager.Difficulty difficulty) {
+        GameManager manager = new GameManager(
+                difficulty,
+                Constants.WORLD_WIDTH,
+                Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT,
+                INPUT
+        );
+        manager.init();
+        return manager;
+    }
+
+    private static void step(GameManager manager, float delta) {
+        if (isEnded(manager)) {
+            manager.init();
+        } else {
+            manager.update(delta);
+        }
+    }
+
+    private static boolean isEnded(GameManager manager) {
+        return manager.state == GameManager.GameState.WIN || manager.state == GameManager.GameState.GAME_OVER;
+    }
+
+    /**
+     * Files that report local storage unavailable, and otherwise pass every call on.
+     */
+    private static class NoLocalStorageFiles implements Files {
+
+        private final Files files;
+
+        NoLocalStorageFiles(Files files) {
+            this.files = files;
+        }
+
+        @Override
+        public FileHandle getFileHandle(String path, FileType type) {
+            return files.getFileHandle(path, type);
+        }
+
+        @Override
+        public FileHandle classpath(String path) {
+            return files.classpath(path);
+        }
+
+        @Override
+        public FileHandle internal(String path) {
+            return files.internal(path);
+        }
+
+        @Override
+        public FileHandle external(String path) {
+            return files.external(path);
+        }
+
+        @Override
+        public FileHandle absolute(String path) {
+            return files.absolute(path);
+        }
+
+        @Override
+        public FileHandle local(String path) {
+            return files.local(path);
+        }
+
+        @Override
+        public String getExternalStoragePath() {
+            return files.getExternalStoragePath();
+        }
+
+        @Override
+        public boolean isExternalStorageAvailable() {
+            return files.isExternalStorageAvailable();
+        }
+
+        @Override
+        public String getLocalStoragePath() {
+            return files.getLocalStoragePath();
+        }
+
+        @Override
+        public boolean isLocalStorageAvailable() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays large numbers of independent, seeded games across all cores to tune difficulty.  Each
+ * worker thread keeps one GameManager and TrackingInputProvider per difficulty and restarts them
+ * with the seed of each game it plays, so games share no state, playing one allocates nothing, and
+ * the work scales with the number of cores.  Results for each difficulty and tuning are printed as
+ * tab-separated rows.
+ * Usage: BatchSimulator [games per configuration] [ball speeds] [spawn rates]
+ * where ball speeds and spawn rates are comma-separated lists to sweep over, and 0 means the
+ * difficulty's default.  Game n of every configuration uses seed n, so runs are reproducible.
+ */
+public class BatchSimulator extends RecursiveTask<BatchStats> {
+
+    private static final long serialVersionUID = 1L;
+    private static final int DEFAULT_GAMES = 10000;
+    private static final float MAX_GAME_TIME = 1200;
+    //Below this many games, a task plays its games itself rather than splitting further.
+    private static final int GAMES_PER_TASK = 32;
+
+    //Players of this worker thread, by difficulty, created when first needed.
+    private static final ThreadLocal<Player[]> PLAYERS = new ThreadLocal<Player[]>() {
+        @Override
+        protected Player[] initialValue() {
+            return new Player[GameManager.Difficulty.values().length];
+        }
+    };
+
+    private final GameManager.Difficulty difficulty;
+    private final float ballSpeed;
+    private final float spawnRate;
+    private final long firstSeed;
+    private final int count;
+
+    public BatchSimulator(GameManager.Difficulty difficulty, float ballSpeed, float spawnRate,
+                          long firstSeed, int count) {
+        this.difficulty = difficulty;
+        this.ballSpeed = ballSpeed;
+        this.spawnRate = spawnRate;
+        this.firstSeed = firstSeed;
+        this.count = count;
+    }
+
+    public static void main(String[] arg) {
+        int games = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_GAMES;
+        float[] ballSpeeds = parseList(arg.length > 1 ? arg[1] : "0");
+        float[] spawnRates = parseList(arg.length > 2 ? arg[2] : "0");
+        ForkJoinPool pool = new ForkJoinPool();
+        System.out.println("threads: " + pool.getParallelism());
+        System.out.println("difficulty\tspeed\tspawn\t" + BatchStats.HEADER);
+        long totalGames = 0;
+        long start = System.nanoTime();
+        for (GameManager.Difficulty difficulty : GameManager.Difficulty.values()) {
+            for (float ballSpeed : ballSpeeds) {
+                for (float spawnRate : spawnRates) {
+                    BatchStats stats = pool.invoke(new BatchSimulator(difficulty, ballSpeed, spawnRate, 0, games));
+                    System.out.println(difficulty + "\t" + label(ballSpeed) + "\t" + label(spawnRate) + "\t" +
+                            stats.toRow());
+                    totalGames += stats.games;
+                }
+            }
+        }
+        float seconds = (System.nanoTime() - start) / 1e9f;
+        System.out.println(totalGames + " games in " + seconds + " s, " + (int) (totalGames / seconds) + " games/s");
+        pool.shutdown();
+    }
+
+    @Override
+    protected BatchStats compute() {
+        if (count <= GAMES_PER_TASK) {
+            BatchStats stats = new BatchStats(MAX_GAME_TIME);
+            for (int i = 0; i < count; i++) {
+                play(firstSeed + i, stats);
+            }
+            return stats;
+        }
+        int half = count / 2;
+        BatchSimulator first = new BatchSimulator(difficulty, ballSpeed, spawnRate, firstSeed, half);
+        BatchSimulator second = new BatchSimulator(difficulty, ballSpeed, spawnRate, firstSeed + half, count - half);
+        first.fork();
+        return second.compute().merge(first.join());
+    }
+
+    /**
+     * Plays one game to completion, or until it reaches MAX_GAME_TIME.
+     * @param seed  Seed for the game and its player.
+     * @param stats  Results to add the game to.
+     */
+    private void play(long seed, BatchStats stats) {
+        Player[] players = PLAYERS.get();
+        Player player = players[difficulty.ordinal()];
+        if (player == null) {
+            player = new Player(difficulty);
+            players[difficulty.ordinal()] = player;
+        }
+        GameManager manager = player.manager;
+        player.input.reset(~seed);
+        manager.setTuning(ballSpeed, spawnRate);
+        manager.init(seed);
+        float delta = 1 / Constants.SIMULATION_TICK_RATE;
+        int maxTicks = (int) (MAX_GAME_TIME * Constants.SIMULATION_TICK_RATE);
+        int ticks = 0;
+        while (manager.state != GameManager.GameState.WIN &&
+                manager.state != GameManager.GameState.GAME_OVER &&
+                ticks < maxTicks) {
+            manager.update(delta);
+            ticks++;
+        }
+        stats.add(manager.state == GameManager.GameState.WIN,
+                manager.state == GameManager.GameState.GAME_OVER,
+                manager.score, manager.gameTime, ticks);
+    }
+
+    private static float[] parseList(String list) {
+        String[] parts = list.split(",");
+        float[] values = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Float.parseFloat(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static String label(float value) {
+        return value > 0 ? String.valueOf(value) : "default";
+    }
+
+    /**
+     * A GameManager and the player driving it, reused for every game of one difficulty played on
+     * a thread.
+     */
+    private static class Player {
+        final GameManager manager;
+        final TrackingInputProvider input;
+
+        Player(GameManager.Difficulty difficulty) {
+            manager = new GameManager(difficulty, Constants.WORLD_WIDTH,
+                    Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT, InputProvider.NONE, 0);
+            input = new TrackingInputProvider(manager, 0);
+            manager.setInputProvider(input);
+        }
+    }
+}
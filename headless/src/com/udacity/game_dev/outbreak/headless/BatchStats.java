@@ -0,0 +1,131 @@
+package com.udacity.game_dev.outbreak.headless;
+
+/**
+ * Aggregate results of a batch of simulated games.  Scores and clear times are kept as fixed-width
+ * histograms rather than lists, so that merging the results of parallel tasks costs the same no
+ * matter how many games each task played.
+ */
+public class BatchStats {
+
+    static final int SCORE_BUCKET_WIDTH = 100;
+    static final int MIN_SCORE = -5000;
+    static final int SCORE_BUCKETS = 1000;
+    static final int TIME_BUCKET_WIDTH = 1;
+    static final String HEADER = "games\twin%\tloss%\ttimeout%\tclear\tclear50\tclear90\t" +
+            "score\tmin\tp10\tp50\tp90\tmax";
+
+    int games;
+    int wins;
+    int losses;
+    int timeouts;
+    long totalTicks;
+    double totalScore;
+    int minScore = Integer.MAX_VALUE;
+    int maxScore = Integer.MIN_VALUE;
+    double totalClearTime;
+    final int[] scoreHistogram = new int[SCORE_BUCKETS];
+    final int[] clearTimeHistogram;
+
+    /**
+     * @param maxGameTime  Longest game that will be recorded, in seconds.
+     */
+    public BatchStats(float maxGameTime) {
+        clearTimeHistogram = new int[(int) (maxGameTime / TIME_BUCKET_WIDTH) + 1];
+    }
+
+    /**
+     * Records the result of one game.
+     * @param won  True if the game was won.
+     * @param lost  True if the game was lost.
+     * @param score  Final score.
+     * @param gameTime  Simulated game length in seconds.
+     * @param ticks  Simulation ticks run.
+     */
+    public void add(boolean won, boolean lost, int score, float gameTime, int ticks) {
+        games++;
+        totalTicks += ticks;
+        if (won) {
+            wins++;
+            totalClearTime += gameTime;
+            clearTimeHistogram[Math.min((int) (gameTime / TIME_BUCKET_WIDTH), clearTimeHistogram.length - 1)]++;
+        } else if (lost) {
+            losses++;
+        } else {
+            timeouts++;
+        }
+        totalScore += score;
+        minScore = Math.min(minScore, score);
+        maxScore = Math.max(maxScore, score);
+        int bucket = (score - MIN_SCORE) / SCORE_BUCKET_WIDTH;
+        scoreHistogram[Math.max(0, Math.min(bucket, SCORE_BUCKETS - 1))]++;
+    }
+
+    /**
+     * Adds another set of results into this one.
+     * @param other  Results to add.
+     * @return  This object, for chaining.
+     */
+    public BatchStats merge(BatchStats other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        timeouts += other.timeouts;
+        totalTicks += other.totalTicks;
+        totalScore += other.totalScore;
+        minScore = Math.min(minScore, other.minScore);
+        maxScore = Math.max(maxScore, other.maxScore);
+        totalClearTime += other.totalClearTime;
+        for (int i = 0; i < SCORE_BUCKETS; i++) {
+            scoreHistogram[i] += other.scoreHistogram[i];
+        }
+        for (int i = 0; i < clearTimeHistogram.length; i++) {
+            clearTimeHistogram[i] += other.clearTimeHistogram[i];
+        }
+        return this;
+    }
+
+    /**
+     * Gets a score percentile, accurate to the histogram bucket width.
+     * @param percentile  Percentile between 0 and 100.
+     * @return  Lower bound of the bucket containing the percentile.
+     */
+    public int scorePercentile(float percentile) {
+        return MIN_SCORE + percentileBucket(scoreHistogram, games, percentile) * SCORE_BUCKET_WIDTH;
+    }
+
+    /**
+     * Gets a percentile of the time taken to clear the board in games that were won.
+     * @param percentile  Percentile between 0 and 100.
+     * @return  Lower bound of the bucket containing the percentile, in seconds.
+     */
+    public int clearTimePercentile(float percentile) {
+        return percentileBucket(clearTimeHistogram, wins, percentile) * TIME_BUCKET_WIDTH;
+    }
+
+    private static int percentileBucket(int[] histogram, int count, float percentile) {
+        long target = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target && seen > 0) return i;
+        }
+        return histogram.length - 1;
+    }
+
+    /**
+     * Formats the results as one tab-separated row, matching HEADER.
+     * @return  Summary row.
+     */
+    public String toRow() {
+        if (games == 0) return "0";
+        return games + "\t" +
+                percent(wins) + "\t" + percent(losses) + "\t" + percent(timeouts) + "\t" +
+                (wins == 0 ? "-\t-\t-" : (int) (totalClearTime / wins) + "\t" + clearTimePercentile(50) + "\t" + clearTimePercentile(90)) + "\t" +
+                (int) (totalScore / games) + "\t" + minScore + "\t" +
+                scorePercentile(10) + "\t" + scorePercentile(50) + "\t" + scorePercentile(90) + "\t" + maxScore;
+    }
+
+    private String percent(int count) {
+        return String.valueOf(Math.round(1000f * count / games) / 10f);
+    }
+}
@@ -0,0 +1,27 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Starts the libGDX headless backend once per JVM, with a StubGL20 in place of OpenGL, so that
+ * benchmarks and AllocationCheck can create fonts, batches, and renderers.
+ */
+public class HeadlessGdx {
+
+    private static boolean started;
+
+    /**
+     * Starts the backend if it has not been started yet.
+     */
+    public static synchronized void start() {
+        if (started) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = -1;
+        new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = Gdx.gl20 = StubGL20.create();
+        started = true;
+    }
+}
@@ -0,0 +1,73 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * Runs complete games on the libGDX headless backend with scripted input, as fast as the CPU
+ * allows, and reports simulation throughput.  Each game runs until it is won or lost, or until it
+ * reaches MAX_GAME_TIME seconds of simulated time.
+ * Usage: HeadlessLauncher [games per difficulty]
+ */
+public class HeadlessLauncher extends ApplicationAdapter {
+
+    private static final int DEFAULT_GAMES = 200;
+    private static final float MAX_GAME_TIME = 600;
+    private static final int PADDLE_SWEEP_TICKS = 50;
+
+    private final int games;
+
+    public HeadlessLauncher(int games) {
+        this.games = games;
+    }
+
+    public static void main(String[] arg) {
+        int games = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_GAMES;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        //No render loop is needed; all of the work happens in create().
+        config.renderInterval = -1;
+        new HeadlessApplication(new HeadlessLauncher(games), config);
+    }
+
+    @Override
+    public void create() {
+        float delta = 1 / Constants.SIMULATION_TICK_RATE;
+        int maxTicks = (int) (MAX_GAME_TIME * Constants.SIMULATION_TICK_RATE);
+        ScriptedInputProvider input = new ScriptedInputProvider(ScriptedInputProvider.sweep(PADDLE_SWEEP_TICKS));
+        for (GameManager.Difficulty difficulty : GameManager.Difficulty.values()) {
+            long ticks = 0;
+            int finished = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < games; i++) {
+                GameManager manager = new GameManager(
+                        difficulty,
+                        Constants.WORLD_WIDTH,
+                        Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT,
+                        input
+                );
+                manager.init();
+                input.reset();
+                int gameTicks = 0;
+                while (!isEnded(manager) && gameTicks < maxTicks) {
+                    manager.update(delta);
+                    gameTicks++;
+                }
+                if (isEnded(manager)) finished++;
+                ticks += gameTicks;
+            }
+            float seconds = (System.nanoTime() - start) / 1e9f;
+            Gdx.app.log("Headless", difficulty + ": " + games + " games (" + finished + " finished) in " +
+                    seconds + " s, " + (int) (games / seconds) + " games/s, " +
+                    (long) (ticks / seconds) + " ticks/s");
+        }
+        Gdx.app.exit();
+    }
+
+    private static boolean isEnded(GameManager manager) {
+        return manager.state == GameManager.GameState.WIN || manager.state == GameManager.GameState.GAME_OVER;
+    }
+}
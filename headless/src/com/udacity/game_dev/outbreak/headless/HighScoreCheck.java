@@ -0,0 +1,106 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.HighScoreLog;
+import com.udacity.game_dev.outbreak.Game.HighScoreTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+/**
+ * Submits a large number of random games to a HighScoreLog in a temporary directory, then
+ * reopens it three ways and checks that the same scores come back each time: as it was left, with
+ * a torn record added to the end of the log as a crash partway through a write would leave, and
+ * with the index deleted so that the whole log must be read.  Prints how long submitting and each
+ * reopening took.  Exits with status 1 on failure.
+ *
+ * Usage: HighScoreCheck [games]
+ */
+public class HighScoreCheck {
+
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+    private static final int MAX_SCORE = 20000;
+
+    public static void main(String[] arg) throws IOException {
+        int games = arg.length > 0 ? Integer.parseInt(arg[0]) : 300000;
+        File directory = File.createTempFile("high-scores", "");
+        directory.delete();
+        File logFile = new File(directory, "high-scores.log");
+        File indexFile = new File(directory, "high-scores.idx");
+
+        HighScoreLog log = open(logFile, indexFile);
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            log.submit(DIFFICULTIES[random.nextInt(DIFFICULTIES.length)], random.nextInt(MAX_SCORE),
+                    random.nextFloat() * 400, random.nextBoolean());
+        }
+        long submitNanos = System.nanoTime() - start;
+        System.out.println("submitted " + games + " games, " + submitNanos / games + " ns each");
+        HighScoreTable expected = copy(log.getTable());
+        log.dispose();
+
+        boolean passed = reopen("reopened", logFile, indexFile, expected, 0);
+
+        //Half a record, as a write cut short would leave.
+        RandomAccessFile file = new RandomAccessFile(logFile, "rw");
+        file.seek(file.length());
+        file.write(new byte[] {1, 0, 0, 0, 0, 0, 0x12, 0x34, 0x56, 0x78, 0x11});
+        file.close();
+        passed &= reopen("reopened after torn write", logFile, indexFile, expected, 11);
+
+        indexFile.delete();
+        passed &= reopen("reopened without index", logFile, indexFile, expected, 0);
+
+        logFile.delete();
+        indexFile.delete();
+        directory.delete();
+        System.out.println(passed ? "OK" : "FAILED");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static HighScoreLog open(File logFile, File indexFile) {
+        HighScoreLog log = new HighScoreLog(logFile, indexFile);
+        while (!log.isLoaded()) {
+            Thread.yield();
+        }
+        return log;
+    }
+
+    /**
+     * Opens the log and compares its scores with those expected.
+     * @param  name  Name of the check.
+     * @param  logFile  Log file.
+     * @param  indexFile  Index file.
+     * @param  expected  Expected scores.
+     * @param  discarded  Bytes the log is expected to cut from its end.
+     * @return  True if the scores and discarded bytes match.
+     */
+    private static boolean reopen(String name, File logFile, File indexFile, HighScoreTable expected,
+                                  long discarded) {
+        long start = System.nanoTime();
+        HighScoreLog log = open(logFile, indexFile);
+        long nanos = System.nanoTime() - start;
+        HighScoreTable table = log.getTable();
+        boolean passed = log.getFailure() == null && log.getDiscardedBytes() == discarded;
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            passed &= table.getRuns(d) == expected.getRuns(d) && table.getCount(d) == expected.getCount(d);
+            for (int i = 0; i < table.getCount(d); i++) {
+                passed &= table.getScore(d, i) == expected.getScore(d, i);
+            }
+        }
+        log.dispose();
+        System.out.println(name + " in " + nanos / 1000000 + " ms, " + log.getDiscardedBytes() +
+                " bytes discarded, best " + table.getScore(0, 0) + "/" + table.getScore(1, 0) + "/" +
+                table.getScore(2, 0) + ": " + (passed ? "match" : "MISMATCH"));
+        return passed;
+    }
+
+    private static HighScoreTable copy(HighScoreTable table) {
+        HighScoreTable copy = new HighScoreTable(table.getDifficulties(), table.getSize());
+        copy.set(table);
+        return copy;
+    }
+}
@@ -0,0 +1,68 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.udacity.game_dev.outbreak.Game.BallField;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * Measures BallField step time as the number of balls grows from 1 to 10,000.  Balls are small
+ * enough that 10,000 of them fit on the stage without packing solid, and balls lost off the bottom
+ * of the stage are replaced between steps so the count holds steady.  Run with the desktop
+ * classpath; no graphics backend is needed.
+ */
+public class MultiBallBenchmark {
+
+    private static final int[] BALL_COUNTS = {1, 10, 100, 1000, 10000};
+    private static final float BALL_RADIUS = 2;
+    private static final int WARMUP_TICKS = 300;
+    private static final int MEASURED_TICKS = 1000;
+
+    public static void main(String[] arg) {
+        float tick = 1 / Constants.SIMULATION_TICK_RATE;
+        System.out.println("balls\tus/step\tns/ball");
+        for (int count : BALL_COUNTS) {
+            MathUtils.random.setSeed(count);
+            GameManager manager = new GameManager(
+                    GameManager.Difficulty.MEDIUM,
+                    Constants.WORLD_WIDTH,
+                    Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT
+            );
+            manager.init();
+            BallField balls = new BallField(manager, count, BALL_RADIUS);
+            for (int i = 0; i < WARMUP_TICKS; i++) {
+                refill(balls, count);
+                balls.step(tick);
+            }
+            long elapsed = 0;
+            for (int i = 0; i < MEASURED_TICKS; i++) {
+                refill(balls, count);
+                long start = System.nanoTime();
+                balls.step(tick);
+                elapsed += System.nanoTime() - start;
+            }
+            System.out.println(count + "\t" +
+                    (elapsed / 1000 / MEASURED_TICKS) + "\t" +
+                    (elapsed / MEASURED_TICKS / count));
+        }
+    }
+
+    /**
+     * Spawns balls at random positions in the lower half of the stage, heading in random
+     * directions, until the field holds the given number.
+     * @param balls  BallField to fill.
+     * @param count  Desired number of balls.
+     */
+    private static void refill(BallField balls, int count) {
+        while (balls.size() < count) {
+            float angle = MathUtils.random(MathUtils.PI2);
+            balls.spawn(
+                    MathUtils.random(BALL_RADIUS, Constants.WORLD_WIDTH - BALL_RADIUS),
+                    MathUtils.random(Constants.PADDLE_HEIGHT * 3, Constants.WORLD_HEIGHT / 2),
+                    MathUtils.cos(angle) * Constants.BALL_SPEED_MEDIUM,
+                    MathUtils.sin(angle) * Constants.BALL_SPEED_MEDIUM,
+                    BALL_RADIUS
+            );
+        }
+    }
+}
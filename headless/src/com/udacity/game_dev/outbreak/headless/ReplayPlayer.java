@@ -0,0 +1,106 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+import com.udacity.game_dev.outbreak.Game.Replay;
+import com.udacity.game_dev.outbreak.Game.ReplayRecorder;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Replays recorded games as fast as the CPU allows, checking that each one reproduces its
+ * recorded final score and board, and reports playback speed.  Useful both as a performance
+ * regression run over real sessions and for reproducing reported bugs.  Exits with status 1 if any
+ * replay does not match.  The speed of the first run is mostly that of the JIT compiler, so with
+ * -repeat the speed of the fastest run is reported as well, which is the one to compare.
+ * Usage: ReplayPlayer [-repeat n] replay files...
+ *    or: ReplayPlayer -record file difficulty seed
+ * The second form plays a game with a TrackingInputProvider and saves it, to create test replays.
+ */
+public class ReplayPlayer {
+
+    private static final float MAX_GAME_TIME = 1200;
+
+    public static void main(String[] arg) throws IOException {
+        if (arg.length == 4 && arg[0].equals("-record")) {
+            record(arg[1], GameManager.Difficulty.valueOf(arg[2]), Long.parseLong(arg[3]));
+            return;
+        }
+        int repeats = 1;
+        int first = 0;
+        if (arg.length > 1 && arg[0].equals("-repeat")) {
+            repeats = Integer.parseInt(arg[1]);
+            first = 2;
+        }
+        boolean allMatched = true;
+        for (int i = first; i < arg.length; i++) {
+            Replay replay = Replay.fromBytes(Files.readAllBytes(Paths.get(arg[i])));
+            //The fastest of the repeated runs is the least disturbed by the JIT and GC.
+            long firstNanos = 0;
+            long bestNanos = Long.MAX_VALUE;
+            GameManager manager = null;
+            for (int r = 0; r < repeats; r++) {
+                long start = System.nanoTime();
+                manager = play(replay);
+                long nanos = System.nanoTime() - start;
+                if (r == 0) firstNanos = nanos;
+                bestNanos = Math.min(bestNanos, nanos);
+            }
+            boolean matched = !replay.isFinished() || (manager.score == replay.getFinalScore() &&
+                    manager.getBoardHash() == replay.getFinalBoardHash());
+            allMatched &= matched;
+            System.out.println(arg[i] + ": " + replay.difficulty + ", seed " + replay.getSeed() + ", " +
+                    replay.getTicks() + " ticks, score " + manager.score + " (recorded " +
+                    replay.getFinalScore() + "), " + (matched ? "OK" : "MISMATCH") + ", " +
+                    (long) (replay.getTicks() / (firstNanos / 1e9)) + " ticks/s first run" +
+                    (repeats > 1 ? ", " + (long) (replay.getTicks() / (bestNanos / 1e9)) + " best of " + repeats : ""));
+        }
+        if (!allMatched) System.exit(1);
+    }
+
+    /**
+     * Plays every recorded tick of a replay.
+     * @param replay  Recording to play.
+     * @return  GameManager in its state after the last tick.
+     */
+    public static GameManager play(Replay replay) {
+        GameManager manager = replay.createManager();
+        manager.init();
+        float delta = 1 / replay.tickRate;
+        for (int tick = 0; tick < replay.getTicks(); tick++) {
+            manager.update(delta);
+        }
+        return manager;
+    }
+
+    /**
+     * Plays a game with a TrackingInputProvider and saves the recording.
+     * @param file  Path to save to.
+     * @param difficulty  Difficulty level.
+     * @param seed  Seed for the game and the tracker.
+     */
+    private static void record(String file, GameManager.Difficulty difficulty, long seed) throws IOException {
+        Replay replay = new Replay(difficulty, Constants.WORLD_WIDTH, Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT,
+                Constants.SIMULATION_TICK_RATE, seed);
+        GameManager manager = new GameManager(difficulty, replay.stageWidth, replay.stageHeight,
+                InputProvider.NONE, seed);
+        ReplayRecorder recorder = new ReplayRecorder(new TrackingInputProvider(manager, ~seed));
+        recorder.start(replay);
+        manager.setInputProvider(recorder);
+        manager.init();
+        float delta = 1 / replay.tickRate;
+        int maxTicks = (int) (MAX_GAME_TIME * replay.tickRate);
+        while (manager.state != GameManager.GameState.WIN && manager.state != GameManager.GameState.GAME_OVER &&
+                replay.getTicks() < maxTicks) {
+            manager.update(delta);
+        }
+        replay.finish(manager);
+        byte[] bytes = replay.toBytes();
+        Files.write(Paths.get(file), bytes);
+        System.out.println(file + ": " + replay.getTicks() + " ticks, score " + manager.score + ", " +
+                bytes.length + " bytes");
+    }
+}
@@ -0,0 +1,48 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+
+/**
+ * InputProvider that plays back a fixed script of button masks, one per tick, looping back to the
+ * start when it runs out.  The launch button is held on every tick so that the ball is put back
+ * into play as soon as it is lost.
+ */
+public class ScriptedInputProvider implements InputProvider {
+
+    private final int[] script;
+    private int tick;
+
+    /**
+     * @param script  Button masks to return on successive ticks.
+     */
+    public ScriptedInputProvider(int[] script) {
+        this.script = script;
+    }
+
+    /**
+     * Builds a script that holds left for a number of ticks, then right for the same number.
+     * @param ticks  Ticks to hold each direction.
+     * @return  Script that sweeps the paddle back and forth.
+     */
+    public static int[] sweep(int ticks) {
+        int[] script = new int[ticks * 2];
+        for (int i = 0; i < script.length; i++) {
+            script[i] = i < ticks ? LEFT : RIGHT;
+        }
+        return script;
+    }
+
+    @Override
+    public int poll() {
+        int buttons = script[tick] | LAUNCH;
+        tick = (tick + 1) % script.length;
+        return buttons;
+    }
+
+    /**
+     * Restarts the script from the beginning.
+     */
+    public void reset() {
+        tick = 0;
+    }
+}
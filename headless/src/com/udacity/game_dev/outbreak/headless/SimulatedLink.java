@@ -0,0 +1,119 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Sends datagrams through a channel as if over a worse network than localhost: each packet is
+ * held back by a fixed latency plus random jitter, and a fraction of packets are dropped.  Held
+ * packets are sent by flush(), which the owning thread calls every loop, so no extra thread is
+ * needed.  Packet buffers are pooled, and every byte handed to the link is counted whether or not
+ * it is delivered, as it would be on the wire.
+ */
+public class SimulatedLink {
+
+    private final DatagramChannel channel;
+    private final long latency;
+    private final long jitter;
+    private final float loss;
+    private final Random random;
+    private final PriorityQueue<Packet> pending;
+    private final ArrayDeque<Packet> free;
+
+    private long bytesSent;
+    private int packetsSent;
+    private int packetsDropped;
+
+    /**
+     * @param channel  Channel to send through.
+     * @param latency  One-way delay added to every packet, in milliseconds.
+     * @param jitter  Largest extra random delay, in milliseconds.  Jitter can reorder packets.
+     * @param loss  Fraction of packets dropped, between 0 and 1.
+     * @param seed  Seed for drops and jitter.
+     */
+    public SimulatedLink(DatagramChannel channel, float latency, float jitter, float loss, long seed) {
+        this.channel = channel;
+        this.latency = (long) (latency * 1e6);
+        this.jitter = (long) (jitter * 1e6);
+        this.loss = loss;
+        random = new Random(seed);
+        pending = new PriorityQueue<Packet>(64, new Comparator<Packet>() {
+            @Override
+            public int compare(Packet a, Packet b) {
+                return a.releaseTime < b.releaseTime ? -1 : a.releaseTime > b.releaseTime ? 1 : 0;
+            }
+        });
+        free = new ArrayDeque<Packet>();
+    }
+
+    /**
+     * Queues a packet for sending, or drops it.
+     * @param data  Packet contents, from its position to its limit.
+     * @param target  Address to send to.
+     */
+    public void send(ByteBuffer data, SocketAddress target) {
+        bytesSent += data.remaining();
+        packetsSent++;
+        if (random.nextFloat() < loss) {
+            packetsDropped++;
+            return;
+        }
+        Packet packet = free.isEmpty() ? new Packet() : free.poll();
+        packet.data.clear();
+        packet.data.put(data);
+        packet.data.flip();
+        packet.target = target;
+        packet.releaseTime = System.nanoTime() + latency + (jitter > 0 ? (long) (random.nextFloat() * jitter) : 0);
+        pending.add(packet);
+    }
+
+    /**
+     * Sends every held packet whose delay has passed.
+     * @throws IOException  If the channel fails.
+     */
+    public void flush() throws IOException {
+        long now = System.nanoTime();
+        while (!pending.isEmpty() && pending.peek().releaseTime <= now) {
+            Packet packet = pending.poll();
+            channel.send(packet.data, packet.target);
+            packet.target = null;
+            free.add(packet);
+        }
+    }
+
+    /**
+     * Gets the number of bytes handed to the link, including dropped packets.
+     * @return  Byte count.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Gets the number of packets handed to the link, including dropped packets.
+     * @return  Packet count.
+     */
+    public int getPacketsSent() {
+        return packetsSent;
+    }
+
+    /**
+     * Gets the number of packets dropped.
+     * @return  Packet count.
+     */
+    public int getPacketsDropped() {
+        return packetsDropped;
+    }
+
+    private static class Packet {
+        final ByteBuffer data = ByteBuffer.allocate(VersusProtocol.MAX_PACKET_SIZE);
+        SocketAddress target;
+        long releaseTime;
+    }
+}
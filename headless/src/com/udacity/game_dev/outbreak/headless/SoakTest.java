@@ -0,0 +1,82 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.udacity.game_dev.outbreak.Game.Autopilot;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+import com.udacity.game_dev.outbreak.Utilities.SoakMonitor;
+
+/**
+ * Plays game after game with the Autopilot on the libGDX headless backend, as fast as the CPU
+ * allows, for a fixed length of real time.  Each simulation tick is timed as a frame, and a
+ * SoakMonitor logs tick time percentiles and heap use at a fixed interval, so that slowdowns and
+ * leaks that only appear after hours of play can be caught.  Finished games are restarted in
+ * place with the next seed.
+ * Usage: SoakTest [minutes] [difficulty] [report interval seconds]
+ */
+public class SoakTest extends ApplicationAdapter {
+
+    private static final float DEFAULT_MINUTES = 60;
+
+    private final float minutes;
+    private final GameManager.Difficulty difficulty;
+    private final float reportInterval;
+
+    public SoakTest(float minutes, GameManager.Difficulty difficulty, float reportInterval) {
+        this.minutes = minutes;
+        this.difficulty = difficulty;
+        this.reportInterval = reportInterval;
+    }
+
+    public static void main(String[] arg) {
+        float minutes = arg.length > 0 ? Float.parseFloat(arg[0]) : DEFAULT_MINUTES;
+        GameManager.Difficulty difficulty = arg.length > 1 ?
+                GameManager.Difficulty.valueOf(arg[1]) : GameManager.Difficulty.MEDIUM;
+        float reportInterval = arg.length > 2 ? Float.parseFloat(arg[2]) : Constants.SOAK_REPORT_INTERVAL;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        //No render loop is needed; all of the work happens in create().
+        config.renderInterval = -1;
+        new HeadlessApplication(new SoakTest(minutes, difficulty, reportInterval), config);
+    }
+
+    @Override
+    public void create() {
+        float delta = 1 / Constants.SIMULATION_TICK_RATE;
+        long seed = 0;
+        GameManager manager = new GameManager(
+                difficulty,
+                Constants.WORLD_WIDTH,
+                Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT,
+                null,
+                seed
+        );
+        Autopilot autopilot = new Autopilot(manager, seed);
+        manager.setInputProvider(autopilot);
+        manager.init();
+        SoakMonitor monitor = new SoakMonitor("Soak", reportInterval);
+        int games = 0;
+        int wins = 0;
+        long totalScore = 0;
+        long end = System.nanoTime() + (long) (minutes * 60e9);
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            if (manager.state == GameManager.GameState.WIN || manager.state == GameManager.GameState.GAME_OVER) {
+                games++;
+                if (manager.state == GameManager.GameState.WIN) wins++;
+                totalScore += manager.score;
+                seed++;
+                manager.init(seed);
+                autopilot.reset(seed);
+            } else {
+                manager.update(delta);
+            }
+            monitor.recordFrame(System.nanoTime() - start);
+        }
+        Gdx.app.log("Soak", difficulty + ": " + monitor.getTotalFrames() + " ticks, " + games + " games, " +
+                wins + " won, mean score " + (games == 0 ? 0 : totalScore / games));
+        Gdx.app.exit();
+    }
+}
@@ -0,0 +1,189 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.GameEventListener;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.Telemetry;
+import com.udacity.game_dev.outbreak.Game.TelemetryReader;
+import com.udacity.game_dev.outbreak.Game.TelemetryWriter;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Summarizes telemetry session files for balancing: for each difficulty, the number of games and
+ * their outcomes, and the average number of each kind of event per game and per minute played.
+ * Usage: TelemetryReport session files...
+ *    or: TelemetryReport -check [games]
+ * The second form plays games with a TrackingInputProvider into a temporary session file with the
+ * BLOCK policy, checks that reading it back gives exactly the events the games published, then
+ * floods a small queue with the DROP policy and checks that every record is either written or
+ * counted as dropped.  Exits with status 1 on failure.
+ */
+public class TelemetryReport {
+
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+    private static final GameManager.GameState[] STATES = GameManager.GameState.values();
+    private static final String[] EVENT_NAMES = {"hits", "destroyed", "kicks", "lives lost", "respawns"};
+    private static final float MAX_GAME_TIME = 1200;
+    private static final int DEFAULT_CHECK_GAMES = 30;
+    private static final int FLOOD_CAPACITY = 64;
+    private static final int FLOOD_RECORDS = 1000000;
+
+    public static void main(String[] arg) throws IOException {
+        if (arg.length > 0 && arg[0].equals("-check")) {
+            boolean passed = check(arg.length > 1 ? Integer.parseInt(arg[1]) : DEFAULT_CHECK_GAMES);
+            System.out.println(passed ? "OK" : "FAILED");
+            System.exit(passed ? 0 : 1);
+        }
+        for (String name : arg) {
+            report(new File(name));
+        }
+    }
+
+    /**
+     * Prints a summary of a session file.
+     * @param  file  Session file.
+     * @throws IOException  If the file cannot be read.
+     */
+    private static void report(File file) throws IOException {
+        int difficulties = DIFFICULTIES.length;
+        int[] games = new int[difficulties];
+        int[][] outcomes = new int[difficulties][STATES.length];
+        long[][] events = new long[difficulties][EVENT_NAMES.length];
+        long[] ticks = new long[difficulties];
+        int records = 0;
+        int rewinds = 0;
+        int difficulty = -1;
+        int startTick = 0;
+        TelemetryReader reader = new TelemetryReader(new FileInputStream(file));
+        try {
+            while (reader.next()) {
+                records++;
+                int type = reader.getType();
+                if (type == Telemetry.GAME_STARTED) {
+                    difficulty = reader.getA();
+                    startTick = reader.getTick();
+                    games[difficulty]++;
+                } else if (difficulty < 0) {
+                    continue;
+                } else if (type == Telemetry.GAME_ENDED) {
+                    outcomes[difficulty][reader.getB()]++;
+                    ticks[difficulty] += reader.getTick() - startTick;
+                    difficulty = -1;
+                } else if (type == Telemetry.REWOUND) {
+                    rewinds++;
+                } else if (type < EVENT_NAMES.length) {
+                    events[difficulty][type]++;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        System.out.println(file + ": " + records + " records" + (reader.isTruncated() ? ", truncated" : "") +
+                (rewinds > 0 ? ", " + rewinds + " rewinds" : ""));
+        for (int d = 0; d < difficulties; d++) {
+            if (games[d] == 0) continue;
+            StringBuilder line = new StringBuilder();
+            line.append("  ").append(DIFFICULTIES[d]).append(": ").append(games[d]).append(" games (");
+            line.append(outcomes[d][GameManager.GameState.WIN.ordinal()]).append(" won, ");
+            line.append(outcomes[d][GameManager.GameState.GAME_OVER.ordinal()]).append(" lost), ");
+            float minutes = ticks[d] / Constants.SIMULATION_TICK_RATE / 60;
+            line.append((int) minutes).append(" minutes");
+            for (int e = 0; e < EVENT_NAMES.length; e++) {
+                line.append(", ").append(EVENT_NAMES[e]).append(" ").append(events[d][e] / games[d]);
+                line.append("/game ").append(minutes > 0 ? (int) (events[d][e] / minutes) : 0).append("/min");
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Checks that a session file holds exactly what was recorded, and that the DROP policy
+     * accounts for every record.
+     * @param  games  Games to play.
+     * @return  True if both checks pass.
+     * @throws IOException  If the temporary file cannot be written or read.
+     */
+    private static boolean check(int games) throws IOException {
+        File file = File.createTempFile("session", ".obt");
+        TelemetryWriter telemetry = new TelemetryWriter(file, Constants.TELEMETRY_QUEUE_CAPACITY,
+                TelemetryWriter.Overflow.BLOCK);
+        final long[] published = new long[EVENT_NAMES.length];
+        float delta = 1 / Constants.SIMULATION_TICK_RATE;
+        int maxTicks = (int) (MAX_GAME_TIME * Constants.SIMULATION_TICK_RATE);
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            GameManager.Difficulty difficulty = DIFFICULTIES[i % DIFFICULTIES.length];
+            GameManager manager = new GameManager(difficulty, Constants.WORLD_WIDTH,
+                    Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT, null, i);
+            manager.setInputProvider(new TrackingInputProvider(manager, ~i));
+            manager.getEvents().addListener(new GameEventListener() {
+                @Override
+                public void onGameEvent(int type, int a, int b, float x, float y) {
+                    published[type]++;
+                }
+            });
+            manager.init();
+            telemetry.startGame(manager, true);
+            for (int tick = 0; tick < maxTicks && manager.state != GameManager.GameState.WIN &&
+                    manager.state != GameManager.GameState.GAME_OVER; tick++) {
+                manager.update(delta);
+            }
+            telemetry.endGame();
+            manager.dispose();
+        }
+        long nanos = System.nanoTime() - start;
+        telemetry.dispose();
+        long[] read = new long[EVENT_NAMES.length];
+        int started = 0;
+        int ended = 0;
+        TelemetryReader reader = new TelemetryReader(new FileInputStream(file));
+        try {
+            while (reader.next()) {
+                int type = reader.getType();
+                if (type == Telemetry.GAME_STARTED) started++;
+                else if (type == Telemetry.GAME_ENDED) ended++;
+                else read[type]++;
+            }
+        } finally {
+            reader.close();
+        }
+        boolean passed = started == games && ended == games && telemetry.getDropped() == 0 &&
+                telemetry.getFailure() == null;
+        long total = 0;
+        for (int e = 0; e < EVENT_NAMES.length; e++) {
+            passed &= read[e] == published[e];
+            total += published[e];
+        }
+        System.out.println(games + " games, " + total + " events in " + nanos / 1000000 + " ms, " +
+                telemetry.getBatches() + " batches, " + file.length() + " bytes compressed (" +
+                file.length() * 1000 / Math.max(total, 1) / 1000f + " per event), blocked " +
+                telemetry.getBlockedNanos() / 1000000 + " ms: " + (passed ? "match" : "MISMATCH"));
+        report(file);
+        file.delete();
+
+        //A queue far too small for a burst, so that most of it is dropped.
+        file = File.createTempFile("session", ".obt");
+        TelemetryWriter flooded = new TelemetryWriter(file, FLOOD_CAPACITY, TelemetryWriter.Overflow.DROP);
+        GameManager manager = new GameManager(GameManager.Difficulty.EASY, Constants.WORLD_WIDTH,
+                Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT, null, 0);
+        manager.init();
+        flooded.startGame(manager, false);
+        start = System.nanoTime();
+        for (int i = 0; i < FLOOD_RECORDS; i++) {
+            flooded.onGameEvent(GameEventListener.BLOCK_HIT, i, i, 0, 0);
+        }
+        nanos = System.nanoTime() - start;
+        flooded.dispose();
+        manager.dispose();
+        //Plus the start and end of the game.
+        boolean accounted = flooded.getWritten() + flooded.getDropped() == FLOOD_RECORDS + 2;
+        System.out.println("flood of " + FLOOD_RECORDS + " records into " + FLOOD_CAPACITY + " slots: " +
+                flooded.getWritten() + " written, " + flooded.getDropped() + " dropped, " +
+                nanos / FLOOD_RECORDS + " ns per record: " + (accounted ? "accounted" : "LOST"));
+        file.delete();
+        return passed && accounted;
+    }
+}
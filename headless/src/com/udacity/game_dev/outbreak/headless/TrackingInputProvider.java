@@ -0,0 +1,61 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.udacity.game_dev.outbreak.Game.GameEntities.Ball;
+import com.udacity.game_dev.outbreak.Game.GameEntities.Paddle;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+
+/**
+ * Heuristic player that keeps the paddle under the ball.  So that it does not just bounce the ball
+ * straight up forever, it aims to meet the ball at a random point along the paddle, picking a new
+ * point each time the ball starts to fall.  The aim is drawn from a seeded generator so that games
+ * are reproducible.
+ */
+public class TrackingInputProvider implements InputProvider {
+
+    //How far from the paddle center the aim point can be, as a fraction of half the paddle width.
+    private static final float AIM_RANGE = 0.8f;
+    //Distance from the aim point within which the paddle holds still, to avoid jitter.
+    private static final float DEAD_ZONE = 2;
+
+    private final GameManager manager;
+    private final RandomXS128 random;
+    private float aimOffset;
+    private boolean falling;
+
+    public TrackingInputProvider(GameManager manager, long seed) {
+        this.manager = manager;
+        random = new RandomXS128(seed);
+    }
+
+    /**
+     * Reseeds the player for a new game, so that it plays as a new TrackingInputProvider created
+     * with the same seed would.
+     * @param seed  Seed for the aim point.
+     */
+    public void reset(long seed) {
+        random.setSeed(seed);
+        aimOffset = 0;
+        falling = false;
+    }
+
+    @Override
+    public int poll() {
+        Ball ball = manager.getBall();
+        Paddle paddle = manager.getPaddle();
+        if (manager.state != GameManager.GameState.PLAYING) {
+            falling = false;
+            return LAUNCH;
+        }
+        boolean nowFalling = ball.getMotionY() < 0;
+        if (nowFalling && !falling) {
+            aimOffset = (random.nextFloat() * 2 - 1) * AIM_RANGE * paddle.getWidth() / 2;
+        }
+        falling = nowFalling;
+        float aim = paddle.getX() + paddle.getWidth() / 2 + aimOffset;
+        if (ball.getX() < aim - DEAD_ZONE) return LEFT;
+        if (ball.getX() > aim + DEAD_ZONE) return RIGHT;
+        return 0;
+    }
+}
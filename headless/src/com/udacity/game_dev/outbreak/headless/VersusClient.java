@@ -0,0 +1,287 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless client for versus mode.  It keeps no simulation of its own: it rebuilds both boards
+ * from the server's delta snapshots, and draws, or here just observes, the ball and paddles
+ * INTERPOLATION_DELAY ticks behind the latest snapshot, interpolating between the two snapshots
+ * either side of that time.  Each tick it sends the server the buttons a simple player would press
+ * given what it sees: launch when the ball is on the paddle, and otherwise move towards the ball.
+ *
+ * End-to-end latency is measured from sending an input to receiving the first snapshot that
+ * includes its effect, which covers both directions of the link and the wait for the next tick.
+ */
+public class VersusClient implements Runnable {
+
+    //Snapshots kept for interpolation.
+    private static final int BUFFERED_SNAPSHOTS = 16;
+    //Distance from the ball within which the paddle holds still, to avoid jitter.
+    private static final float DEAD_ZONE = 2;
+    private static final GameManager.GameState[] STATES = GameManager.GameState.values();
+
+    private final int player;
+    private final DatagramChannel channel;
+    private final SimulatedLink link;
+    private final SocketAddress server;
+    private final float seconds;
+    private final ByteBuffer buffer;
+
+    //Block health of both boards for each of the last HISTORY snapshots applied.
+    private final byte[][][] history;
+    private final int[] historyTick;
+    private final byte[] emptyBoard;
+
+    //Ball, paddle and game state of both boards in recent snapshots, indexed by tick.
+    private final int[] snapshotTick;
+    private final float[][] ballX;
+    private final float[][] ballY;
+    private final float[][] paddleX;
+    private final int[][] state;
+    private final int[][] score;
+    private final int[][] lives;
+
+    private int latestTick;
+    private long latestTime;
+    private int sequence;
+    //Interpolated view of the client's own board.
+    private float viewBallX;
+    private float viewPaddleX;
+
+    private int snapshots;
+    private int staleSnapshots;
+    private int unusableSnapshots;
+    private long bytesReceived;
+    private long latencyTotal;
+    private int latencySamples;
+    private long maxLatency;
+    private int interpolatedFrames;
+    private int heldFrames;
+
+    /**
+     * @param player  Player number, 0 or 1.
+     * @param channel  Non-blocking channel bound to the client's address.
+     * @param link  Link through which input is sent.
+     * @param server  Server address.
+     * @param seconds  How long to run for.
+     */
+    public VersusClient(int player, DatagramChannel channel, SimulatedLink link, SocketAddress server, float seconds) {
+        this.player = player;
+        this.channel = channel;
+        this.link = link;
+        this.server = server;
+        this.seconds = seconds;
+        buffer = ByteBuffer.allocate(VersusProtocol.MAX_PACKET_SIZE);
+        float height = Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT;
+        int cells = GameManager.getStandardRows(height) * GameManager.getStandardColumns(Constants.WORLD_WIDTH);
+        int players = VersusProtocol.PLAYERS;
+        history = new byte[VersusProtocol.HISTORY][players][cells];
+        historyTick = new int[VersusProtocol.HISTORY];
+        emptyBoard = new byte[cells];
+        snapshotTick = new int[BUFFERED_SNAPSHOTS];
+        ballX = new float[BUFFERED_SNAPSHOTS][players];
+        ballY = new float[BUFFERED_SNAPSHOTS][players];
+        paddleX = new float[BUFFERED_SNAPSHOTS][players];
+        state = new int[BUFFERED_SNAPSHOTS][players];
+        score = new int[BUFFERED_SNAPSHOTS][players];
+        lives = new int[BUFFERED_SNAPSHOTS][players];
+        for (int i = 0; i < historyTick.length; i++) {
+            historyTick[i] = -1;
+        }
+        for (int i = 0; i < snapshotTick.length; i++) {
+            snapshotTick[i] = -1;
+        }
+        latestTick = -1;
+    }
+
+    @Override
+    public void run() {
+        long tickNanos = (long) VersusProtocol.TICK_NANOS;
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        long next = start;
+        try {
+            while (System.nanoTime() < end) {
+                receive();
+                sendInput(latestTick >= 0 ? choose() : 0);
+                link.flush();
+                next += tickNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                link.flush();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads and applies every waiting snapshot.
+     * @throws IOException  If the channel fails.
+     */
+    private void receive() throws IOException {
+        while (true) {
+            buffer.clear();
+            if (channel.receive(buffer) == null) return;
+            buffer.flip();
+            bytesReceived += buffer.remaining();
+            if (buffer.get() == VersusProtocol.SNAPSHOT) applySnapshot();
+        }
+    }
+
+    /**
+     * Rebuilds both boards from the snapshot in the buffer and its baseline.  Snapshots older than
+     * the latest applied, which arrive when the link reorders packets, are ignored, as are
+     * snapshots whose baseline this client no longer has.
+     */
+    private void applySnapshot() {
+        int tick = buffer.getInt();
+        int baselineTick = buffer.getInt();
+        long inputTime = buffer.getLong();
+        snapshots++;
+        if (tick <= latestTick) {
+            staleSnapshots++;
+            return;
+        }
+        byte[][] baseline = null;
+        if (baselineTick >= 0) {
+            baseline = history[baselineTick % VersusProtocol.HISTORY];
+            if (historyTick[baselineTick % VersusProtocol.HISTORY] != baselineTick) {
+                unusableSnapshots++;
+                return;
+            }
+        }
+        long now = System.nanoTime();
+        int slot = tick % VersusProtocol.HISTORY;
+        int buffered = tick / VersusProtocol.SNAPSHOT_INTERVAL % BUFFERED_SNAPSHOTS;
+        byte[][] health = history[slot];
+        for (int i = 0; i < health.length; i++) {
+            if (baseline != null && baseline != health) {
+                System.arraycopy(baseline[i], 0, health[i], 0, health[i].length);
+            } else if (baseline == null) {
+                System.arraycopy(emptyBoard, 0, health[i], 0, health[i].length);
+            }
+            state[buffered][i] = buffer.get();
+            lives[buffered][i] = buffer.get();
+            score[buffered][i] = buffer.getInt();
+            ballX[buffered][i] = buffer.getFloat();
+            ballY[buffered][i] = buffer.getFloat();
+            //Ball visibility only matters when drawing.
+            buffer.get();
+            paddleX[buffered][i] = buffer.getFloat();
+            int count = buffer.getShort();
+            for (int j = 0; j < count; j++) {
+                int cell = buffer.getShort() & 0xFFFF;
+                health[i][cell] = buffer.get();
+            }
+        }
+        historyTick[slot] = tick;
+        snapshotTick[buffered] = tick;
+        latestTick = tick;
+        latestTime = now;
+        if (inputTime > 0) {
+            long latency = now - inputTime;
+            latencyTotal += latency;
+            latencySamples++;
+            maxLatency = Math.max(maxLatency, latency);
+        }
+    }
+
+    /**
+     * Works out what the client's own board looks like INTERPOLATION_DELAY ticks behind the
+     * server, and chooses buttons to press.
+     * @return  Buttons, as InputProvider flags.
+     */
+    private int choose() {
+        float serverTick = latestTick + (System.nanoTime() - latestTime) / VersusProtocol.TICK_NANOS;
+        float viewTick = serverTick - VersusProtocol.INTERPOLATION_DELAY;
+        //Find the latest snapshot at or before the view time and the earliest one after it.
+        int before = -1;
+        int after = -1;
+        for (int i = 0; i < BUFFERED_SNAPSHOTS; i++) {
+            int tick = snapshotTick[i];
+            if (tick < 0) continue;
+            if (tick <= viewTick) {
+                if (before < 0 || tick > snapshotTick[before]) before = i;
+            } else if (after < 0 || tick < snapshotTick[after]) {
+                after = i;
+            }
+        }
+        if (before < 0) before = after;
+        if (after >= 0 && before != after) {
+            float alpha = (viewTick - snapshotTick[before]) / (snapshotTick[after] - snapshotTick[before]);
+            viewBallX = ballX[before][player] + (ballX[after][player] - ballX[before][player]) * alpha;
+            viewPaddleX = paddleX[before][player] + (paddleX[after][player] - paddleX[before][player]) * alpha;
+            interpolatedFrames++;
+        } else {
+            //No later snapshot has arrived, so hold the latest one rather than guess.
+            viewBallX = ballX[before][player];
+            viewPaddleX = paddleX[before][player];
+            heldFrames++;
+        }
+        if (STATES[state[before][player]] == GameManager.GameState.READY) return InputProvider.LAUNCH;
+        float center = viewPaddleX + Constants.PADDLE_WIDTH / 2;
+        if (viewBallX < center - DEAD_ZONE) return InputProvider.LEFT;
+        if (viewBallX > center + DEAD_ZONE) return InputProvider.RIGHT;
+        return 0;
+    }
+
+    /**
+     * Sends this tick's buttons, with an acknowledgement of the latest snapshot applied.
+     * @param buttons  Buttons, as InputProvider flags.
+     */
+    private void sendInput(int buttons) {
+        buffer.clear();
+        buffer.put(VersusProtocol.INPUT);
+        buffer.put((byte) player);
+        buffer.putInt(sequence++);
+        buffer.put((byte) buttons);
+        buffer.putLong(System.nanoTime());
+        buffer.putInt(latestTick);
+        buffer.flip();
+        link.send(buffer, server);
+    }
+
+    /**
+     * Gets the tick of the latest snapshot applied.
+     * @return  Server tick, or -1 if no snapshot has arrived.
+     */
+    public int getLatestTick() {
+        return latestTick;
+    }
+
+    /**
+     * Gets the block health of a cell as of the latest snapshot applied.
+     * @param board  Board, 0 or 1.
+     * @param cell  Cell index, row * columns + column.
+     * @return  Block health, or 0 if no snapshot has arrived.
+     */
+    public int getHealth(int board, int cell) {
+        return latestTick < 0 ? 0 : history[latestTick % VersusProtocol.HISTORY][board][cell];
+    }
+
+    /**
+     * Prints the client's statistics.
+     * @param elapsed  Seconds the client ran for.
+     */
+    public void printStats(float elapsed) {
+        int latest = latestTick < 0 ? -1 : latestTick / VersusProtocol.SNAPSHOT_INTERVAL % BUFFERED_SNAPSHOTS;
+        System.out.println("client " + player + ": " + snapshots + " snapshots (" + staleSnapshots + " out of order, " +
+                unusableSnapshots + " without baseline), " + (int) (bytesReceived / elapsed) + " bytes/s received, " +
+                (int) (link.getBytesSent() / elapsed) + " bytes/s sent, " + link.getPacketsDropped() + " of " +
+                link.getPacketsSent() + " inputs dropped");
+        System.out.println("client " + player + ": latency mean " +
+                (latencySamples == 0 ? 0 : latencyTotal / latencySamples / 100000 / 10f) + " ms, max " +
+                maxLatency / 100000 / 10f + " ms, " + interpolatedFrames + " frames interpolated, " + heldFrames +
+                " held" + (latest < 0 ? "" : ", last score " + score[latest][player] + " with " +
+                lives[latest][player] + " lives"));
+    }
+}
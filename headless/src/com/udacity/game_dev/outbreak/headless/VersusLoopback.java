@@ -0,0 +1,82 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.GameManager;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Runs a VersusServer and two VersusClients in one process, talking over UDP on localhost, with
+ * simulated latency, jitter and packet loss applied in both directions.  Prints bandwidth,
+ * snapshot and latency statistics for each side when done, and checks that each client's copy
+ * of the boards matches the server's, exiting with status 1 if any does not.
+ * Usage: VersusLoopback [seconds] [latency ms] [jitter ms] [loss fraction] [difficulty]
+ */
+public class VersusLoopback {
+
+    private static final float DEFAULT_SECONDS = 30;
+    private static final float DEFAULT_LATENCY = 50;
+    private static final float DEFAULT_JITTER = 10;
+    private static final float DEFAULT_LOSS = 0.05f;
+
+    public static void main(String[] arg) throws IOException, InterruptedException {
+        float seconds = arg.length > 0 ? Float.parseFloat(arg[0]) : DEFAULT_SECONDS;
+        float latency = arg.length > 1 ? Float.parseFloat(arg[1]) : DEFAULT_LATENCY;
+        float jitter = arg.length > 2 ? Float.parseFloat(arg[2]) : DEFAULT_JITTER;
+        float loss = arg.length > 3 ? Float.parseFloat(arg[3]) : DEFAULT_LOSS;
+        GameManager.Difficulty difficulty = arg.length > 4 ?
+                GameManager.Difficulty.valueOf(arg[4]) : GameManager.Difficulty.MEDIUM;
+        System.out.println("versus " + difficulty + " for " + seconds + " s, latency " + latency + " ms, jitter " +
+                jitter + " ms, loss " + loss);
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        DatagramChannel serverChannel = open(loopback);
+        VersusServer server = new VersusServer(serverChannel,
+                new SimulatedLink(serverChannel, latency, jitter, loss, 0), seconds, difficulty, 0);
+        VersusClient[] clients = new VersusClient[VersusProtocol.PLAYERS];
+        DatagramChannel[] clientChannels = new DatagramChannel[clients.length];
+        Thread[] threads = new Thread[clients.length + 1];
+        threads[0] = new Thread(server, "versus-server");
+        for (int i = 0; i < clients.length; i++) {
+            clientChannels[i] = open(loopback);
+            clients[i] = new VersusClient(i, clientChannels[i],
+                    new SimulatedLink(clientChannels[i], latency, jitter, loss, i + 1),
+                    serverChannel.getLocalAddress(), seconds);
+            threads[i + 1] = new Thread(clients[i], "versus-client-" + i);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        server.printStats(seconds);
+        boolean allMatched = true;
+        for (VersusClient client : clients) {
+            client.printStats(seconds);
+            boolean matched = server.matches(client);
+            System.out.println("boards match server: " + matched);
+            allMatched &= matched;
+        }
+        serverChannel.close();
+        for (DatagramChannel channel : clientChannels) {
+            channel.close();
+        }
+        if (!allMatched) System.exit(1);
+    }
+
+    /**
+     * Opens a non-blocking channel on a free port.
+     * @param address  Address to bind to.
+     * @return  Bound channel.
+     * @throws IOException  If the channel cannot be opened.
+     */
+    private static DatagramChannel open(InetAddress address) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(address, 0));
+        channel.configureBlocking(false);
+        return channel;
+    }
+}
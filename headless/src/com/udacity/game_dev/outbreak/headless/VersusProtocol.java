@@ -0,0 +1,40 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+/**
+ * Packet layout shared by VersusServer and VersusClient.  All values are big-endian.
+ *
+ * INPUT, client to server, sent every tick:
+ *   byte type, byte player, int sequence, byte buttons, long send time (ns),
+ *   int tick of the latest snapshot the client has applied, or -1.
+ *
+ * SNAPSHOT, server to client, sent every SNAPSHOT_INTERVAL ticks:
+ *   byte type, int tick, int baseline tick or -1, long send time of the latest input applied,
+ *   then for each of the two boards:
+ *     byte state, byte lives, int score, float ball x, float ball y, byte ball visible,
+ *     float paddle x, short changed cell count, then per changed cell short index, byte health.
+ *
+ * Cells are sent only where they differ from the baseline, which is the latest snapshot the
+ * client has acknowledged, or an empty board if the server no longer has that snapshot.  Since
+ * the baseline is always one the client has applied, lost snapshots cost nothing but a larger
+ * next delta.
+ */
+public final class VersusProtocol {
+
+    public static final byte INPUT = 1;
+    public static final byte SNAPSHOT = 2;
+    public static final int PLAYERS = 2;
+    public static final int MAX_PACKET_SIZE = 16384;
+    //Board states kept by the server and client for use as delta baselines, in ticks.
+    public static final int HISTORY = 64;
+    //Ticks between snapshots.
+    public static final int SNAPSHOT_INTERVAL = 2;
+    //How far behind the latest snapshot clients draw, in ticks, so that there is usually a later
+    //snapshot to interpolate towards even when one is lost.
+    public static final float INTERPOLATION_DELAY = SNAPSHOT_INTERVAL * 2.5f;
+    public static final float TICK_NANOS = 1e9f / Constants.SIMULATION_TICK_RATE;
+
+    private VersusProtocol() {
+    }
+}
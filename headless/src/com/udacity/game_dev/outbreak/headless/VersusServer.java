@@ -0,0 +1,303 @@
+package com.udacity.game_dev.outbreak.headless;
+
+import com.udacity.game_dev.outbreak.Game.BlockGrid;
+import com.udacity.game_dev.outbreak.Game.GameEventListener;
+import com.udacity.game_dev.outbreak.Game.GameManager;
+import com.udacity.game_dev.outbreak.Game.InputProvider;
+import com.udacity.game_dev.outbreak.Utilities.Constants;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Authoritative server for two-player versus mode.  Each player has their own GameManager, ticked
+ * here at the simulation rate with the buttons most recently received from that player.  Every
+ * VERSUS_BLOCKS_PER_GARBAGE blocks a player destroys send a garbage block to the opponent's board.
+ * A match ends when either player clears their board or runs out of lives, and the next match
+ * starts straight away with a new seed.
+ *
+ * Every SNAPSHOT_INTERVAL ticks each client is sent both boards, with only the block cells that
+ * changed since the last snapshot it acknowledged; see VersusProtocol.
+ */
+public class VersusServer implements Runnable {
+
+    private final DatagramChannel channel;
+    private final SimulatedLink link;
+    private final float seconds;
+    private final GameManager[] boards;
+    private final RemoteInput[] inputs;
+    private final int[] destroyed;
+    private final SocketAddress[] clients;
+    private final int[] lastSequence;
+    private final int[] ackedTick;
+    private final int cells;
+    private final int numColumns;
+    //Block health of both boards for each of the last HISTORY ticks.
+    private final byte[][][] history;
+    private final int[] historyTick;
+    private final byte[] emptyBoard;
+    private final ByteBuffer buffer;
+
+    private long seed;
+    private int tick;
+    private int matches;
+    private final int[] wins;
+    private int garbageBlocks;
+    private int fullSnapshots;
+    private int deltaSnapshots;
+
+    /**
+     * @param channel  Non-blocking channel bound to the server's address.
+     * @param link  Link through which snapshots are sent.
+     * @param seconds  How long to run for.
+     * @param difficulty  Difficulty of both boards.
+     * @param seed  Seed of the first match.
+     */
+    public VersusServer(DatagramChannel channel, SimulatedLink link, float seconds,
+                        GameManager.Difficulty difficulty, long seed) {
+        this.channel = channel;
+        this.link = link;
+        this.seconds = seconds;
+        this.seed = seed;
+        int players = VersusProtocol.PLAYERS;
+        boards = new GameManager[players];
+        inputs = new RemoteInput[players];
+        destroyed = new int[players];
+        clients = new SocketAddress[players];
+        lastSequence = new int[players];
+        ackedTick = new int[players];
+        wins = new int[players];
+        float width = Constants.WORLD_WIDTH;
+        float height = Constants.WORLD_HEIGHT - Constants.TOP_UI_HEIGHT;
+        for (int i = 0; i < players; i++) {
+            final int player = i;
+            inputs[i] = new RemoteInput();
+            //Both players get the same seed, so that they start from the same board.
+            boards[i] = new GameManager(difficulty, width, height, inputs[i], seed);
+            boards[i].getEvents().addListener(new GameEventListener() {
+                @Override
+                public void onGameEvent(int type, int a, int b, float x, float y) {
+                    if (type == BLOCK_DESTROYED) destroyed[player]++;
+                }
+            });
+            boards[i].init();
+            lastSequence[i] = -1;
+            ackedTick[i] = -1;
+        }
+        numColumns = boards[0].getNumColumns();
+        cells = boards[0].getNumRows() * numColumns;
+        history = new byte[VersusProtocol.HISTORY][players][cells];
+        historyTick = new int[VersusProtocol.HISTORY];
+        for (int i = 0; i < historyTick.length; i++) {
+            historyTick[i] = -1;
+        }
+        emptyBoard = new byte[cells];
+        buffer = ByteBuffer.allocate(VersusProtocol.MAX_PACKET_SIZE);
+    }
+
+    @Override
+    public void run() {
+        float delta = 1 / Constants.SIMULATION_TICK_RATE;
+        long tickNanos = (long) VersusProtocol.TICK_NANOS;
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        long next = start;
+        try {
+            while (System.nanoTime() < end) {
+                receive();
+                for (int i = 0; i < boards.length; i++) {
+                    boards[i].update(delta);
+                }
+                sendGarbage();
+                checkMatchOver();
+                tick++;
+                captureHistory();
+                if (tick % VersusProtocol.SNAPSHOT_INTERVAL == 0) {
+                    for (int i = 0; i < clients.length; i++) {
+                        if (clients[i] != null) sendSnapshot(i);
+                    }
+                }
+                link.flush();
+                next += tickNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                link.flush();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads every waiting input packet.  Packets older than the latest one already read from the
+     * same player are ignored.
+     * @throws IOException  If the channel fails.
+     */
+    private void receive() throws IOException {
+        while (true) {
+            buffer.clear();
+            SocketAddress from = channel.receive(buffer);
+            if (from == null) return;
+            buffer.flip();
+            if (buffer.get() != VersusProtocol.INPUT) continue;
+            int player = buffer.get();
+            if (player < 0 || player >= clients.length) continue;
+            clients[player] = from;
+            int sequence = buffer.getInt();
+            if (sequence <= lastSequence[player]) continue;
+            lastSequence[player] = sequence;
+            inputs[player].buttons = buffer.get();
+            inputs[player].sendTime = buffer.getLong();
+            ackedTick[player] = Math.max(ackedTick[player], buffer.getInt());
+        }
+    }
+
+    /**
+     * Adds a garbage block to a player's board for every VERSUS_BLOCKS_PER_GARBAGE blocks their
+     * opponent has destroyed.
+     */
+    private void sendGarbage() {
+        for (int i = 0; i < boards.length; i++) {
+            while (destroyed[i] >= Constants.VERSUS_BLOCKS_PER_GARBAGE) {
+                destroyed[i] -= Constants.VERSUS_BLOCKS_PER_GARBAGE;
+                if (boards[1 - i].generateRandomBlock() >= 0) garbageBlocks++;
+            }
+        }
+    }
+
+    /**
+     * Ends the match if either board is finished, and starts the next one.  A player wins by
+     * clearing their board, or when their opponent runs out of lives.
+     */
+    private void checkMatchOver() {
+        int winner = -1;
+        for (int i = 0; i < boards.length; i++) {
+            if (boards[i].state == GameManager.GameState.WIN) winner = i;
+            else if (boards[i].state == GameManager.GameState.GAME_OVER && winner < 0) winner = 1 - i;
+        }
+        if (winner < 0) return;
+        matches++;
+        wins[winner]++;
+        seed++;
+        for (int i = 0; i < boards.length; i++) {
+            boards[i].init(seed);
+            destroyed[i] = 0;
+        }
+    }
+
+    /**
+     * Records the block health of both boards for the current tick.
+     */
+    private void captureHistory() {
+        int slot = tick % VersusProtocol.HISTORY;
+        historyTick[slot] = tick;
+        for (int i = 0; i < boards.length; i++) {
+            BlockGrid blocks = boards[i].getBlocks();
+            byte[] health = history[slot][i];
+            for (int cell = 0; cell < cells; cell++) {
+                health[cell] = (byte) blocks.getHealth(cell / numColumns, cell % numColumns);
+            }
+        }
+    }
+
+    /**
+     * Sends a snapshot of both boards to a client, as a delta from the last snapshot it
+     * acknowledged if the server still has that tick, or from an empty board otherwise.
+     * @param player  Client to send to.
+     * @throws IOException  If the channel fails.
+     */
+    private void sendSnapshot(int player) throws IOException {
+        int baselineTick = ackedTick[player];
+        if (baselineTick >= 0 && historyTick[baselineTick % VersusProtocol.HISTORY] != baselineTick) baselineTick = -1;
+        if (baselineTick < 0) fullSnapshots++;
+        else deltaSnapshots++;
+        byte[][] current = history[tick % VersusProtocol.HISTORY];
+        buffer.clear();
+        buffer.put(VersusProtocol.SNAPSHOT);
+        buffer.putInt(tick);
+        buffer.putInt(baselineTick);
+        buffer.putLong(inputs[player].sendTime);
+        for (int i = 0; i < boards.length; i++) {
+            byte[] baseline = baselineTick < 0 ? emptyBoard : history[baselineTick % VersusProtocol.HISTORY][i];
+            writeBoard(boards[i], current[i], baseline);
+        }
+        buffer.flip();
+        link.send(buffer, clients[player]);
+    }
+
+    /**
+     * Writes a board's ball, paddle, score and lives, and its block cells that differ from the
+     * baseline.
+     * @param board  Board to write.
+     * @param health  Block health of the board this tick.
+     * @param baseline  Block health the client already has.
+     */
+    private void writeBoard(GameManager board, byte[] health, byte[] baseline) {
+        buffer.put((byte) board.state.ordinal());
+        buffer.put((byte) board.lives);
+        buffer.putInt(board.score);
+        buffer.putFloat(board.getBall().getX());
+        buffer.putFloat(board.getBall().getY());
+        buffer.put((byte) (board.getBall().getIsVisible() ? 1 : 0));
+        buffer.putFloat(board.getPaddle().getX());
+        int countPosition = buffer.position();
+        buffer.putShort((short) 0);
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (health[cell] != baseline[cell]) {
+                buffer.putShort((short) cell);
+                buffer.put(health[cell]);
+                count++;
+            }
+        }
+        buffer.putShort(countPosition, (short) count);
+    }
+
+    /**
+     * Tests whether a client's copy of the boards matches the server's at the client's latest
+     * snapshot.
+     * @param client  Client to check.
+     * @return  True if every cell matches, false if any differs or the tick is no longer kept.
+     */
+    public boolean matches(VersusClient client) {
+        int clientTick = client.getLatestTick();
+        if (clientTick < 0 || historyTick[clientTick % VersusProtocol.HISTORY] != clientTick) return false;
+        byte[][] health = history[clientTick % VersusProtocol.HISTORY];
+        for (int i = 0; i < health.length; i++) {
+            for (int cell = 0; cell < cells; cell++) {
+                if (client.getHealth(i, cell) != health[i][cell]) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints the server's statistics.
+     * @param elapsed  Seconds the server ran for.
+     */
+    public void printStats(float elapsed) {
+        System.out.println("server: " + tick + " ticks, " + matches + " matches (player 0 won " + wins[0] +
+                ", player 1 won " + wins[1] + "), " + garbageBlocks + " garbage blocks");
+        System.out.println("server: " + fullSnapshots + " full and " + deltaSnapshots + " delta snapshots, " +
+                (int) (link.getBytesSent() / elapsed) + " bytes/s sent, " + link.getPacketsDropped() + " of " +
+                link.getPacketsSent() + " packets dropped");
+    }
+
+    /**
+     * Input of a remote player: the buttons in their latest input packet, held until the next.
+     */
+    private static class RemoteInput implements InputProvider {
+
+        int buttons;
+        //Client time at which the buttons were sent, echoed in snapshots to measure latency.
+        long sendTime;
+
+        @Override
+        public int poll() {
+            return buttons;
+        }
+    }
+}